@@ -0,0 +1,124 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:53 AM
+ * PROJ: OracleMachineLearning
+ * FILE: VectorCodeCounter.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the VectorCodeCounter class.
+ *
+ * This file uses the incubating Vector API, whose module must be added with
+ * "--add-modules" to compile or run against it, so it is kept apart from the
+ * rest of the sources, which need no such flag. Compile it after them, into the
+ * same output directory, with:
+ *
+ *     javac --release 17 --add-modules jdk.incubator.vector -cp <out> -d <out> VectorCodeCounter.java
+ *
+ * and run with "--add-modules jdk.incubator.vector" to use it. VectorTestDriver,
+ * beside it, checks its counts against CodeCounter's and times both.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Counts codes with the Vector API. Each code is counted by comparing a
+ * vector of codes with the code, and counting the lanes that match, so
+ * the cost of a vector of codes grows with the number of distinct codes.
+ * Codes are only counted this way when there are few enough of them to
+ * beat counting one code at a time.
+ *
+ * @author agent
+ * @see CodeCounter#INSTANCE
+ */
+final class VectorCodeCounter extends CodeCounter {
+
+    /**
+     * The most distinct codes, or pairs of codes, that are counted in lanes.
+     */
+    static final int MAX_LANE_CODES = 24;
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    /**
+     * Creates a counter that counts codes in SIMD lanes.
+     */
+    VectorCodeCounter() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean isVectorized() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void count(@NotNull byte[] codes, int length, int numCodes, @NotNull int[] counts) {
+
+        if (numCodes > MAX_LANE_CODES) {
+            super.count(codes, length, numCodes, counts);
+            return;
+        }
+
+        // count the matching lanes of each code, a vector of codes at a time...
+
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            ByteVector vector = ByteVector.fromArray(SPECIES, codes, i);
+            for (int code = 0; code < numCodes; code++) {
+                counts[code] += vector.eq((byte) code).trueCount();
+            }
+        }
+        for (int i = bound; i < length; i++) {
+            counts[codes[i] & 0xFF]++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void countPairs(
+            @NotNull byte[] rowCodes,
+            @NotNull byte[] colCodes,
+            int length,
+            int numRows,
+            int numCols,
+            @NotNull int[] counts) {
+
+        if (numRows * numCols > MAX_LANE_CODES) {
+            super.countPairs(rowCodes, colCodes, length, numRows, numCols, counts);
+            return;
+        }
+
+        // count the lanes that match each pair of codes, skipping rows of the matrix that don't occur...
+
+        int bound = SPECIES.loopBound(length);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            ByteVector rowVector = ByteVector.fromArray(SPECIES, rowCodes, i);
+            ByteVector colVector = ByteVector.fromArray(SPECIES, colCodes, i);
+            for (int row = 0; row < numRows; row++) {
+                VectorMask<Byte> rowMask = rowVector.eq((byte) row);
+                if (rowMask.anyTrue()) {
+                    for (int col = 0; col < numCols; col++) {
+                        counts[row * numCols + col] += rowMask.and(colVector.eq((byte) col)).trueCount();
+                    }
+                }
+            }
+        }
+        for (int i = bound; i < length; i++) {
+            counts[(rowCodes[i] & 0xFF) * numCols + (colCodes[i] & 0xFF)]++;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 10:57 AM
+ * PROJ: OracleMachineLearning
+ * FILE: VectorTestDriver.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the VectorTestDriver driver class.
+ *
+ * Like VectorCodeCounter, this file needs the incubating Vector API. Compile
+ * it after the rest of the sources, into the same output directory, with:
+ *
+ *     javac --release 17 --add-modules jdk.incubator.vector -cp <out> -d <out> VectorCodeCounter.java VectorTestDriver.java
+ *
+ * and run it with:
+ *
+ *     java --add-modules jdk.incubator.vector -cp <out> me.jwotoole9141.oracleml.s4l4.VectorTestDriver
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tests the {@link VectorCodeCounter} class against the {@link CodeCounter}
+ * it replaces, on random codes, and times both. It lives beside the counter,
+ * rather than with the other drivers, since both are package-private.
+ *
+ * @author agent
+ */
+public class VectorTestDriver {
+
+    private static final int LENGTH = (1 << 20) + 7;  /* leaves codes after the last full vector */
+    private static final int REPEATS = 50;
+
+    /**
+     * Runs the test driver.
+     *
+     * @param args unused command-line args
+     */
+    public static void main(String[] args) {
+
+        CodeCounter scalar = new CodeCounter();
+        CodeCounter vector = new VectorCodeCounter();
+        Random random = new Random(42);
+
+        System.out.println("\nTesting CodeCounter.INSTANCE...");
+        System.out.println("vectorized: " + CodeCounter.INSTANCE.isVectorized());
+
+        // compare the counts of codes, and how long each counter takes...
+
+        System.out.println("\nTesting VectorCodeCounter.count()...");
+        for (int numCodes : new int[]{ 2, 4, 8, 16, 24 }) {
+
+            byte[] codes = randomCodes(random, numCodes);
+            int[] expected = new int[numCodes];
+            int[] actual = new int[numCodes];
+            scalar.count(codes, LENGTH, numCodes, expected);
+            vector.count(codes, LENGTH, numCodes, actual);
+
+            long scalarNanos = time(() -> scalar.count(codes, LENGTH, numCodes, new int[numCodes]));
+            long vectorNanos = time(() -> vector.count(codes, LENGTH, numCodes, new int[numCodes]));
+
+            System.out.printf("%2d codes: matches scalar: %b, scalar %.3f ms, vector %.3f ms (%.1fx)%n",
+                    numCodes, Arrays.equals(expected, actual),
+                    scalarNanos / 1e6, vectorNanos / 1e6, (double) scalarNanos / vectorNanos);
+        }
+
+        // compare the counts of pairs of codes, and how long each counter takes...
+
+        System.out.println("\nTesting VectorCodeCounter.countPairs()...");
+        for (int[] shape : new int[][]{ { 2, 2 }, { 2, 4 }, { 3, 4 }, { 4, 6 } }) {
+
+            int numRows = shape[0];
+            int numCols = shape[1];
+            byte[] rowCodes = randomCodes(random, numRows);
+            byte[] colCodes = randomCodes(random, numCols);
+            int[] expected = new int[numRows * numCols];
+            int[] actual = new int[numRows * numCols];
+            scalar.countPairs(rowCodes, colCodes, LENGTH, numRows, numCols, expected);
+            vector.countPairs(rowCodes, colCodes, LENGTH, numRows, numCols, actual);
+
+            long scalarNanos = time(() -> scalar.countPairs(
+                    rowCodes, colCodes, LENGTH, numRows, numCols, new int[numRows * numCols]));
+            long vectorNanos = time(() -> vector.countPairs(
+                    rowCodes, colCodes, LENGTH, numRows, numCols, new int[numRows * numCols]));
+
+            System.out.printf("%dx%d codes: matches scalar: %b, scalar %.3f ms, vector %.3f ms (%.1fx)%n",
+                    numRows, numCols, Arrays.equals(expected, actual),
+                    scalarNanos / 1e6, vectorNanos / 1e6, (double) scalarNanos / vectorNanos);
+        }
+    }
+
+    private static byte[] randomCodes(Random random, int numCodes) {
+
+        byte[] codes = new byte[LENGTH];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (byte) random.nextInt(numCodes);
+        }
+        return codes;
+    }
+
+    /**
+     * Finds the fastest of several runs, after warming up.
+     */
+    private static long time(Runnable task) {
+
+        for (int i = 0; i < REPEATS; i++) {
+            task.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < REPEATS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,434 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:49 AM
+ * PROJ: OracleMachineLearning
+ * FILE: BitsetID3.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the BitsetID3 class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Builds an ID3 tree with bitsets, rather than by counting rows. Before the tree
+ * is built, the result column is reduced to a single bitset of its successful
+ * rows, and every outcome of every attribute column gets a bitset of its rows.
+ * Every node of the tree is then a bitset of its own rows. Counting the rows
+ * of an outcome, or its successes, takes an AND of bitsets and a
+ * {@link Long#bitCount(long) bit count}, 64 rows at a time.
+ * <p>
+ * The bitsets take a bit per row for each distinct value of each column. The
+ * bits of a node are only kept between its first and last rows. Once a node
+ * has fewer rows than an int per row would take as bits, it holds its rows
+ * instead, and counts them a row at a time. A table whose bitsets would not fit in
+ * {@link #MAX_WORDS} words is built with {@link PartitionedID3} instead.
+ *
+ * @param <Q> the <i>question</i> type of the tree
+ * @param <A> the <i>answer</i> type of the tree
+ * @param <T> the type of data held by the result column
+ * @author agent
+ * @see Tree.Algorithm#ID3_BITSET
+ */
+class BitsetID3<Q, A, T> {
+
+    /**
+     * The most 64-bit words that the bitsets of a table's columns may take.
+     */
+    static final long MAX_WORDS = 1L << 25;
+
+    private final @NotNull Function<String, Q> toQuestionFunc;
+    private final @NotNull Map<String, Function<Object, A>> toAnswerFuncs;
+    private final @NotNull A defaultAnswer;
+    private final @NotNull Tree.Parallelism parallelism;
+
+    private final @NotNull EncodedColumn<?>[] attrCols;
+    private final @NotNull EncodedColumn<T> resultsCol;
+    private final @NotNull Function<Object, A> toResultAnswerFunc;
+
+    private final @NotNull long[] successes;
+    private final @NotNull long[][] results;
+    private final @NotNull long[][][] outcomes;
+    private final int numRows;
+
+    /**
+     * Prepares to build a tree from the given table, by finding the bitsets of its columns.
+     *
+     * @param table          the table to branch with
+     * @param resultsKey     the label of the column in {@code table} that holds {@code successVals}
+     * @param successVals    the data values that should count as a successful <i>final answer</i>
+     * @param toQuestionFunc a function that takes the label of columns in {@code table} and returns a {@link Q}
+     * @param toAnswerFuncs  a map of column labels to functions that each take data from their column
+     * @param defaultAnswer  the default answer to use for a node if there is no data
+     * @param parallelism    how the work of building the tree may be run in parallel
+     * @throws IllegalArgumentException if {@code table} does not contain a column labled {@code resultsKey}
+     */
+    BitsetID3(
+            @NotNull DataTable table,
+            @NotNull String resultsKey,
+            @NotNull Set<T> successVals,
+            @NotNull Function<String, Q> toQuestionFunc,
+            @NotNull Map<String, Function<Object, A>> toAnswerFuncs,
+            @NotNull A defaultAnswer,
+            @NotNull Tree.Parallelism parallelism)
+            throws IllegalArgumentException {
+
+        this.toQuestionFunc = toQuestionFunc;
+        this.toAnswerFuncs = toAnswerFuncs;
+        this.defaultAnswer = defaultAnswer;
+        this.parallelism = parallelism;
+        this.numRows = table.getNumRows();
+
+        // encode every column once, up front...
+
+        //noinspection unchecked
+        DataTable.Column<T> resultsColumn = (DataTable.Column<T>) table.getColumn(resultsKey);
+        this.resultsCol = resultsColumn.toEncodedColumn();
+        this.toResultAnswerFunc = toAnswerFuncs.get(resultsColumn.getLabel());
+
+        this.attrCols = table.getColumns().stream()
+                .filter(col -> col != resultsColumn)
+                .map(DataTable.Column::toEncodedColumn)
+                .toArray(EncodedColumn<?>[]::new);
+
+        // find a bitset per value of each column, and the successes once for the whole tree...
+
+        this.results = bitsets(resultsCol);
+        this.outcomes = new long[attrCols.length][][];
+        for (int c = 0; c < attrCols.length; c++) {
+            outcomes[c] = bitsets(attrCols[c]);
+        }
+
+        ValueDictionary<T> resultDict = resultsCol.getDictionary();
+        this.successes = new long[numWords(numRows)];
+        for (int code = 0; code < this.results.length; code++) {
+            if (this.results[code] != null && successVals.contains(resultDict.decode(code))) {
+                for (int w = 0; w < successes.length; w++) {
+                    successes[w] |= this.results[code][w];
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the bitsets of a table's columns fit in {@link #MAX_WORDS} words.
+     *
+     * @param table the table
+     * @return true if the table can be built with bitsets
+     */
+    static boolean fits(@NotNull DataTable table) {
+
+        long numValues = 1;  /* the successes */
+        for (DataTable.Column<?> column : table.getColumns()) {
+            numValues += column.getValues().size();
+        }
+        return numValues * numWords(table.getNumRows()) <= MAX_WORDS;
+    }
+
+    /**
+     * Builds the tree.
+     *
+     * @return the root of the tree
+     */
+    @NotNull Node<Q, A> build() {
+
+        long[] active = new long[(attrCols.length + 63) / 64];
+        for (int c = 0; c < attrCols.length; c++) {
+            active[c / 64] |= 1L << (c % 64);
+        }
+        return branch(Rows.all(numRows), active, attrCols.length);
+    }
+
+    private @NotNull Node<Q, A> branch(@NotNull Rows rows, @NotNull long[] active, int numActive) {
+
+        // if the node has no rows, end the tree with the default answer...
+
+        if (rows.count == 0) {
+            return new NodeOuter<>(defaultAnswer);
+            // BASE CASE
+        }
+
+        int[] resultCounts = new int[results.length];
+        for (int code = 0; code < resultCounts.length; code++) {
+            resultCounts[code] = (results[code] == null) ? 0 : rows.countAnd(results[code]);
+        }
+
+        // if there are no attributes left, end the tree with the most common result...
+
+        if (numActive == 0) {
+
+            Map<T, Integer> counts = new LinkedHashMap<>();
+            for (int code = 0; code < resultCounts.length; code++) {
+                if (resultCounts[code] > 0) {
+                    counts.put(resultsCol.getDictionary().decode(code), resultCounts[code]);
+                }
+            }
+            T mostCommonResult = Tree.Algorithm.mostCommon(counts, () -> rows.stream()
+                    .mapToObj(row -> resultsCol.getDictionary().decode(resultsCol.getCodes().get(row)))
+                    .iterator());
+
+            return new NodeOuter<>(mostCommonResult == null
+                    ? defaultAnswer
+                    : toResultAnswerFunc.apply(mostCommonResult));
+            // BASE CASE
+        }
+
+        // if there is no entropy left, end the tree with the unanimous result...
+
+        for (int code = 0; code < resultCounts.length; code++) {
+            if (resultCounts[code] == rows.count) {
+                return new NodeOuter<>(toResultAnswerFunc.apply(
+                        resultsCol.getDictionary().decode(code)));
+                // BASE CASE
+            }
+        }
+
+        // calculate the gains of the active attributes, possibly in parallel...
+
+        int[] candidates = new int[numActive];
+        for (int c = 0, i = 0; c < attrCols.length; c++) {
+            if ((active[c / 64] & (1L << (c % 64))) != 0) {
+                candidates[i++] = c;
+            }
+        }
+
+        double systemEntropy = ContingencyTable.entropy(rows.countAnd(successes), rows.count);
+        double[] gains = new double[numActive];
+        parallelism.forEachAttribute(rows.count, numActive,
+                i -> gains[i] = gain(systemEntropy, candidates[i], rows));
+
+        // choose the attribute with the highest gain, in table order...
+
+        double highestGain = Double.NEGATIVE_INFINITY;
+        int attr = -1;
+
+        for (int i = 0; i < numActive; i++) {
+            if (gains[i] > highestGain + Tree.Algorithm.GAIN_TOLERANCE) {
+                highestGain = gains[i];
+                attr = candidates[i];
+            }
+        }
+        assert attr >= 0;
+
+        EncodedColumn<?> attrCol = attrCols[attr];
+        long[][] attrOutcomes = outcomes[attr];
+
+        long[] childActive = active.clone();
+        childActive[attr / 64] &= ~(1L << (attr % 64));
+
+        // branch on the rows of each outcome, possibly in parallel...
+
+        NodeInner<Q, A> node = new NodeInner<>(toQuestionFunc.apply(attrCol.getLabel()));
+        Function<Object, A> toAnswerFunc = toAnswerFuncs.get(attrCol.getLabel());
+
+        int[] outcomeCodes = new int[attrOutcomes.length];
+        int numOutcomes = 0;
+        for (int code = 0; code < attrOutcomes.length; code++) {
+            if (attrOutcomes[code] != null && rows.countAnd(attrOutcomes[code]) > 0) {
+                outcomeCodes[numOutcomes++] = code;
+            }
+        }
+
+        List<Node<Q, A>> children = parallelism.mapChildren(rows.count, numOutcomes, i -> {
+            return branch(rows.and(attrOutcomes[outcomeCodes[i]]), childActive, numActive - 1);
+            // RECURSIVE CASE
+        });
+
+        // attach the children on this thread, since doing so updates their parents...
+
+        for (int i = 0; i < numOutcomes; i++) {
+            A outcome = toAnswerFunc.apply(attrCol.getDictionary().decode(outcomeCodes[i]));
+            node.getChildren().put(outcome, children.get(i));
+        }
+        return node;
+    }
+
+    /**
+     * Calculates the gain in entropy of an attribute over a node's rows.
+     */
+    private double gain(double systemEntropy, int attr, @NotNull Rows rows) {
+
+        long[][] attrOutcomes = outcomes[attr];
+        int[] totals = new int[attrOutcomes.length];
+        int[] successCounts = new int[totals.length];
+
+        if (rows.indices != null) {
+
+            // count a sparse node's rows and successes one row at a time...
+
+            CodeArray attrCodes = attrCols[attr].getCodes();
+            for (int row : rows.indices) {
+                int code = attrCodes.get(row);
+                totals[code]++;
+                if ((successes[row >>> 6] & (1L << row)) != 0) {
+                    successCounts[code]++;
+                }
+            }
+        }
+        else {
+
+            // count a dense node's rows and successes under each outcome, a word at a time...
+
+            for (int code = 0; code < attrOutcomes.length; code++) {
+                long[] outcome = attrOutcomes[code];
+                if (outcome != null) {
+                    for (int i = 0; i < rows.words.length; i++) {
+                        long word = rows.words[i] & outcome[rows.offset + i];
+                        totals[code] += Long.bitCount(word);
+                        successCounts[code] += Long.bitCount(word & successes[rows.offset + i]);
+                    }
+                }
+            }
+        }
+
+        double numRows = rows.count;
+        for (int code = 0; code < totals.length; code++) {
+            if (totals[code] > 0) {
+                double px = totals[code] / numRows;
+                systemEntropy -= (px * ContingencyTable.entropy(successCounts[code], totals[code]));
+            }
+        }
+        return systemEntropy;
+    }
+
+    /**
+     * Finds a bitset of the rows of each value of an encoded column. Values in
+     * the column's dictionary that do not appear under the column have no bitset.
+     *
+     * @return an array of bitsets, or nulls, indexed by code
+     */
+    private static @NotNull long[][] bitsets(@NotNull EncodedColumn<?> column) {
+
+        CodeArray codes = column.getCodes();
+        long[][] bitsets = new long[column.getDictionary().size()][];
+
+        for (int row = 0, n = codes.length(); row < n; row++) {
+            int code = codes.get(row);
+            if (bitsets[code] == null) {
+                bitsets[code] = new long[numWords(n)];
+            }
+            bitsets[code][row >>> 6] |= 1L << row;
+        }
+        return bitsets;
+    }
+
+    private static int numWords(int numRows) {
+        return (numRows + 63) >>> 6;
+    }
+
+    /**
+     * The rows of a node. A dense node holds the words of a bitset from its first
+     * row to its last. A sparse node, with fewer rows than an int per row would
+     * take as bits, holds an ascending array of its rows instead.
+     */
+    private static final class Rows {
+
+        private final @Nullable long[] words;   /* if dense */
+        private final int offset;
+        private final @Nullable int[] indices;  /* if sparse */
+        private final int count;
+
+        private Rows(@Nullable long[] words, int offset, @Nullable int[] indices, int count) {
+            this.words = words;
+            this.offset = offset;
+            this.indices = indices;
+            this.count = count;
+        }
+
+        private static @NotNull Rows all(int numRows) {
+
+            long[] words = new long[numWords(numRows)];
+            Arrays.fill(words, -1L);
+            if ((numRows & 63) != 0) {
+                words[words.length - 1] = (1L << numRows) - 1;
+            }
+            return new Rows(words, 0, null, numRows);
+        }
+
+        /**
+         * Streams the rows in ascending order.
+         */
+        private @NotNull IntStream stream() {
+
+            if (indices != null) {
+                return IntStream.of(indices);
+            }
+            return IntStream.range(0, words.length * Long.SIZE)
+                    .filter(i -> (words[i >>> 6] & (1L << i)) != 0)
+                    .map(i -> (offset << 6) + i);
+        }
+
+        /**
+         * Counts the rows that are also in a bitset of the whole table.
+         */
+        private int countAnd(@NotNull long[] bitset) {
+
+            int result = 0;
+            if (indices != null) {
+                for (int row : indices) {
+                    if ((bitset[row >>> 6] & (1L << row)) != 0) {
+                        result++;
+                    }
+                }
+                return result;
+            }
+            for (int i = 0; i < words.length; i++) {
+                result += Long.bitCount(words[i] & bitset[offset + i]);
+            }
+            return result;
+        }
+
+        /**
+         * Finds the rows that are also in a bitset of the whole table.
+         */
+        private @NotNull Rows and(@NotNull long[] bitset) {
+
+            if (indices != null) {
+                int[] result = new int[indices.length];
+                int size = 0;
+                for (int row : indices) {
+                    if ((bitset[row >>> 6] & (1L << row)) != 0) {
+                        result[size++] = row;
+                    }
+                }
+                return new Rows(null, 0, Arrays.copyOf(result, size), size);
+            }
+
+            long[] result = new long[words.length];
+            int size = 0;
+            int first = result.length;
+            int last = -1;
+
+            for (int i = 0; i < result.length; i++) {
+                result[i] = words[i] & bitset[offset + i];
+                if (result[i] != 0) {
+                    size += Long.bitCount(result[i]);
+                    first = Math.min(first, i);
+                    last = i;
+                }
+            }
+
+            // keep only the words from the first row to the last, or the rows themselves if fewer...
+
+            if ((long) size * Integer.SIZE >= (long) (last - first + 1) * Long.SIZE) {
+                return new Rows(Arrays.copyOfRange(result, first, last + 1), offset + first, null, size);
+            }
+            int[] rows = new int[size];
+            for (int i = first, j = 0; i <= last; i++) {
+                for (long word = result[i]; word != 0; word &= word - 1) {
+                    rows[j++] = ((offset + i) << 6) + Long.numberOfTrailingZeros(word);
+                }
+            }
+            return new Rows(null, 0, rows, size);
+        }
+    }
+}
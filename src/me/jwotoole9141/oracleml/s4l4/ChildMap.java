@@ -0,0 +1,321 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:08 AM
+ * PROJ: OracleMachineLearning
+ * FILE: ChildMap.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the ChildMap class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Represents the children of a {@link NodeInner}, mapped by their <i>answers</i>.
+ * Adding a child to the map sets its parent to the map's owner, and removing or
+ * replacing it clears its parent. A node with only a few children keeps them in
+ * a pair of small arrays, searched in order. Once it has more than
+ * {@link #MAX_ARRAY_SIZE} children, they are moved into a hash map.
+ *
+ * @param <Q> The <i>question</i> type in the owner's heirarchy
+ * @param <A> The <i>answer</i> type in the owner's heirarchy
+ * @author agent
+ * @see NodeInner#getChildren()
+ */
+final class ChildMap<Q, A> extends AbstractMap<A, Node<Q, A>> {
+
+    /**
+     * The most children that are kept in arrays, rather than a hash map.
+     */
+    static final int MAX_ARRAY_SIZE = 8;
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private final @NotNull Node<Q, A> owner;
+
+    private @NotNull Object[] keys = EMPTY;
+    private @NotNull Object[] values = EMPTY;
+    private int size;
+
+    private @Nullable HashMap<A, Node<Q, A>> hashed;
+
+    /**
+     * Creates an empty map of children.
+     *
+     * @param owner the node that is the parent of every child in this map
+     */
+    ChildMap(@NotNull Node<Q, A> owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return hashed == null ? size : hashed.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable Node<Q, A> get(Object key) {
+
+        if (hashed != null) {
+            return hashed.get(key);
+        }
+        int index = indexOf(key);
+        return index < 0 ? null : child(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return hashed == null ? indexOf(key) >= 0 : hashed.containsKey(key);
+    }
+
+    /**
+     * Maps a child to an <i>answer</i>, and sets the child's parent
+     * to the owner of this map. A child that it replaces is orphaned.
+     *
+     * @param key   the <i>answer</i> that leads to the child
+     * @param value the child node
+     * @return the child that was replaced, or null
+     */
+    @Override
+    public @Nullable Node<Q, A> put(@NotNull A key, @NotNull Node<Q, A> value) {
+
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+
+        Node<Q, A> old = (hashed == null) ? arrayPut(key, value) : hashed.put(key, value);
+        if (old != null && old != value) {
+            old.updateParent(null, null);
+        }
+        value.updateParent(owner, key);
+        return old;
+    }
+
+    /**
+     * Removes the child mapped to an <i>answer</i>, and orphans it.
+     *
+     * @param key the <i>answer</i> that leads to the child
+     * @return the removed child, or null
+     */
+    @Override
+    public @Nullable Node<Q, A> remove(Object key) {
+
+        Node<Q, A> old;
+        if (hashed != null) {
+            old = hashed.remove(key);
+        }
+        else {
+            int index = indexOf(key);
+            old = index < 0 ? null : arrayRemove(index);
+        }
+        if (old != null) {
+            old.updateParent(null, null);
+        }
+        return old;
+    }
+
+    /**
+     * Removes every child, and orphans them.
+     */
+    @Override
+    public void clear() {
+
+        for (Node<Q, A> child : values()) {
+            child.updateParent(null, null);
+        }
+        keys = EMPTY;
+        values = EMPTY;
+        size = 0;
+        hashed = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Removing entries orphans their children, and setting
+     * their values updates the parents of the children.
+     */
+    @Override
+    public @NotNull Set<Entry<A, Node<Q, A>>> entrySet() {
+        return new EntrySet();
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NotNull A key(int index) {
+        return (A) keys[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NotNull Node<Q, A> child(int index) {
+        return (Node<Q, A>) values[index];
+    }
+
+    private @Nullable Node<Q, A> arrayPut(@NotNull A key, @NotNull Node<Q, A> value) {
+
+        int index = indexOf(key);
+        if (index >= 0) {
+            Node<Q, A> old = child(index);
+            values[index] = value;
+            return old;
+        }
+
+        // move into a hash map once there are too many children to search...
+
+        if (size == MAX_ARRAY_SIZE) {
+            hashed = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                hashed.put(key(i), child(i));
+            }
+            hashed.put(key, value);
+            keys = EMPTY;
+            values = EMPTY;
+            size = 0;
+            return null;
+        }
+
+        if (size == keys.length) {
+            int capacity = Math.min(MAX_ARRAY_SIZE, Math.max(2, size * 2));
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        return null;
+    }
+
+    private @NotNull Node<Q, A> arrayRemove(int index) {
+
+        Node<Q, A> old = child(index);
+        int moved = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(values, index + 1, values, index, moved);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        return old;
+    }
+
+    /**
+     * A view of the entries of this map, in either form.
+     */
+    private class EntrySet extends AbstractSet<Entry<A, Node<Q, A>>> {
+
+        @Override
+        public int size() {
+            return ChildMap.this.size();
+        }
+
+        @Override
+        public @NotNull Iterator<Entry<A, Node<Q, A>>> iterator() {
+            return hashed == null ? new ArrayIterator() : new HashIterator(hashed);
+        }
+    }
+
+    /**
+     * An entry whose value is set through this map.
+     */
+    @SuppressWarnings("serial")  // entries are only handed out by iterators, and never serialized
+    private class ChildEntry extends SimpleEntry<A, Node<Q, A>> {
+
+        private ChildEntry(@NotNull A key, @NotNull Node<Q, A> value) {
+            super(key, value);
+        }
+
+        @Override
+        public Node<Q, A> setValue(Node<Q, A> value) {
+            super.setValue(value);
+            return put(getKey(), value);
+        }
+    }
+
+    /**
+     * Iterates over the children while they are kept in arrays.
+     */
+    private class ArrayIterator implements Iterator<Entry<A, Node<Q, A>>> {
+
+        private int next;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public @NotNull Entry<A, Node<Q, A>> next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new ChildEntry(key(last), child(last));
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            arrayRemove(last).updateParent(null, null);
+            next = last;
+            last = -1;
+        }
+    }
+
+    /**
+     * Iterates over the children once they are kept in a hash map.
+     */
+    private class HashIterator implements Iterator<Entry<A, Node<Q, A>>> {
+
+        private final @NotNull Iterator<Entry<A, Node<Q, A>>> entries;
+        private @Nullable Entry<A, Node<Q, A>> last;
+
+        private HashIterator(@NotNull HashMap<A, Node<Q, A>> hashed) {
+            this.entries = hashed.entrySet().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        @Override
+        public @NotNull Entry<A, Node<Q, A>> next() {
+            last = entries.next();
+            return new ChildEntry(last.getKey(), last.getValue());
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            entries.remove();
+            last.getValue().updateParent(null, null);
+            last = null;
+        }
+    }
+}
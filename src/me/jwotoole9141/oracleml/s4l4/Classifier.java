@@ -0,0 +1,40 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:06 AM
+ * PROJ: OracleMachineLearning
+ * FILE: Classifier.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the Classifier interface.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a trained tree that classifies rows of coded data.
+ * A row is given as the code of its <i>answer</i> to each feature
+ * of a {@link CompiledTree}, and its <i>final answer</i> is returned
+ * as a code, too. Classifiers hold no state, so they may be shared
+ * between threads.
+ *
+ * @author agent
+ * @see CompiledTree#toClassifier()
+ */
+public interface Classifier {
+
+    /**
+     * Classifies a row of coded data.
+     *
+     * @param codes the code of the row's <i>answer</i> to each feature
+     * @return the code of the <i>final answer</i>, or -1 if the
+     * row has an <i>answer</i> the tree doesn't branch on
+     *
+     * @see CompiledTree#codeOf(int, Object)
+     * @see CompiledTree#decode(int)
+     */
+    int classify(@NotNull int[] codes);
+}
@@ -0,0 +1,524 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:06 AM
+ * PROJ: OracleMachineLearning
+ * FILE: ClassifierCompiler.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the ClassifierCompiler class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Compiles the arrays of a {@link CompiledTree} into the bytecode of a
+ * {@link Classifier}. Every branch node becomes a {@code tableswitch} on
+ * its feature's code, and every leaf node returns its <i>final answer</i>'s
+ * code as a constant. Subtrees that would make a method too large for the
+ * JIT to compile are split out into methods of their own.
+ * <p>
+ * The class is defined as a hidden class, which is looked up reflectively,
+ * so that running on an older JVM is not an error. If the class can't be
+ * defined or the tree is too large for one class, there is no classifier.
+ *
+ * @author agent
+ * @see CompiledTree#toClassifier()
+ */
+final class ClassifierCompiler {
+
+    /**
+     * The largest method, in bytes of code, that is kept whole. This
+     * is the size above which HotSpot won't JIT-compile a method.
+     */
+    static final int METHOD_SIZE_LIMIT = 8000;
+
+    /**
+     * The largest method, in bytes of code, that a class file allows.
+     */
+    static final int MAX_METHOD_SIZE = 65535;
+
+    private static final String CLASS_NAME =
+            ClassifierCompiler.class.getPackage().getName().replace('.', '/') + "/GeneratedClassifier";
+    private static final String METHOD_DESCRIPTOR = "([I)I";
+
+    /* class file version 49 needs no stack map frames */
+    private static final int CLASS_VERSION = 49;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int IALOAD = 0x2e;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int IRETURN = 0xac;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+
+    private final @NotNull int[] features;
+    private final @NotNull int[] childOffsets;
+    private final @NotNull int[] leafAnswers;
+    private final @NotNull int[] children;
+    private final @NotNull int[] cardinalities;
+
+    private final @NotNull boolean[] outlined;
+    private final @NotNull ConstantPool pool = new ConstantPool();
+
+    /**
+     * Prepares to compile the arrays of a tree.
+     *
+     * @param features      the feature index of each node, or -1 for a leaf
+     * @param childOffsets  the offset of each branch node's table of children
+     * @param leafAnswers   the <i>final answer</i> code of each leaf node
+     * @param children      the tables of children, with -1 for a missing child
+     * @param cardinalities the number of codes of each feature
+     */
+    ClassifierCompiler(
+            @NotNull int[] features,
+            @NotNull int[] childOffsets,
+            @NotNull int[] leafAnswers,
+            @NotNull int[] children,
+            @NotNull int[] cardinalities) {
+
+        this.features = features;
+        this.childOffsets = childOffsets;
+        this.leafAnswers = leafAnswers;
+        this.children = children;
+        this.cardinalities = cardinalities;
+        this.outlined = new boolean[features.length];
+    }
+
+    /**
+     * Compiles and defines the classifier.
+     *
+     * @return a new classifier, or null if one couldn't be defined
+     */
+    @Nullable Classifier compile() {
+
+        byte[] bytes = toClassBytes();
+        return bytes == null ? null : define(bytes);
+    }
+
+    /**
+     * Creates the class file of the classifier.
+     *
+     * @return the bytes of the class file, or null if the tree is too large
+     */
+    @Nullable byte[] toClassBytes() {
+
+        // choose which subtrees get methods of their own...
+
+        outlined[0] = true;
+        inlineSize(0);
+
+        List<Integer> methodNodes = new ArrayList<>();
+        for (int node = 0; node < outlined.length; node++) {
+            if (outlined[node]) {
+                methodNodes.add(node);
+            }
+        }
+
+        // write the code of every method, which fills the constant pool...
+
+        int thisClass = pool.classRef(CLASS_NAME);
+        int objectClass = pool.classRef("java/lang/Object");
+        int classifierClass = pool.classRef(Classifier.class.getName().replace('.', '/'));
+        int codeName = pool.utf8("Code");
+
+        Code init = new Code();
+        init.u1(ALOAD_0);
+        init.u1(INVOKESPECIAL);
+        init.u2(pool.methodRef(objectClass, "<init>", "()V"));
+        init.u1(RETURN);
+
+        Code classify = new Code();
+        classify.u1(ALOAD_1);
+        classify.u1(INVOKESTATIC);
+        classify.u2(pool.methodRef(thisClass, methodName(0), METHOD_DESCRIPTOR));
+        classify.u1(IRETURN);
+
+        int initName = pool.utf8("<init>");
+        int initDescriptor = pool.utf8("()V");
+        int classifyName = pool.utf8("classify");
+        int descriptor = pool.utf8(METHOD_DESCRIPTOR);
+
+        List<Code> bodies = new ArrayList<>();
+        List<Integer> methodNames = new ArrayList<>();
+        for (int node : methodNodes) {
+            methodNames.add(pool.utf8(methodName(node)));
+            Code body = new Code();
+            emitNode(body, node, true);
+            if (body.size() > MAX_METHOD_SIZE) {
+                return null;
+            }
+            bodies.add(body);
+        }
+        if (pool.size() >= 0xffff) {
+            return null;
+        }
+
+        // assemble the class file...
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_VERSION);
+
+            pool.writeTo(out);
+
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(objectClass);
+            out.writeShort(1);
+            out.writeShort(classifierClass);
+            out.writeShort(0);  /* fields */
+
+            out.writeShort(2 + bodies.size());
+            writeMethod(out, ACC_PUBLIC, initName, initDescriptor, codeName, init, 1, 1);
+            writeMethod(out, ACC_PUBLIC, classifyName, descriptor, codeName, classify, 1, 2);
+
+            for (int i = 0; i < bodies.size(); i++) {
+                writeMethod(out, ACC_PRIVATE | ACC_STATIC, methodNames.get(i),
+                        descriptor, codeName, bodies.get(i), 2, 1);
+            }
+            out.writeShort(0);  /* attributes */
+
+            return bytes.toByteArray();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Defines the classifier as a hidden class of this package.
+     */
+    private static @Nullable Classifier define(@NotNull byte[] bytes) {
+
+        try {
+            Class<?> optionClass = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            Object noOptions = Array.newInstance(optionClass, 0);
+
+            Method defineHiddenClass = MethodHandles.Lookup.class.getMethod(
+                    "defineHiddenClass", byte[].class, boolean.class, noOptions.getClass());
+
+            MethodHandles.Lookup lookup = (MethodHandles.Lookup) defineHiddenClass.invoke(
+                    MethodHandles.lookup(), bytes, true, noOptions);
+
+            return (Classifier) lookup.lookupClass().getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | LinkageError e) {
+            return null;  // fall back to an interpreter
+        }
+    }
+
+    /**
+     * Finds the size of a subtree's code, if it were inlined into its parent's
+     * method. While a subtree is too large, its largest branch children are
+     * outlined into methods of their own.
+     */
+    private int inlineSize(int node) {
+
+        int feature = features[node];
+        if (feature < 0) {
+            return pushSize(leafAnswers[node]) + 1;
+        }
+
+        int card = cardinalities[feature];
+        int size = 1 + pushSize(feature) + 1 + 1 + 3 + 12 + 4 * card + 2;
+
+        List<Integer> branches = new ArrayList<>();
+        Map<Integer, Integer> sizes = new HashMap<>();
+
+        for (int code = 0; code < card; code++) {
+            int child = children[childOffsets[node] + code];
+            if (child >= 0) {
+                int childSize = inlineSize(child);
+                sizes.put(child, childSize);
+                size += childSize;
+                if (features[child] >= 0) {
+                    branches.add(child);
+                }
+            }
+        }
+
+        // outline the largest branches until this subtree is small enough...
+
+        branches.sort(Comparator.comparingInt(sizes::get).reversed());
+        for (int child : branches) {
+            if (size <= METHOD_SIZE_LIMIT) {
+                break;
+            }
+            outlined[child] = true;
+            size -= sizes.get(child) - outlinedSize();
+        }
+        return size;
+    }
+
+    private static int outlinedSize() {
+        return 1 + 3 + 1;  /* aload_0, invokestatic, ireturn */
+    }
+
+    private static int pushSize(int value) {
+        if (value >= -1 && value <= 5) {
+            return 1;
+        }
+        if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * Writes the code of a subtree, which returns its <i>final answer</i>'s code.
+     */
+    private void emitNode(@NotNull Code code, int node, boolean isMethod) {
+
+        int feature = features[node];
+        if (feature < 0) {
+            emitPush(code, leafAnswers[node]);
+            code.u1(IRETURN);
+            return;
+        }
+        if (outlined[node] && !isMethod) {
+            code.u1(ALOAD_0);
+            code.u1(INVOKESTATIC);
+            code.u2(pool.methodRef(pool.classRef(CLASS_NAME), methodName(node), METHOD_DESCRIPTOR));
+            code.u1(IRETURN);
+            return;
+        }
+
+        int card = cardinalities[feature];
+        if (card == 0) {
+            emitPush(code, -1);
+            code.u1(IRETURN);
+            return;
+        }
+
+        // switch on the code of the row's answer to this feature...
+
+        code.u1(ALOAD_0);
+        emitPush(code, feature);
+        code.u1(IALOAD);
+
+        int switchAt = code.size();
+        code.u1(TABLESWITCH);
+        while (code.size() % 4 != 0) {
+            code.u1(0);
+        }
+        int defaultAt = code.size();
+        code.u4(0);
+        code.u4(0);
+        code.u4(card - 1);
+        int jumpsAt = code.size();
+        for (int i = 0; i < card; i++) {
+            code.u4(0);
+        }
+
+        // an unknown code returns -1...
+
+        int missing = code.size() - switchAt;
+        code.setU4(defaultAt, missing);
+        emitPush(code, -1);
+        code.u1(IRETURN);
+
+        for (int i = 0; i < card; i++) {
+            int child = children[childOffsets[node] + i];
+            if (child < 0) {
+                code.setU4(jumpsAt + 4 * i, missing);
+            }
+            else {
+                code.setU4(jumpsAt + 4 * i, code.size() - switchAt);
+                emitNode(code, child, false);
+            }
+        }
+    }
+
+    private void emitPush(@NotNull Code code, int value) {
+        if (value >= -1 && value <= 5) {
+            code.u1(ICONST_0 + value);
+        }
+        else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            code.u1(BIPUSH);
+            code.u1(value);
+        }
+        else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            code.u1(SIPUSH);
+            code.u2(value);
+        }
+        else {
+            code.u1(LDC_W);
+            code.u2(pool.integer(value));
+        }
+    }
+
+    private static @NotNull String methodName(int node) {
+        return "node" + node;
+    }
+
+    private static void writeMethod(
+            @NotNull DataOutputStream out,
+            int access, int name, int descriptor, int codeName,
+            @NotNull Code code, int maxStack, int maxLocals)
+            throws IOException {
+
+        out.writeShort(access);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+
+        out.writeShort(codeName);
+        out.writeInt(12 + code.size());
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.size());
+        out.write(code.bytes, 0, code.size());
+        out.writeShort(0);  /* exception table */
+        out.writeShort(0);  /* attributes */
+    }
+
+    /**
+     * A growable array of the bytes of a method's code.
+     */
+    private static class Code {
+
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void u1(int value) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void u2(int value) {
+            u1(value >>> 8);
+            u1(value);
+        }
+
+        void u4(int value) {
+            u2(value >>> 16);
+            u2(value);
+        }
+
+        void setU4(int at, int value) {
+            bytes[at] = (byte) (value >>> 24);
+            bytes[at + 1] = (byte) (value >>> 16);
+            bytes[at + 2] = (byte) (value >>> 8);
+            bytes[at + 3] = (byte) value;
+        }
+    }
+
+    /**
+     * The constant pool of a class file, whose entries are shared by key.
+     */
+    private static class ConstantPool {
+
+        private static final int UTF8 = 1;
+        private static final int INTEGER = 3;
+        private static final int CLASS = 7;
+        private static final int METHOD_REF = 10;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indices = new HashMap<>();
+        private int size = 1;
+
+        int size() {
+            return size;
+        }
+
+        int utf8(@NotNull String value) {
+            return entry("utf8:" + value, () -> {
+                out.writeByte(UTF8);
+                out.writeUTF(value);
+            });
+        }
+
+        int integer(int value) {
+            return entry("int:" + value, () -> {
+                out.writeByte(INTEGER);
+                out.writeInt(value);
+            });
+        }
+
+        int classRef(@NotNull String name) {
+            int nameIndex = utf8(name);
+            return entry("class:" + name, () -> {
+                out.writeByte(CLASS);
+                out.writeShort(nameIndex);
+            });
+        }
+
+        int methodRef(int classIndex, @NotNull String name, @NotNull String descriptor) {
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = entry("nat:" + name + descriptor, () -> {
+                out.writeByte(NAME_AND_TYPE);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+            return entry("method:" + classIndex + "." + name + descriptor, () -> {
+                out.writeByte(METHOD_REF);
+                out.writeShort(classIndex);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        void writeTo(@NotNull DataOutputStream classOut) throws IOException {
+            classOut.writeShort(size);
+            bytes.writeTo(classOut);
+        }
+
+        private int entry(@NotNull String key, @NotNull Writer writer) {
+
+            Integer index = indices.get(key);
+            if (index == null) {
+                try {
+                    writer.write();
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                index = size++;
+                indices.put(key, index);
+            }
+            return index;
+        }
+
+        private interface Writer {
+            void write() throws IOException;
+        }
+    }
+}
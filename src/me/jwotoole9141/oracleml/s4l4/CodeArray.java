@@ -0,0 +1,459 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 8:45 AM
+ * PROJ: OracleMachineLearning
+ * FILE: CodeArray.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the CodeArray class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Represents a fixed-length array of non-negative integer codes, as used by
+ * an {@link EncodedColumn}. Codes are packed into the narrowest primitive
+ * type (<i>byte</i>, <i>short</i> or <i>int</i>) that can hold the
+ * cardinality of the column's dictionary.
+ * <p>
+ * A code array never changes. An array made by {@link #append} may share
+ * its backing array, with room to spare, with the array it was made from,
+ * but each array only ever reads the codes up to its own length.
+ *
+ * @author agent
+ * @see ValueDictionary
+ */
+public abstract class CodeArray {
+
+    /**
+     * The largest cardinality that can be packed into one byte per code.
+     */
+    public static final int MAX_BYTE_CARDINALITY = 1 << 8;
+
+    /**
+     * The largest cardinality that can be packed into two bytes per code.
+     */
+    public static final int MAX_SHORT_CARDINALITY = 1 << 16;
+
+    /**
+     * Creates a packed copy of the given codes.
+     *
+     * @param codes       the codes to pack
+     * @param length      the number of codes in {@code codes} to use
+     * @param cardinality the number of distinct codes that may appear
+     * @return a new code array of the narrowest suitable width
+     */
+    public static @NotNull CodeArray of(@NotNull int[] codes, int length, int cardinality) {
+        return of(codes, length, length, cardinality);
+    }
+
+    /**
+     * Creates a packed copy of the given codes, with room for more.
+     *
+     * @param codes       the codes to pack
+     * @param length      the number of codes in {@code codes} to use
+     * @param capacity    the number of codes the backing array can hold
+     * @param cardinality the number of distinct codes that may appear
+     * @return a new code array of the narrowest suitable width
+     */
+    private static @NotNull CodeArray of(@NotNull int[] codes, int length, int capacity, int cardinality) {
+
+        if (cardinality <= MAX_BYTE_CARDINALITY) {
+            byte[] packed = new byte[capacity];
+            for (int i = 0; i < length; i++) {
+                packed[i] = (byte) codes[i];
+            }
+            return new Bytes(packed, length);
+        }
+        else if (cardinality <= MAX_SHORT_CARDINALITY) {
+            short[] packed = new short[capacity];
+            for (int i = 0; i < length; i++) {
+                packed[i] = (short) codes[i];
+            }
+            return new Shorts(packed, length);
+        }
+        int[] packed = new int[capacity];
+        System.arraycopy(codes, 0, packed, 0, length);
+        return new Ints(packed, length);
+    }
+
+    /**
+     * Creates a code array that reads its codes from a buffer, such as a
+     * memory-mapped region of a file, rather than copying them. Codes are read
+     * in the buffer's byte order, starting at its current position.
+     *
+     * @param buffer the buffer holding the packed codes
+     * @param length the number of codes in the buffer
+     * @param width  the number of bytes used to store each code; 1, 2 or 4
+     * @return a new code array backed by the buffer
+     *
+     * @throws IllegalArgumentException if the width is invalid or the buffer is too small
+     */
+    public static @NotNull CodeArray wrap(@NotNull ByteBuffer buffer, int length, int width)
+            throws IllegalArgumentException {
+
+        if (width != Byte.BYTES && width != Short.BYTES && width != Integer.BYTES) {
+            throw new IllegalArgumentException("Invalid code width: " + width);
+        }
+        if ((long) length * width > buffer.remaining()) {
+            throw new IllegalArgumentException(String.format(
+                    "Buffer too small for %d codes of width %d.", length, width));
+        }
+        ByteBuffer codes = buffer.slice().order(buffer.order());
+        codes.limit(length * width);
+        return new Buffered(codes.asReadOnlyBuffer().order(buffer.order()), length, width);
+    }
+
+    /**
+     * Gets the number of codes in this array.
+     *
+     * @return the array length
+     */
+    public abstract int length();
+
+    /**
+     * Gets the code at the given index.
+     *
+     * @param index the index of the code
+     * @return a non-negative code
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is not of a code in this array
+     */
+    public abstract int get(int index);
+
+    /**
+     * Gets the number of bytes used to store each code.
+     *
+     * @return 1, 2 or 4
+     */
+    public abstract int getWidth();
+
+    /**
+     * Creates a new code array holding the codes at the given indices.
+     * The new array has the same width as this one.
+     *
+     * @param indices the indices of the codes to copy
+     * @param length  the number of indices in {@code indices} to use
+     * @return a new code array
+     */
+    public abstract @NotNull CodeArray gather(@NotNull int[] indices, int length);
+
+    /**
+     * Creates a new code array holding a copy of a range of this array's codes.
+     * The new array has the same width as this one.
+     *
+     * @param from the index of the first code to copy, inclusive
+     * @param to   the index of the last code to copy, exclusive
+     * @return a new code array
+     */
+    public abstract @NotNull CodeArray slice(int from, int to);
+
+    /**
+     * Gets the array that holds this array's codes, if they are held
+     * one byte each in an array on the heap. The array must not be modified.
+     * It may be longer than this code array, past whose length it is unused.
+     *
+     * @return the backing array, or null if the codes are held otherwise
+     */
+    @Nullable byte[] getByteArray() {
+        return null;
+    }
+
+    /**
+     * Creates a code array holding this array's codes followed by the given ones.
+     * If {@code writable}, and this array's backing array has room for the codes
+     * and is wide enough for {@code cardinality} distinct codes, they are written
+     * into the room, past the end of this array, and the new array shares the
+     * backing array. Otherwise every code is copied into a new backing array,
+     * with room for as many codes again.
+     * <p>
+     * Only the owner of the longest array over a backing array may write into
+     * it, since any longer array made by another owner would be overwritten.
+     *
+     * @param added       the codes to add
+     * @param count       the number of codes in {@code added} to use
+     * @param cardinality the number of distinct codes that may appear
+     * @param writable    whether the room past the end of this array may be written
+     * @return a new code array
+     */
+    @NotNull CodeArray append(@NotNull int[] added, int count, int cardinality, boolean writable) {
+
+        int length = length();
+        int[] codes = new int[length + count];
+        for (int i = 0; i < length; i++) {
+            codes[i] = get(i);
+        }
+        System.arraycopy(added, 0, codes, length, count);
+        return of(codes, codes.length, Math.max(16, codes.length * 2), Math.max(cardinality, widest()));
+    }
+
+    /**
+     * Gets the largest cardinality that this array's width can hold.
+     *
+     * @return the cardinality
+     */
+    private int widest() {
+        switch (getWidth()) {
+            case Byte.BYTES:
+                return MAX_BYTE_CARDINALITY;
+            case Short.BYTES:
+                return MAX_SHORT_CARDINALITY;
+            default:
+                return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Makes sure that an index is of a code in an array, which its backing
+     * array may not be able to tell, since it may have room for more codes.
+     *
+     * @param index  the index of a code
+     * @param length the number of codes in the array
+     * @return the index
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is not less than {@code length}
+     */
+    private static int checkIndex(int index, int length) throws IndexOutOfBoundsException {
+        if (index >= length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Code %d of an array of %d codes.", index, length));
+        }
+        return index;
+    }
+
+    private static final class Bytes extends CodeArray {
+
+        private final byte[] codes;
+        private final int length;
+
+        private Bytes(byte[] codes, int length) {
+            this.codes = codes;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public int get(int index) {
+            return codes[checkIndex(index, length)] & 0xFF;
+        }
+
+        @Override
+        public int getWidth() {
+            return Byte.BYTES;
+        }
+
+        @Override
+        public @NotNull CodeArray gather(@NotNull int[] indices, int length) {
+            byte[] result = new byte[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = codes[indices[i]];
+            }
+            return new Bytes(result, length);
+        }
+
+        @Override
+        public @NotNull CodeArray slice(int from, int to) {
+            return new Bytes(Arrays.copyOfRange(codes, from, to), to - from);
+        }
+
+        @Override
+        @NotNull CodeArray append(@NotNull int[] added, int count, int cardinality, boolean writable) {
+
+            if (!writable || length + count > codes.length || cardinality > MAX_BYTE_CARDINALITY) {
+                return super.append(added, count, cardinality, writable);
+            }
+            for (int i = 0; i < count; i++) {
+                codes[length + i] = (byte) added[i];
+            }
+            return new Bytes(codes, length + count);
+        }
+
+        @Override
+        @NotNull byte[] getByteArray() {
+            return codes;
+        }
+    }
+
+    private static final class Shorts extends CodeArray {
+
+        private final short[] codes;
+        private final int length;
+
+        private Shorts(short[] codes, int length) {
+            this.codes = codes;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public int get(int index) {
+            return codes[checkIndex(index, length)] & 0xFFFF;
+        }
+
+        @Override
+        public int getWidth() {
+            return Short.BYTES;
+        }
+
+        @Override
+        public @NotNull CodeArray gather(@NotNull int[] indices, int length) {
+            short[] result = new short[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = codes[indices[i]];
+            }
+            return new Shorts(result, length);
+        }
+
+        @Override
+        public @NotNull CodeArray slice(int from, int to) {
+            return new Shorts(Arrays.copyOfRange(codes, from, to), to - from);
+        }
+
+        @Override
+        @NotNull CodeArray append(@NotNull int[] added, int count, int cardinality, boolean writable) {
+
+            if (!writable || length + count > codes.length || cardinality > MAX_SHORT_CARDINALITY) {
+                return super.append(added, count, cardinality, writable);
+            }
+            for (int i = 0; i < count; i++) {
+                codes[length + i] = (short) added[i];
+            }
+            return new Shorts(codes, length + count);
+        }
+    }
+
+    private static final class Ints extends CodeArray {
+
+        private final int[] codes;
+        private final int length;
+
+        private Ints(int[] codes, int length) {
+            this.codes = codes;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public int get(int index) {
+            return codes[checkIndex(index, length)];
+        }
+
+        @Override
+        public int getWidth() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public @NotNull CodeArray gather(@NotNull int[] indices, int length) {
+            int[] result = new int[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = codes[indices[i]];
+            }
+            return new Ints(result, length);
+        }
+
+        @Override
+        public @NotNull CodeArray slice(int from, int to) {
+            return new Ints(Arrays.copyOfRange(codes, from, to), to - from);
+        }
+
+        @Override
+        @NotNull CodeArray append(@NotNull int[] added, int count, int cardinality, boolean writable) {
+
+            if (!writable || length + count > codes.length) {
+                return super.append(added, count, cardinality, writable);
+            }
+            for (int i = 0; i < count; i++) {
+                codes[length + i] = added[i];
+            }
+            return new Ints(codes, length + count);
+        }
+    }
+
+    private static final class Buffered extends CodeArray {
+
+        private final ByteBuffer codes;
+        private final int length;
+        private final int width;
+
+        private Buffered(ByteBuffer codes, int length, int width) {
+            this.codes = codes;
+            this.length = length;
+            this.width = width;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public int get(int index) {
+            switch (width) {
+                case Byte.BYTES:
+                    return codes.get(index) & 0xFF;
+                case Short.BYTES:
+                    return codes.getShort(index << 1) & 0xFFFF;
+                default:
+                    return codes.getInt(index << 2);
+            }
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public @NotNull CodeArray gather(@NotNull int[] indices, int length) {
+            int[] result = new int[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = get(indices[i]);
+            }
+            return ofWidth(result, length);
+        }
+
+        @Override
+        public @NotNull CodeArray slice(int from, int to) {
+            int[] result = new int[to - from];
+            for (int i = from; i < to; i++) {
+                result[i - from] = get(i);
+            }
+            return ofWidth(result, result.length);
+        }
+
+        private @NotNull CodeArray ofWidth(@NotNull int[] codes, int length) {
+
+            // copy onto the heap, keeping the same width...
+
+            switch (width) {
+                case Byte.BYTES:
+                    return of(codes, length, MAX_BYTE_CARDINALITY);
+                case Short.BYTES:
+                    return of(codes, length, MAX_SHORT_CARDINALITY);
+                default:
+                    return new Ints(Arrays.copyOf(codes, length), length);
+            }
+        }
+    }
+}
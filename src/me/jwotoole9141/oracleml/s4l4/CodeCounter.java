@@ -0,0 +1,111 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:53 AM
+ * PROJ: OracleMachineLearning
+ * FILE: CodeCounter.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the CodeCounter class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Counts the codes of {@link CodeArray}s that hold one byte per code, which
+ * are those of columns with at most {@link CodeArray#MAX_BYTE_CARDINALITY}
+ * distinct values. This is the inner loop of
+ * {@link EncodedColumn#getCodeCounts()} and of {@link ContingencyTable#of}.
+ * <p>
+ * This class counts one code at a time. When the {@code jdk.incubator.vector}
+ * module is present, {@link #INSTANCE} is a {@code VectorCodeCounter} instead,
+ * which counts the codes of a column with few distinct values many lanes at
+ * a time. An incubator module is not resolved by default, and needs
+ * {@code --add-modules jdk.incubator.vector} both to compile against it and
+ * to run it. So that the rest of the sources build and run without that flag
+ * on the same JDK 17, the vectorized counter is compiled from its own source
+ * directory, {@code src-vector}, and is looked up reflectively; running
+ * without the module, or without that class, is not an error.
+ *
+ * @author agent
+ * @see CodeArray#getByteArray()
+ */
+class CodeCounter {
+
+    /**
+     * The counter to use, which is vectorized if the Vector API is available.
+     */
+    static final @NotNull CodeCounter INSTANCE = load();
+
+    /**
+     * Creates a counter that counts one code at a time.
+     */
+    CodeCounter() {
+    }
+
+    /**
+     * Checks if this counter uses the Vector API.
+     *
+     * @return true if codes are counted in SIMD lanes
+     */
+    boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Counts the occurrences of each code.
+     *
+     * @param codes    an array of one code per byte, read as unsigned
+     * @param length   the number of codes to count
+     * @param numCodes the number of distinct codes that may appear
+     * @param counts   an array of at least {@code numCodes} counts, which are added to
+     */
+    void count(@NotNull byte[] codes, int length, int numCodes, @NotNull int[] counts) {
+        for (int i = 0; i < length; i++) {
+            counts[codes[i] & 0xFF]++;
+        }
+    }
+
+    /**
+     * Counts the co-occurrences of each pair of codes in two arrays,
+     * into a matrix with one row per code of the first array.
+     *
+     * @param rowCodes the first array of one code per byte, read as unsigned
+     * @param colCodes the second array of one code per byte, read as unsigned
+     * @param length   the number of pairs of codes to count
+     * @param numRows  the number of distinct codes that may appear in {@code rowCodes}
+     * @param numCols  the number of distinct codes that may appear in {@code colCodes}
+     * @param counts   an array of at least {@code numRows * numCols} counts, in row-major
+     *                 order, which are added to
+     */
+    void countPairs(
+            @NotNull byte[] rowCodes,
+            @NotNull byte[] colCodes,
+            int length,
+            int numRows,
+            int numCols,
+            @NotNull int[] counts) {
+
+        for (int i = 0; i < length; i++) {
+            counts[(rowCodes[i] & 0xFF) * numCols + (colCodes[i] & 0xFF)]++;
+        }
+    }
+
+    /**
+     * Creates a vectorized counter if its class and the Vector API can both be
+     * loaded, and otherwise a counter that counts one code at a time.
+     */
+    private static @NotNull CodeCounter load() {
+
+        try {
+            Class<?> vectorized = Class.forName(CodeCounter.class.getPackage().getName() + ".VectorCodeCounter");
+            return (CodeCounter) vectorized.getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            return new CodeCounter();
+        }
+    }
+}
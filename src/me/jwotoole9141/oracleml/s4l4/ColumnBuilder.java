@@ -0,0 +1,48 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 8:45 AM
+ * PROJ: OracleMachineLearning
+ * FILE: ColumnBuilder.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the ColumnBuilder interface.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Accumulates rows of data, one at a time, into a new {@link DataTable.Column}.
+ * Each kind of column supplies its own builder, so rows can be stored in their
+ * final form as they are read rather than collected into a list first.
+ *
+ * @param <T> the type of data held in the column being built
+ * @author agent
+ * @see DataTable.Storage
+ */
+public interface ColumnBuilder<T> {
+
+    /**
+     * Adds a row of data to the end of the column being built.
+     *
+     * @param value the data element
+     */
+    void add(@NotNull T value);
+
+    /**
+     * Gets the number of rows added so far.
+     *
+     * @return the number of rows
+     */
+    int size();
+
+    /**
+     * Creates the column from the rows added so far.
+     *
+     * @return a new column
+     */
+    @NotNull DataTable.Column<T> build();
+}
@@ -0,0 +1,152 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:57 AM
+ * PROJ: OracleMachineLearning
+ * FILE: ColumnCache.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the ColumnCache class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Holds what a {@link DataTable.Column} has found out about its rows, so
+ * that it is not found again. The counts of every distinct value are kept
+ * along with the values and statistics found from them. Counts and
+ * distributions of other sets of values are kept by set, up to
+ * {@link #MAX_SETS} of each, of which the least recently used is dropped first.
+ * <p>
+ * A cache is of a fixed number of rows, the first ones of its column, and
+ * everything in it is found from only those rows. A column replaces its
+ * cache whenever rows are added to it, with one that keeps the counts of
+ * the rows before, so that only the added rows need to be counted. Several
+ * threads may use a cache at once; at worst, each of them finds the same result.
+ *
+ * @param <T> the type of data held in the column
+ * @author agent
+ */
+final class ColumnCache<T> {
+
+    /**
+     * The most sets of values whose counts, or distributions, are kept.
+     */
+    static final int MAX_SETS = 16;
+
+    /**
+     * The number of rows of the column that everything in this cache is found from.
+     */
+    final int numRows;
+
+    /**
+     * The counts of the first {@link #baseRows} rows, which the counts of the
+     * rest are added to, or null if every row must be counted.
+     */
+    final @Nullable Map<T, Integer> baseCounts;
+    final int baseRows;
+
+    volatile @Nullable Map<T, Integer> counts;
+    volatile @Nullable Set<T> values;
+    volatile @Nullable Map<T, Double> distribution;
+    volatile @Nullable ColumnStatistics<T> statistics;
+
+    private final @NotNull Map<Set<T>, Map<T, Integer>> countsBySet = newSetMap();
+    private final @NotNull Map<Set<T>, Map<T, Double>> distributionsBySet = newSetMap();
+
+    /**
+     * Creates an empty cache of the given number of rows of a column.
+     *
+     * @param numRows the number of rows to find everything from
+     */
+    ColumnCache(int numRows) {
+        this(numRows, null, 0);
+    }
+
+    private ColumnCache(int numRows, @Nullable Map<T, Integer> baseCounts, int baseRows) {
+        this.numRows = numRows;
+        this.baseCounts = baseCounts;
+        this.baseRows = baseRows;
+    }
+
+    /**
+     * Creates an empty cache of more rows of the same column, which keeps the
+     * counts of this cache's rows, if they are known, to add the rest to.
+     *
+     * @param numRows the number of rows of the column, now that rows were added
+     * @return a new cache
+     */
+    @NotNull ColumnCache<T> toAppended(int numRows) {
+
+        Map<T, Integer> counts = this.counts;
+        return (counts != null)
+                ? new ColumnCache<>(numRows, counts, this.numRows)
+                : new ColumnCache<>(numRows, baseCounts, baseRows);
+    }
+
+    /**
+     * Gets the counts of a set of values, finding them if they aren't kept.
+     *
+     * @param values the set of values
+     * @param finder a function that finds the counts of the set
+     * @return the kept counts
+     */
+    @NotNull Map<T, Integer> getCounts(
+            @NotNull Set<T> values,
+            @NotNull Function<Set<T>, Map<T, Integer>> finder) {
+
+        return get(countsBySet, values, finder);
+    }
+
+    /**
+     * Gets the distribution of a set of values, finding it if it isn't kept.
+     *
+     * @param values the set of values
+     * @param finder a function that finds the distribution of the set
+     * @return the kept distribution
+     */
+    @NotNull Map<T, Double> getDistribution(
+            @NotNull Set<T> values,
+            @NotNull Function<Set<T>, Map<T, Double>> finder) {
+
+        return get(distributionsBySet, values, finder);
+    }
+
+    private static <T, V> @NotNull V get(
+            @NotNull Map<Set<T>, V> bySet,
+            @NotNull Set<T> values,
+            @NotNull Function<Set<T>, V> finder) {
+
+        synchronized (bySet) {
+            V result = bySet.get(values);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        // find the result outside of the lock, keyed by a copy of the set in case it changes...
+
+        Set<T> key = Collections.unmodifiableSet(new HashSet<>(values));
+        V result = finder.apply(key);
+        synchronized (bySet) {
+            bySet.put(key, result);
+        }
+        return result;
+    }
+
+    private static <K, V> @NotNull Map<K, V> newSetMap() {
+        return new LinkedHashMap<K, V>(MAX_SETS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > MAX_SETS;
+            }
+        };
+    }
+}
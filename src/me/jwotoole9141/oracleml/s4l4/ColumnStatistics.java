@@ -0,0 +1,189 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:57 AM
+ * PROJ: OracleMachineLearning
+ * FILE: ColumnStatistics.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the ColumnStatistics class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Summarizes the data under a {@link DataTable.Column}. The statistics
+ * are found from the column's counts, in one pass over its distinct values,
+ * and are kept by the column until its rows change.
+ *
+ * @param <T> the type of data held in the column
+ * @author agent
+ * @see DataTable.Column#getStatistics()
+ */
+public final class ColumnStatistics<T> {
+
+    private final int numRows;
+    private final int cardinality;
+    private final @Nullable T mode;
+    private final int modeCount;
+    private final int numBlank;
+    private final @Nullable T min;
+    private final @Nullable T max;
+
+    /**
+     * Finds the statistics of a column from its counts.
+     *
+     * @param numRows the number of rows under the column
+     * @param counts  the count of every distinct value under the column
+     */
+    @SuppressWarnings("unchecked")  // the values are only compared once all are known to be comparable
+    ColumnStatistics(int numRows, @NotNull Map<T, Integer> counts) {
+
+        this.numRows = numRows;
+        this.cardinality = counts.size();
+
+        T mode = null;
+        int modeCount = 0;
+        int numBlank = 0;
+        T min = null;
+        T max = null;
+        boolean comparable = true;
+
+        for (Map.Entry<T, Integer> entry : counts.entrySet()) {
+
+            T value = entry.getKey();
+            int count = entry.getValue();
+
+            // keep the first of the most common values...
+
+            if (count > modeCount) {
+                mode = value;
+                modeCount = count;
+            }
+
+            // leave blank values out of the range...
+
+            if (isBlank(value)) {
+                numBlank += count;
+                continue;
+            }
+
+            // find the range, unless some value can't be compared...
+
+            if (comparable && value instanceof Comparable) {
+                if (min == null) {
+                    min = max = value;
+                }
+                else {
+                    try {
+                        if (((Comparable<Object>) value).compareTo(min) < 0) {
+                            min = value;
+                        }
+                        if (((Comparable<Object>) value).compareTo(max) > 0) {
+                            max = value;
+                        }
+                    }
+                    catch (ClassCastException e) {
+                        comparable = false;
+                    }
+                }
+            }
+            else {
+                comparable = false;
+            }
+        }
+
+        this.mode = mode;
+        this.modeCount = modeCount;
+        this.numBlank = numBlank;
+        this.min = comparable ? min : null;
+        this.max = comparable ? max : null;
+    }
+
+    /**
+     * Gets the number of rows under the column.
+     *
+     * @return the number of column rows
+     */
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * Gets the number of distinct values under the column.
+     *
+     * @return the size of the column's value set
+     */
+    public int getCardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Gets the most common value under the column. Of values
+     * that are equally common, the first one counted is chosen.
+     *
+     * @return the mode, or null if the column is empty
+     */
+    public @Nullable T getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the number of occurrences of the most common value under the column.
+     *
+     * @return the count of {@link #getMode()}, or 0 if the column is empty
+     */
+    public int getModeCount() {
+        return modeCount;
+    }
+
+    /**
+     * Gets the number of rows under the column that are null, or are
+     * strings made only of whitespace, as a CSV file's missing fields are.
+     *
+     * @return the number of null or blank rows
+     */
+    public int getNumBlank() {
+        return numBlank;
+    }
+
+    /**
+     * Gets the smallest value under the column, other than blank ones.
+     *
+     * @return the minimum, or null if the column is empty or its values aren't comparable
+     */
+    public @Nullable T getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the largest value under the column, other than blank ones.
+     *
+     * @return the maximum, or null if the column is empty or its values aren't comparable
+     */
+    public @Nullable T getMax() {
+        return max;
+    }
+
+    /**
+     * Creates a string representation of these statistics.
+     *
+     * @return an informative, single-line string
+     */
+    @Override
+    public @NotNull String toString() {
+        return String.format("ColumnStatistics[rows=%d, cardinality=%d, mode=%s (%d), blank=%d, min=%s, max=%s]",
+                numRows, cardinality, mode, modeCount, numBlank, min, max);
+    }
+
+    private static boolean isBlank(@Nullable Object value) {
+        return value == null || (value instanceof CharSequence && StringUtils.isBlank((CharSequence) value));
+    }
+}
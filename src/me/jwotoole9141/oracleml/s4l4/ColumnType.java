@@ -0,0 +1,250 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:25 AM
+ * PROJ: OracleMachineLearning
+ * FILE: ColumnType.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the ColumnType enum.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * An enumeration of the types of data that a column of a CSV file may
+ * be loaded as. A list of types, one per column, is the file's schema.
+ * <p>
+ * The numeric types widen into each other, from {@link #INT} to {@link #LONG}
+ * to {@link #DOUBLE}. Any other two types widen into a type of text.
+ *
+ * @author agent
+ * @see CsvLoader#withSchema(ColumnType...)
+ * @see CsvLoader#inferSchema()
+ */
+public enum ColumnType {
+
+    /**
+     * Text, held in a column of the loader's {@link DataTable.Storage},
+     * and deserialized by the loader's deserializer for the column, if any.
+     */
+    STRING {
+        @Override
+        public @NotNull Object parse(@NotNull String text) {
+            return text;
+        }
+
+        @Override
+        @NotNull FieldParser newParser(
+                @NotNull String label,
+                @NotNull DataTable.Storage storage,
+                @Nullable Function<String, Object> deserializer) {
+
+            return new FieldParser.Strings(label, storage, deserializer);
+        }
+    },
+
+    /**
+     * Whole numbers that fit in an <i>int</i>, held in an {@link IntColumn}.
+     */
+    INT {
+        @Override
+        public @NotNull Object parse(@NotNull String text) throws NumberFormatException {
+            return Integer.parseInt(text.trim());
+        }
+
+        @Override
+        @NotNull FieldParser newParser(
+                @NotNull String label,
+                @NotNull DataTable.Storage storage,
+                @Nullable Function<String, Object> deserializer) {
+
+            return new FieldParser.Ints(label);
+        }
+    },
+
+    /**
+     * Whole numbers that fit in a <i>long</i>, held in a {@link LongColumn}.
+     */
+    LONG {
+        @Override
+        public @NotNull Object parse(@NotNull String text) throws NumberFormatException {
+            return Long.parseLong(text.trim());
+        }
+
+        @Override
+        @NotNull FieldParser newParser(
+                @NotNull String label,
+                @NotNull DataTable.Storage storage,
+                @Nullable Function<String, Object> deserializer) {
+
+            return new FieldParser.Longs(label);
+        }
+    },
+
+    /**
+     * Real numbers, held in a {@link DoubleColumn}.
+     */
+    DOUBLE {
+        @Override
+        public @NotNull Object parse(@NotNull String text) throws NumberFormatException {
+            return FieldParser.parseDouble(text, "?");
+        }
+
+        @Override
+        @NotNull FieldParser newParser(
+                @NotNull String label,
+                @NotNull DataTable.Storage storage,
+                @Nullable Function<String, Object> deserializer) {
+
+            return new FieldParser.Doubles(label);
+        }
+    },
+
+    /**
+     * The words <i>true</i> and <i>false</i>, in any case,
+     * held in an {@link EncodedColumn} of booleans.
+     */
+    BOOLEAN {
+        @Override
+        public @NotNull Object parse(@NotNull String text) throws IllegalArgumentException {
+            return FieldParser.parseBoolean(text, "?");
+        }
+
+        @Override
+        @NotNull FieldParser newParser(
+                @NotNull String label,
+                @NotNull DataTable.Storage storage,
+                @Nullable Function<String, Object> deserializer) {
+
+            return new FieldParser.Booleans(label);
+        }
+    },
+
+    /**
+     * Text with few distinct values, held in an {@link EncodedColumn} whatever the
+     * loader's storage, and deserialized by the loader's deserializer for the column, if any.
+     */
+    CATEGORY {
+        @Override
+        public @NotNull Object parse(@NotNull String text) {
+            return text;
+        }
+
+        @Override
+        @NotNull FieldParser newParser(
+                @NotNull String label,
+                @NotNull DataTable.Storage storage,
+                @Nullable Function<String, Object> deserializer) {
+
+            return new FieldParser.Strings(label, DataTable.Storage.DICTIONARY, deserializer);
+        }
+    };
+
+    /**
+     * Parses a field of this type. This may be used as a deserializer.
+     *
+     * @param text the field
+     * @return the field's value, boxed
+     *
+     * @throws IllegalArgumentException if the field is not of this type, which is a
+     *                                  {@link NumberFormatException} for the numeric types
+     */
+    public abstract @NotNull Object parse(@NotNull String text) throws IllegalArgumentException;
+
+    /**
+     * Checks if this is one of the numeric types.
+     *
+     * @return true if this is {@link #INT}, {@link #LONG} or {@link #DOUBLE}
+     */
+    public boolean isNumeric() {
+        return this == INT || this == LONG || this == DOUBLE;
+    }
+
+    /**
+     * Finds the narrowest type that holds every field of both this type and another.
+     *
+     * @param other the other type
+     * @return the wider numeric type of the two if both are numeric, otherwise
+     *         {@link #CATEGORY} if either is, and otherwise {@link #STRING}
+     */
+    public @NotNull ColumnType widen(@NotNull ColumnType other) {
+
+        if (this == other) {
+            return this;
+        }
+        if (isNumeric() && other.isNumeric()) {
+            return (ordinal() > other.ordinal()) ? this : other;
+        }
+        return (this == CATEGORY || other == CATEGORY) ? CATEGORY : STRING;
+    }
+
+    /**
+     * Finds the narrowest type of a single field. Whole numbers with a leading
+     * zero, such as postal codes, are text, so that they keep their zeros.
+     * Real numbers are those read by {@link FieldParser#parseDouble(byte[], int, String)},
+     * so fields such as {@code 1f} or {@code 0x1p3} are text. Empty fields are also text.
+     *
+     * @param bytes  an array holding the field's UTF-8 bytes
+     * @param length the number of bytes in the field
+     * @return {@link #INT}, {@link #LONG}, {@link #DOUBLE}, {@link #BOOLEAN} or {@link #STRING}
+     */
+    static @NotNull ColumnType of(@NotNull byte[] bytes, int length) {
+
+        if (FieldParser.isBoolean(bytes, length)) {
+            return BOOLEAN;
+        }
+
+        // look at the digits before parsing, so text rarely throws...
+
+        int start = FieldParser.skipSpaces(bytes, 0, length);
+        int end = FieldParser.trimSpaces(bytes, start, length);
+        int digits = (start < end && (bytes[start] == '-' || bytes[start] == '+')) ? start + 1 : start;
+
+        if (digits == end || !(isDigit(bytes[digits]) || (bytes[digits] | 0x20) == 'n' || (bytes[digits] | 0x20) == 'i')) {
+            return STRING;
+        }
+
+        int i = digits;
+        while (i < end && isDigit(bytes[i])) {
+            i++;
+        }
+        try {
+            if (i == end) {
+                if (bytes[digits] == '0' && end - digits > 1) {
+                    return STRING;
+                }
+                long value = FieldParser.parseLong(bytes, length, "?");
+                return (value == (int) value) ? INT : LONG;
+            }
+            FieldParser.parseDouble(bytes, length, "?");
+            return DOUBLE;
+        }
+        catch (NumberFormatException e) {
+            return (i == end) ? DOUBLE : STRING;  /* digits too long for a long are still a double */
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * Creates a parser for the fields of a column of this type.
+     *
+     * @param label        the label of the column
+     * @param storage      how a column of strings stores its rows
+     * @param deserializer the function that deserializes a column of strings, or null
+     * @return a new parser
+     */
+    abstract @NotNull FieldParser newParser(
+            @NotNull String label,
+            @NotNull DataTable.Storage storage,
+            @Nullable Function<String, Object> deserializer);
+}
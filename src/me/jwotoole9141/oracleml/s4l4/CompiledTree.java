@@ -0,0 +1,360 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:02 AM
+ * PROJ: OracleMachineLearning
+ * FILE: CompiledTree.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the CompiledTree class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Represents a read-only, compiled form of a tree of {@link Node}s. The
+ * nodes are laid out breadth-first in parallel arrays of primitives, so
+ * that predicting an <i>answer</i> walks a few small arrays instead of a
+ * graph of objects and maps.
+ * <p>
+ * Each distinct <i>question</i> in the tree is a <i>feature</i>, and the
+ * <i>answers</i> to each feature are coded densely. A branch node holds the
+ * index of its feature and the offset of a table of children, with one slot
+ * per code of that feature. A leaf node holds the code of its <i>final
+ * answer</i>. The original tree of nodes remains the editable form.
+ * <p>
+ * A compiled tree is itself a {@link Classifier} that interprets its
+ * arrays, and it may be compiled further into bytecode with
+ * {@link #toClassifier()}.
+ *
+ * @param <Q> The <i>question</i> type in this tree
+ * @param <A> The <i>answer</i> type in this tree
+ * @author agent
+ * @see Node#toCompiledTree()
+ */
+public final class CompiledTree<Q, A> implements Classifier {
+
+    private final @NotNull List<Q> questions;
+    private final @NotNull List<ValueDictionary<A>> answers;
+    private final @NotNull ValueDictionary<A> finalAnswers;
+    private final @NotNull int[] cardinalities;
+
+    private final @NotNull int[] features;
+    private final @NotNull int[] childOffsets;
+    private final @NotNull int[] leafAnswers;
+    private final @NotNull int[] children;
+
+    private CompiledTree(
+            @NotNull List<Q> questions,
+            @NotNull List<ValueDictionary<A>> answers,
+            @NotNull ValueDictionary<A> finalAnswers,
+            @NotNull int[] features,
+            @NotNull int[] childOffsets,
+            @NotNull int[] leafAnswers,
+            @NotNull int[] children) {
+
+        this.questions = Collections.unmodifiableList(questions);
+        this.answers = answers;
+        this.finalAnswers = finalAnswers;
+        this.cardinalities = answers.stream().mapToInt(ValueDictionary::size).toArray();
+        this.features = features;
+        this.childOffsets = childOffsets;
+        this.leafAnswers = leafAnswers;
+        this.children = children;
+    }
+
+    /**
+     * Compiles a tree, starting at the given node.
+     *
+     * @param root the root of the tree
+     * @param <Q>  the <i>question</i> type of the tree
+     * @param <A>  the <i>answer</i> type of the tree
+     * @return a new compiled tree that predicts the same <i>answers</i>
+     */
+    public static <Q, A> @NotNull CompiledTree<Q, A> of(@NotNull Node<Q, A> root) {
+
+        // lay the nodes out breadth-first, and code every question and answer...
+
+        List<Node<Q, A>> nodes = new ArrayList<>();
+        Map<Q, Integer> featureOf = new HashMap<>();
+        List<Q> questions = new ArrayList<>();
+        List<ValueDictionary<A>> answers = new ArrayList<>();
+        ValueDictionary<A> finalAnswers = new ValueDictionary<>();
+
+        nodes.add(root);
+        for (int i = 0; i < nodes.size(); i++) {
+
+            Node<Q, A> node = nodes.get(i);
+            if (node instanceof NodeInner) {
+
+                NodeInner<Q, A> inner = (NodeInner<Q, A>) node;
+                int feature = featureOf.computeIfAbsent(inner.getQuestion(), q -> {
+                    questions.add(q);
+                    answers.add(new ValueDictionary<>());
+                    return questions.size() - 1;
+                });
+                for (Map.Entry<A, Node<Q, A>> child : inner.getChildren().entrySet()) {
+                    answers.get(feature).encode(child.getKey());
+                    nodes.add(child.getValue());
+                }
+            }
+            else {
+                finalAnswers.encode(((NodeOuter<Q, A>) node).getAnswer());
+            }
+        }
+
+        // fill each branch node's table of children, one slot per answer code...
+
+        int[] features = new int[nodes.size()];
+        int[] childOffsets = new int[nodes.size()];
+        int[] leafAnswers = new int[nodes.size()];
+        int numChildSlots = 0;
+
+        for (int i = 0; i < nodes.size(); i++) {
+            Node<Q, A> node = nodes.get(i);
+            if (node instanceof NodeInner) {
+                features[i] = featureOf.get(((NodeInner<Q, A>) node).getQuestion());
+                childOffsets[i] = numChildSlots;
+                leafAnswers[i] = -1;
+                numChildSlots += answers.get(features[i]).size();
+            }
+            else {
+                features[i] = -1;
+                childOffsets[i] = -1;
+                leafAnswers[i] = finalAnswers.codeOf(((NodeOuter<Q, A>) node).getAnswer());
+            }
+        }
+
+        int[] children = new int[numChildSlots];
+        Arrays.fill(children, -1);
+
+        int next = 1;  /* children were added to 'nodes' in this same order */
+        for (int i = 0; i < nodes.size(); i++) {
+            Node<Q, A> node = nodes.get(i);
+            if (node instanceof NodeInner) {
+                ValueDictionary<A> featureAnswers = answers.get(features[i]);
+                for (A answer : ((NodeInner<Q, A>) node).getChildren().keySet()) {
+                    children[childOffsets[i] + featureAnswers.codeOf(answer)] = next++;
+                }
+            }
+        }
+
+        return new CompiledTree<>(questions, answers, finalAnswers,
+                features, childOffsets, leafAnswers, children);
+    }
+
+    /**
+     * Gets the distinct <i>questions</i> of this tree. A question's
+     * index in this list is the index of its <i>feature</i>.
+     *
+     * @return an unmodifiable list of <i>questions</i>
+     */
+    public @NotNull List<Q> getQuestions() {
+        return questions;
+    }
+
+    /**
+     * Gets the number of nodes in this tree.
+     *
+     * @return the number of nodes
+     */
+    public int getSize() {
+        return features.length;
+    }
+
+    /**
+     * Gets the code of an <i>answer</i> to one of this tree's features.
+     *
+     * @param feature the index of a feature
+     * @param answer  an <i>answer</i> to the feature's <i>question</i>
+     * @return the code of the <i>answer</i>, or -1 if the tree never branches on it
+     */
+    public int codeOf(int feature, @Nullable Object answer) {
+        return answers.get(feature).codeOf(answer);
+    }
+
+    /**
+     * Predicts the code of the <i>final answer</i> for a row of data
+     * whose <i>answers</i> have already been coded by feature.
+     *
+     * @param codes the code of the row's <i>answer</i> to each feature
+     * @return the code of the <i>final answer</i>, or -1 if the
+     * row has an <i>answer</i> the tree doesn't branch on
+     *
+     * @see #codeOf(int, Object)
+     * @see #decode(int)
+     */
+    public int predictCode(@NotNull int[] codes) {
+
+        int node = 0;
+        int feature;
+
+        while ((feature = features[node]) >= 0) {
+
+            int code = codes[feature];
+            if (code < 0 || code >= cardinalities[feature]) {
+                return -1;
+            }
+            node = children[childOffsets[node] + code];
+            if (node < 0) {
+                return -1;
+            }
+        }
+        return leafAnswers[node];
+    }
+
+    /**
+     * {@inheritDoc}
+     * This is the same as {@link #predictCode(int[]) predictCode()}.
+     */
+    @Override
+    public int classify(@NotNull int[] codes) {
+        return predictCode(codes);
+    }
+
+    /**
+     * Compiles this tree into the bytecode of a new class, whose nested switches
+     * the JIT can compile like any other code. Large subtrees are split out into
+     * methods of their own. If the class can't be defined on this JVM, or the tree
+     * is too large for one class, this tree is returned to interpret itself instead.
+     * <p>
+     * The compiled classifier is fastest when the rows it is given tend to follow
+     * the same paths through the tree. When their paths are random, each switch is
+     * a mispredicted branch, and interpreting the arrays can be faster.
+     *
+     * @return a classifier that predicts the same <i>final answer</i> codes as this tree
+     */
+    public @NotNull Classifier toClassifier() {
+
+        Classifier classifier = new ClassifierCompiler(
+                features, childOffsets, leafAnswers, children, cardinalities).compile();
+
+        return classifier == null ? this : classifier;
+    }
+
+    /**
+     * Gets the <i>final answer</i> of the given code.
+     *
+     * @param code a code returned by {@link #predictCode(int[]) predictCode()}
+     * @return the <i>final answer</i>, or null if the code is -1
+     */
+    public @Nullable A decode(int code) {
+        return code < 0 ? null : finalAnswers.decode(code);
+    }
+
+    /**
+     * Predicts the <i>final answer</i> for a row of data.
+     *
+     * @param answerOf a function that takes a <i>question</i> and returns the row's <i>answer</i> to it
+     * @return the <i>final answer</i>, or null if the row has an <i>answer</i> the tree doesn't branch on
+     */
+    public @Nullable A predict(@NotNull Function<? super Q, ? extends A> answerOf) {
+
+        int node = 0;
+        int feature;
+
+        while ((feature = features[node]) >= 0) {
+
+            int code = codeOf(feature, answerOf.apply(questions.get(feature)));
+            if (code < 0) {
+                return null;
+            }
+            node = children[childOffsets[node] + code];
+            if (node < 0) {
+                return null;
+            }
+        }
+        return finalAnswers.decode(leafAnswers[node]);
+    }
+
+    /**
+     * Creates a function that predicts the <i>final answer</i> for rows of a
+     * table, by index. Each feature's column is encoded, and each of its
+     * dictionary codes is translated to a code of this tree, once, here.
+     * Each prediction then only reads the rows' codes from primitive arrays.
+     *
+     * @param table          a table with a column for every <i>question</i> of this tree
+     * @param toQuestionFunc a function that takes the label of a column and returns a {@link Q}
+     * @param toAnswerFuncs  a map of column labels to functions that each take data from their column
+     *                       and return an {@link A}
+     * @return a function that takes a row index of {@code table} and
+     * returns its <i>final answer</i>, or null if it has none
+     *
+     * @throws IllegalArgumentException if {@code table} has no column for one of the <i>questions</i>
+     */
+    public @NotNull IntFunction<@Nullable A> toPredictor(
+            @NotNull DataTable table,
+            @NotNull Function<String, Q> toQuestionFunc,
+            @NotNull Map<String, Function<Object, A>> toAnswerFuncs)
+            throws IllegalArgumentException {
+
+        // find and encode the column of each feature...
+
+        Map<Q, DataTable.Column<?>> columnOf = new HashMap<>();
+        for (DataTable.Column<?> column : table.getColumns()) {
+            columnOf.put(toQuestionFunc.apply(column.getLabel()), column);
+        }
+
+        CodeArray[] columnCodes = new CodeArray[questions.size()];
+        int[][] translations = new int[questions.size()][];
+
+        for (int feature = 0; feature < questions.size(); feature++) {
+
+            DataTable.Column<?> column = columnOf.get(questions.get(feature));
+            if (column == null) {
+                throw new IllegalArgumentException(String.format(
+                        "table has no column for question '%s'", questions.get(feature)));
+            }
+
+            // translate each code of the column to a code of this tree...
+
+            EncodedColumn<?> encoded = column.toEncodedColumn();
+            Function<Object, A> toAnswerFunc = toAnswerFuncs.get(column.getLabel());
+            List<?> values = encoded.getDictionary().getValues();
+
+            translations[feature] = new int[values.size()];
+            for (int code = 0; code < values.size(); code++) {
+                translations[feature][code] = codeOf(feature, toAnswerFunc.apply(values.get(code)));
+            }
+            columnCodes[feature] = encoded.getCodes();
+        }
+
+        return row -> {
+
+            int node = 0;
+            int feature;
+
+            while ((feature = features[node]) >= 0) {
+
+                int code = translations[feature][columnCodes[feature].get(row)];
+                if (code < 0) {
+                    return null;
+                }
+                node = children[childOffsets[node] + code];
+                if (node < 0) {
+                    return null;
+                }
+            }
+            return finalAnswers.decode(leafAnswers[node]);
+        };
+    }
+
+    /**
+     * Creates a string representation of this tree.
+     *
+     * @return an informative, single-line string
+     */
+    @Override
+    public @NotNull String toString() {
+        return String.format("CompiledTree[nodes=%d, features=%d, finalAnswers=%d]",
+                features.length, questions.size(), finalAnswers.size());
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 8:49 AM
+ * PROJ: OracleMachineLearning
+ * FILE: ContingencyTable.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the ContingencyTable class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Represents a matrix of counts, with one row per distinct value of an
+ * <i>attribute</i> column and one column per distinct value of a
+ * <i>results</i> column. The matrix is filled in a single pass over
+ * the rows of both columns, after which the entropy and gain of the
+ * attribute are found from the integer counts alone.
+ *
+ * @author agent
+ * @see Tree.Algorithm#ID3_COUNTS
+ */
+public class ContingencyTable {
+
+    private final @NotNull List<Object> attrValues;
+    private final @NotNull List<Object> resultValues;
+    private final @NotNull int[] counts;
+    private final int numRows;
+
+    private ContingencyTable(
+            @NotNull List<Object> attrValues,
+            @NotNull List<Object> resultValues,
+            @NotNull int[] counts,
+            int numRows) {
+
+        this.attrValues = attrValues;
+        this.resultValues = resultValues;
+        this.counts = counts;
+        this.numRows = numRows;
+    }
+
+    /**
+     * Counts the co-occurrences of every value of an attribute column
+     * with every value of a results column.
+     *
+     * @param attrColumn   the column whose values form the rows of the matrix
+     * @param resultColumn the column whose values form the columns of the matrix
+     * @return a new contingency table
+     *
+     * @throws IllegalArgumentException if the columns' numbers of rows differ
+     */
+    public static @NotNull ContingencyTable of(
+            @NotNull DataTable.Column<?> attrColumn,
+            @NotNull DataTable.Column<?> resultColumn)
+            throws IllegalArgumentException {
+
+        int numRows = attrColumn.getNumRows();
+        if (numRows != resultColumn.getNumRows()) {
+            throw new IllegalArgumentException(String.format(
+                    "attrColumn and resultColumn row mismatch. (%d and %d)",
+                    numRows, resultColumn.getNumRows()));
+        }
+
+        List<Object> attrValues = new ArrayList<>();
+        List<Object> resultValues = new ArrayList<>();
+        IntUnaryOperator attrCodes = codesOf(attrColumn, attrValues);
+        IntUnaryOperator resultCodes = codesOf(resultColumn, resultValues);
+
+        // fill the matrix in one pass over the rows...
+
+        int numResults = resultValues.size();
+        int[] counts = new int[attrValues.size() * numResults];
+
+        byte[] attrBytes = byteCodesOf(attrColumn);
+        byte[] resultBytes = byteCodesOf(resultColumn);
+        if (attrBytes != null && resultBytes != null) {
+            CodeCounter.INSTANCE.countPairs(attrBytes, resultBytes, numRows,
+                    attrValues.size(), numResults, counts);
+            return new ContingencyTable(attrValues, resultValues, counts, numRows);
+        }
+
+        for (int i = 0; i < numRows; i++) {
+            counts[attrCodes.applyAsInt(i) * numResults + resultCodes.applyAsInt(i)]++;
+        }
+        return new ContingencyTable(attrValues, resultValues, counts, numRows);
+    }
+
+    /**
+     * Gets the number of rows that were counted.
+     *
+     * @return the sum of every count in the matrix
+     */
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * Gets the number of rows in which the given values occur together.
+     *
+     * @param attrValue   a value of the attribute column
+     * @param resultValue a value of the results column
+     * @return the number of co-occurrences, or 0 if either value never occurs
+     */
+    public int getCount(Object attrValue, Object resultValue) {
+
+        int a = attrValues.indexOf(attrValue);
+        int r = resultValues.indexOf(resultValue);
+        return (a < 0 || r < 0) ? 0 : counts[a * resultValues.size() + r];
+    }
+
+    /**
+     * Calculates the entropy of the results column. Each
+     * result is classified as either a success or not, first.
+     *
+     * @param successVals the result values that should count as a success
+     * @return a number between 0 (<i>no entropy</i>) and 1 (<i>maximum entropy</i>)
+     */
+    public double entropy(@NotNull Set<?> successVals) {
+
+        boolean[] successes = successes(successVals);
+        int numResults = resultValues.size();
+
+        int x = 0;
+        for (int a = 0; a < attrValues.size(); a++) {
+            for (int r = 0; r < numResults; r++) {
+                if (successes[r]) {
+                    x += counts[a * numResults + r];
+                }
+            }
+        }
+        return entropy(x, numRows);
+    }
+
+    /**
+     * Calculates the gain in entropy of the attribute column.
+     *
+     * @param systemEntropy the total entropy of the results column
+     * @param successVals   the result values that should count as a success
+     * @return the system entropy less the proportional entropy of each attribute outcome
+     */
+    public double gain(double systemEntropy, @NotNull Set<?> successVals) {
+
+        boolean[] successes = successes(successVals);
+        int numResults = resultValues.size();
+
+        for (int a = 0; a < attrValues.size(); a++) {
+
+            int x = 0;
+            int n = 0;
+            for (int r = 0; r < numResults; r++) {
+                int count = counts[a * numResults + r];
+                n += count;
+                if (successes[r]) {
+                    x += count;
+                }
+            }
+            if (n > 0) {
+                double px = n / (double) numRows;
+                systemEntropy -= (px * entropy(x, n));
+            }
+        }
+        return systemEntropy;
+    }
+
+    /**
+     * Calculates the entropy of a set of results from its counts.
+     * This matches {@link Tree.Algorithm#entropy Tree.Algorithm.entropy()}.
+     *
+     * @param successes the number of results that are a success
+     * @param total     the total number of results
+     * @return a number between 0 (<i>no entropy</i>) and 1 (<i>maximum entropy</i>)
+     */
+    public static double entropy(int successes, int total) {
+
+        double px = successes / (double) total;
+        double pk = 1.0 - px;
+
+        double result = (0 - (px * Math.log(px)) - (pk * Math.log(pk))) / Tree.Algorithm.LOG_2;
+
+        return Double.isNaN(result) ? 0 : result;  // logarithm domain
+    }
+
+    /**
+     * Creates a string representation of this table.
+     *
+     * @return an informative, single-line string
+     */
+    @Override
+    public @NotNull String toString() {
+        return String.format("ContingencyTable[rows=%d, attrValues=%d, resultValues=%d]",
+                numRows, attrValues.size(), resultValues.size());
+    }
+
+    private @NotNull boolean[] successes(@NotNull Set<?> successVals) {
+
+        boolean[] successes = new boolean[resultValues.size()];
+        for (int r = 0; r < successes.length; r++) {
+            successes[r] = successVals.contains(resultValues.get(r));
+        }
+        return successes;
+    }
+
+    /**
+     * Gets the codes of an encoded column, if they are held one byte each in an array,
+     * so they may be counted by a {@link CodeCounter} rather than one call at a time.
+     *
+     * @param column the column
+     * @return the column's codes, or null if it is not such a column, or is a view
+     */
+    private static @Nullable byte[] byteCodesOf(@NotNull DataTable.Column<?> column) {
+        return (column instanceof EncodedColumn)
+                ? ((EncodedColumn<?>) column).getCodes().getByteArray()
+                : null;
+    }
+
+    /**
+     * Gets a function from row index to a dense code for the value in that row.
+     * Encoded columns (and views of them) use their dictionary codes, while
+     * other columns are coded in the order of their {@link DataTable.Column#getValues()}.
+     *
+     * @param column the column to code
+     * @param values a list to receive the value of every code, in order
+     * @return a function that takes a row index and returns its code
+     */
+    static @NotNull IntUnaryOperator codesOf(
+            @NotNull DataTable.Column<?> column,
+            @NotNull List<Object> values) {
+
+        DataTable.Column<?> source = (column instanceof ViewColumn)
+                ? ((ViewColumn<?>) column).getParent()
+                : column;
+
+        if (source instanceof EncodedColumn) {
+
+            values.addAll(((EncodedColumn<?>) source).getDictionary().getValues());
+            CodeArray codes = ((EncodedColumn<?>) source).getCodes();
+
+            if (column instanceof ViewColumn) {
+                ViewColumn<?> view = (ViewColumn<?>) column;
+                return i -> codes.get(view.getParentIndex(i));
+            }
+            return codes::get;
+        }
+
+        Map<Object, Integer> codes = new HashMap<>();
+        for (Object value : column.getValues()) {
+            codes.put(value, values.size());
+            values.add(value);
+        }
+        return i -> codes.get(column.getRow(i));
+    }
+}
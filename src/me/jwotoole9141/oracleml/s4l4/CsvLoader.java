@@ -0,0 +1,1286 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:12 AM
+ * PROJ: OracleMachineLearning
+ * FILE: CsvLoader.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the CsvLoader class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loads a CSV file into a new {@link DataTable}, the same as
+ * {@link DataTable#fromCsvFile(File, DataTable.Storage, Function[])}, but
+ * without opencsv. The file is memory-mapped and its bytes are tokenized
+ * straight into the builders of the table's columns, so no line or row
+ * of strings is ever created. Repeated values in a column share one
+ * string. The file is read as UTF-8.
+ * <p>
+ * Given a pool, a loader splits the file into ranges of bytes and parses
+ * them in parallel. Each range is moved to the start of a row, using the
+ * quotes before it to tell whether it begins inside a quoted field. The
+ * ranges' rows are then gathered, in order, into the table's columns, with
+ * each column built and deserialized in parallel.
+ * <p>
+ * Given a schema, a loader parses the numeric columns straight from their
+ * bytes into arrays of primitives, rather than into strings. A loader may
+ * also infer the schema from a sample at the start of the file. If a later
+ * field does not fit its column's inferred type, the column is widened to
+ * a type that fits and the file is parsed again.
+ * <p>
+ * A loader may be given the labels of the columns to load and filters
+ * on the rows to load. The fields of other columns and of filtered out
+ * rows are skipped as they are tokenized, so they are never stored,
+ * parsed or deserialized. Only the fields that a filter looks at are
+ * parsed before it is known whether their row is kept.
+ * <p>
+ * A loader may also stream the file as a sequence of tables, each holding
+ * a fixed number of its rows. Only one chunk of rows is parsed at a time,
+ * so files larger than the heap may be read with constant memory.
+ * <p>
+ * A loader may instead read any input stream, such as standard input, and
+ * reads a file whose name ends in {@code .gz} as a gzipped stream. Since a
+ * stream can't be split, it is loaded by a {@link CsvPipeline}: reading and
+ * decompressing, tokenizing, and building columns each happen on their own
+ * thread, at the same time. Given a pool, the columns are built in parallel.
+ * <p>
+ * A loader is configured by chaining its {@code with} methods:
+ * <pre>{@code
+ * DataTable table = new CsvLoader(file)
+ *         .withStorage(DataTable.Storage.DICTIONARY)
+ *         .load();
+ * }</pre>
+ *
+ * @author agent
+ */
+public final class CsvLoader {
+
+    /**
+     * The fewest bytes of the file that a worker parses, when parsing in parallel.
+     */
+    static final long MIN_SPLIT_SIZE = 1L << 20;
+
+    /**
+     * The bytes at the start of the file that a schema is inferred from.
+     */
+    static final long SAMPLE_SIZE = 1L << 20;
+
+    /**
+     * The most distinct values that a sampled column of text may have to be a category.
+     */
+    static final int MAX_CATEGORIES = 1 << 12;
+
+    /**
+     * The bytes of the file that a stream tokenizes at a time.
+     */
+    static final long STREAM_BLOCK_SIZE = 1L << 16;
+
+    /**
+     * The most rows in each batch that a pipeline passes between its stages.
+     */
+    static final int BATCH_SIZE = 1 << 13;
+
+    private final @Nullable File file;
+    private final @Nullable InputStream input;
+    private final @NotNull String title;
+    private @Nullable byte[] sample;
+    private boolean consumed = false;
+
+    private @NotNull DataTable.Storage storage = DataTable.Storage.BOXED;
+    private @NotNull Function<String, Object>[] deserializers = newDeserializers(0);
+    private @NotNull ColumnType[] schema = new ColumnType[0];
+    private boolean inferring = false;
+    private @Nullable List<String> labels;
+    private final @NotNull Map<String, Predicate<Object>> rowFilters = new LinkedHashMap<>();
+    private @Nullable ForkJoinPool pool;
+
+    /**
+     * Creates a loader for a CSV file. A file whose name ends
+     * in {@code .gz} is decompressed as it is read.
+     *
+     * @param file the CSV file to read
+     */
+    public CsvLoader(@NotNull File file) {
+        this.file = file;
+        this.input = null;
+        this.title = file.getName();
+    }
+
+    /**
+     * Creates a loader for a CSV stream. The stream can only be read once,
+     * so an inferred schema can't be widened by reading it again, and a
+     * field that doesn't fit it is an error. The stream is not closed.
+     *
+     * @param input the CSV stream to read
+     * @param title the title of the loaded table
+     */
+    public CsvLoader(@NotNull InputStream input, @NotNull String title) {
+        this.file = null;
+        this.input = input;
+        this.title = title;
+    }
+
+    /**
+     * Sets how the columns of the loaded table store their rows.
+     * By default, they are {@link DataTable.Storage#BOXED}.
+     *
+     * @param storage how the columns store their rows
+     * @return this loader
+     */
+    public @NotNull CsvLoader withStorage(@NotNull DataTable.Storage storage) {
+        this.storage = storage;
+        return this;
+    }
+
+    /**
+     * Sets the functions that deserialize the data of each column.
+     * By default, all data simply remains a string.
+     *
+     * @param deserializers an array of functions, one per column, that each take
+     *                      a string and deserialize it into the desired data type
+     * @return this loader
+     */
+    @SafeVarargs  // 'deserializers' array is only accessed
+    public final @NotNull CsvLoader withDeserializers(@NotNull Function<String, Object>... deserializers) {
+
+        // copy the functions one at a time, so the array itself is never kept...
+
+        this.deserializers = newDeserializers(deserializers.length);
+        for (int c = 0; c < deserializers.length; c++) {
+            this.deserializers[c] = deserializers[c];
+        }
+        return this;
+    }
+
+    /**
+     * Sets the type of each column. A column of numbers is parsed into a
+     * {@link NumericColumn}, and a column of strings is stored in the loader's
+     * storage and deserialized by its deserializer. By default, every column
+     * is a column of strings.
+     *
+     * @param schema an array of types, one per column
+     * @return this loader
+     */
+    public @NotNull CsvLoader withSchema(@NotNull ColumnType... schema) {
+        this.schema = schema.clone();
+        this.inferring = false;
+        return this;
+    }
+
+    /**
+     * Sets the loader to infer the type of each column, as by {@link #inferSchema()},
+     * when it loads the file. This replaces any schema that was set.
+     *
+     * @return this loader
+     */
+    public @NotNull CsvLoader withInferredSchema() {
+        this.schema = new ColumnType[0];
+        this.inferring = true;
+        return this;
+    }
+
+    /**
+     * Sets the labels of the columns to load, in the order that the table should
+     * hold them. The fields of other columns are skipped. By default, every
+     * column is loaded. Deserializers and types are still given one per column
+     * of the file.
+     *
+     * @param labels the labels of the columns to load
+     * @return this loader
+     *
+     * @throws IllegalArgumentException if a label is given more than once
+     */
+    public @NotNull CsvLoader withColumns(@NotNull String... labels) throws IllegalArgumentException {
+
+        Set<String> seen = new HashSet<>();
+        for (String label : labels) {
+            if (!seen.add(label)) {
+                throw new IllegalArgumentException("duplicate column: " + label);
+            }
+        }
+        this.labels = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(labels)));
+        return this;
+    }
+
+    /**
+     * Adds a filter on the rows to load. The filter is given the value in its
+     * column of each row, as the column would hold it, and the row is skipped
+     * unless every filter returns true. The column need not be one that is loaded.
+     *
+     * @param label     the label of the column whose data will supply the filter
+     * @param rowFilter a function that takes the data of a row in the column and
+     *                  returns true if that row should be loaded
+     * @param <T>       the type of data held by the column
+     * @return this loader
+     * @see DataTable#toSubTable(DataTable.Column, Predicate)
+     */
+    @SuppressWarnings("unchecked")  // the filter is only given the column's data
+    public <T> @NotNull CsvLoader withRowFilter(@NotNull String label, @NotNull Predicate<T> rowFilter) {
+        rowFilters.merge(label, (Predicate<Object>) rowFilter, Predicate::and);
+        return this;
+    }
+
+    /**
+     * Sets the pool that parses the file in parallel.
+     * By default, the file is parsed on the calling thread.
+     *
+     * @param pool the pool to parse with, or null to parse on the calling thread
+     * @return this loader
+     */
+    public @NotNull CsvLoader withPool(@Nullable ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Loads the CSV file into a new data table.
+     *
+     * @return a new table representing the CSV file's data
+     *
+     * @throws IOException              if the file could not be found or read
+     * @throws IllegalArgumentException if the file contained invalid CSV OR if the
+     *                                  number of deserializers is not zero but does
+     *                                  not match the number of columns OR if the
+     *                                  number of columns per line do not all match OR
+     *                                  if the number of types is not zero but does
+     *                                  not match the number of columns OR if no
+     *                                  column has a label given to a {@code with} method
+     * @throws NumberFormatException    if a field of a numeric column is not a number
+     * @throws IllegalStateException    if the loader's stream was already read
+     */
+    public @NotNull DataTable load() throws IOException, IllegalArgumentException {
+
+        ColumnType[] types = inferring ? inferSchema() : schema;
+
+        while (true) {
+            try {
+                return isMapped() ? load(MappedFile.map(file), types) : loadPipelined(types);
+            }
+            catch (TypeMismatch e) {
+
+                // a field past the sample needs a wider type, so parse again with it...
+
+                types[e.column] = e.type;
+            }
+        }
+    }
+
+    /**
+     * Reads the CSV file as a sequence of new data tables, each holding the next
+     * {@code chunkSize} rows of the file, except the last, which holds the rest.
+     * The file is read as the iterator advances, on the thread advancing it,
+     * so only about one chunk of rows is held in memory at a time.
+     * <p>
+     * Every chunk has the same columns. The columns of text that are
+     * dictionary-encoded share one dictionary per column across all chunks,
+     * so their codes mean the same in every chunk. The dictionaries grow as
+     * chunks are read, so chunks must not be read by other threads while the
+     * iterator advances. The pool, if any, is not used. An inferred schema is
+     * inferred once, and a later field that doesn't fit it is an error. A gzipped
+     * file is closed once the iterator reaches its end.
+     *
+     * @param chunkSize the number of rows in each chunk
+     * @return an iterator over chunks of the file
+     *
+     * @throws IOException              if the file could not be found or read
+     * @throws IllegalArgumentException if the chunk size is not positive OR if the file
+     *                                  was empty OR if the number of deserializers or
+     *                                  types is not zero but does not match the number
+     *                                  of columns OR if no column has a label given to
+     *                                  a {@code with} method. The iterator may also throw
+     *                                  this if the file contains invalid CSV, if the number
+     *                                  of columns per line do not all match, or if a field
+     *                                  does not fit its column's type.
+     * @see #stream(int)
+     */
+    public @NotNull Iterator<DataTable> iterator(int chunkSize) throws IOException, IllegalArgumentException {
+
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid chunk size of %d rows.", chunkSize));
+        }
+        ColumnType[] types = inferring ? inferSchema() : schema;
+        return new ChunkIterator(openReader(), types, chunkSize);
+    }
+
+    /**
+     * Reads the CSV file as a sequential, ordered stream of new data tables,
+     * each holding the next {@code chunkSize} rows of the file.
+     *
+     * @param chunkSize the number of rows in each chunk
+     * @return a stream of chunks of the file
+     *
+     * @throws IOException              if the file could not be found or read
+     * @throws IllegalArgumentException as described by {@link #iterator(int)}
+     * @see #iterator(int)
+     */
+    public @NotNull Stream<DataTable> stream(int chunkSize) throws IOException, IllegalArgumentException {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(chunkSize),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Infers the type of each column from a sample of the rows at the start of the
+     * file. A column's type is the narrowest that fits every sampled field, where
+     * whole numbers with a leading zero and empty fields are text. Text with few
+     * distinct values, and at least two sampled rows per value, is a category.
+     *
+     * @return an array of types, one per column
+     *
+     * @throws IOException              if the file could not be found or read
+     * @throws IllegalArgumentException if the file was empty
+     * @see ColumnType#widen(ColumnType)
+     */
+    public @NotNull ColumnType[] inferSchema() throws IOException, IllegalArgumentException {
+
+        // tokenize the sample, only finishing its last row if the sample is the whole file...
+
+        byte[] bytes = readSample();
+        SampleSink sink = new SampleSink();
+        CsvTokenizer tokenizer = new CsvTokenizer(sink);
+        tokenizer.feed(bytes, 0, bytes.length);
+
+        if (bytes.length < SAMPLE_SIZE) {
+            tokenizer.finish();
+        }
+        return sink.toSchema();
+    }
+
+    /**
+     * Creates a string representation of this loader.
+     *
+     * @return an informative, single-line string
+     */
+    @Override
+    public @NotNull String toString() {
+        return String.format("CsvLoader[source=%s, storage=%s, deserializers=%d, schema=%s, "
+                        + "columns=%s, rowFilters=%s, parallel=%b]",
+                (file == null) ? title : file, storage, deserializers.length, inferring ? "inferred" : schema.length,
+                (labels == null) ? "all" : labels, rowFilters.keySet(), pool != null);
+    }
+
+    private boolean isMapped() {
+        return file != null && !file.getName().endsWith(".gz");
+    }
+
+    private @NotNull InputStream openStream() throws IOException {
+
+        if (file != null) {
+            return new GZIPInputStream(new FileInputStream(file), 1 << 16);
+        }
+        if (consumed) {
+            throw new IllegalStateException("The CSV stream was already read.");
+        }
+        consumed = true;
+
+        // the sample, if any, was already read from the stream, so it is read again first...
+
+        return (sample == null) ? input : new SequenceInputStream(new ByteArrayInputStream(sample), input);
+    }
+
+    private @NotNull byte[] readSample() throws IOException {
+
+        if (isMapped()) {
+            MappedFile mapped = MappedFile.map(file);
+            ByteBuffer bytes = ByteBuffer.allocate((int) Math.min(mapped.size(), SAMPLE_SIZE));
+            mapped.read(0, bytes.capacity(), bytes::put);
+            return bytes.array();
+        }
+        if (file != null) {
+            try (InputStream in = openStream()) {
+                return readFully(in, (int) SAMPLE_SIZE);
+            }
+        }
+        if (sample == null) {
+            if (consumed) {
+                throw new IllegalStateException("The CSV stream was already read.");
+            }
+            sample = readFully(input, (int) SAMPLE_SIZE);
+        }
+        return sample;
+    }
+
+    private static @NotNull byte[] readFully(@NotNull InputStream in, int maxLength) throws IOException {
+
+        byte[] bytes = new byte[maxLength];
+        int length = 0;
+        int count;
+        while (length < maxLength && (count = in.read(bytes, length, maxLength - length)) >= 0) {
+            length += count;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+
+    private @NotNull BlockReader openReader() throws IOException {
+
+        if (isMapped()) {
+            MappedFile mapped = MappedFile.map(file);
+            long[] position = { 0 };
+            return tokenizer -> {
+                if (position[0] >= mapped.size()) {
+                    return false;
+                }
+                long end = Math.min(mapped.size(), position[0] + STREAM_BLOCK_SIZE);
+                mapped.read(position[0], end, tokenizer::feed);
+                position[0] = end;
+                return true;
+            };
+        }
+
+        InputStream in = openStream();
+        byte[] block = new byte[(int) STREAM_BLOCK_SIZE];
+        return tokenizer -> {
+            int count = in.read(block);
+            if (count < 0) {
+                if (file != null) {
+                    in.close();
+                }
+                return false;
+            }
+            tokenizer.feed(block, 0, count);
+            return true;
+        };
+    }
+
+    private @NotNull HeaderSink readHeader(@NotNull MappedFile mapped) {
+
+        // read the header one row at a time, so that the rows start where it ends...
+
+        HeaderSink header = new HeaderSink();
+        CsvTokenizer tokenizer = new CsvTokenizer(header);
+
+        while (header.labels == null && header.end < mapped.size()) {
+            long end = CsvTokenizer.endOfRow(mapped, header.end, false);
+            mapped.read(header.end, end, tokenizer::feed);
+            header.end = end;
+        }
+        if (header.labels == null) {
+            tokenizer.finish();
+        }
+        if (header.labels == null) {
+            throw new IllegalArgumentException("CSV was empty.");
+        }
+        return header;
+    }
+
+    private @NotNull DataTable load(@NotNull MappedFile mapped, @NotNull ColumnType[] types) {
+
+        HeaderSink header = readHeader(mapped);
+        Projection projection = new Projection(header.labels, types, inferring);
+
+        return (pool == null)
+                ? loadRows(mapped, header.end, projection)
+                : loadSplits(mapped, header.end, pool, projection);
+    }
+
+    private @NotNull DataTable loadRows(@NotNull MappedFile mapped, long start, @NotNull Projection projection) {
+
+        TableSink sink = new TableSink(projection);
+        CsvTokenizer tokenizer = new CsvTokenizer(sink);
+
+        mapped.read(start, mapped.size(), tokenizer::feed);
+        tokenizer.finish();
+
+        // parse columns...
+
+        List<DataTable.Column<?>> columns = new ArrayList<>();
+        for (FieldParser parser : sink.parsers) {
+            columns.add(parser.build());
+        }
+        return new DataTable(title, columns);
+    }
+
+    private @NotNull DataTable loadSplits(
+            @NotNull MappedFile mapped, long start, @NotNull ForkJoinPool pool, @NotNull Projection projection) {
+
+        long size = mapped.size();
+
+        // split the rows of the file, and count the quotes in each split...
+
+        int numSplits = (int) Math.max(1, Math.min(
+                pool.getParallelism() * 4L, (size - start) / MIN_SPLIT_SIZE));
+
+        long[] bounds = new long[numSplits + 1];
+        for (int i = 0; i <= numSplits; i++) {
+            bounds[i] = start + (size - start) * i / numSplits;
+        }
+
+        List<ForkJoinTask<Long>> quoteCounts = new ArrayList<>();
+        for (int i = 0; i < numSplits - 1; i++) {
+            long from = bounds[i];
+            long to = bounds[i + 1];
+            quoteCounts.add(pool.submit(() -> CsvTokenizer.countQuotes(mapped, from, to)));
+        }
+
+        // move each split forward to the start of a row...
+
+        long[] rows = new long[numSplits + 1];
+        rows[0] = start;
+        rows[numSplits] = size;
+
+        boolean inQuotes = false;
+        for (int i = 1; i < numSplits; i++) {
+            inQuotes ^= (join(quoteCounts.get(i - 1)) & 1) == 1;
+            rows[i] = CsvTokenizer.nextRow(mapped, bounds[i], inQuotes);
+        }
+
+        // parse each split's rows into chunks of columns...
+
+        List<ForkJoinTask<List<String>[]>> chunks = new ArrayList<>();
+        for (int i = 0; i < numSplits; i++) {
+            long from = rows[i];
+            long to = rows[i + 1];
+            chunks.add(pool.submit(() -> {
+                ChunkSink chunk = new ChunkSink(projection);
+                CsvTokenizer splitTokenizer = new CsvTokenizer(chunk);
+                mapped.read(from, to, splitTokenizer::feed);
+                splitTokenizer.finish();
+                return chunk.columns;
+            }));
+        }
+
+        // concatenate the chunks of each column, in order, and parse them...
+
+        FieldParser[] parsers = projection.newParsers();
+        List<ForkJoinTask<DataTable.Column<?>>> columnTasks = new ArrayList<>();
+        for (FieldParser parser : parsers) {
+            int index = columnTasks.size();
+            columnTasks.add(pool.submit(() -> {
+                for (ForkJoinTask<List<String>[]> chunk : chunks) {
+                    for (String value : join(chunk)[index]) {
+                        try {
+                            parser.add(value);
+                        }
+                        catch (IllegalArgumentException e) {
+                            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                            throw projection.mismatch(projection.columns[index], bytes, bytes.length, e);
+                        }
+                    }
+                }
+                return parser.build();
+            }));
+        }
+
+        List<DataTable.Column<?>> columns = new ArrayList<>();
+        for (ForkJoinTask<DataTable.Column<?>> columnTask : columnTasks) {
+            columns.add(join(columnTask));
+        }
+        return new DataTable(title, columns);
+    }
+
+    private @NotNull DataTable loadPipelined(@NotNull ColumnType[] types) throws IOException {
+
+        // a gzipped file can be read again, so its inferred types may be widened...
+
+        InputStream in = openStream();
+        CsvPipeline<FieldBatch> pipeline = new CsvPipeline<>(in);
+        RowsAfterHeader<BatchSink> sink = new RowsAfterHeader<>(types, inferring && file != null,
+                projection -> new BatchSink(projection, pipeline::put));
+
+        pipeline.start(sink, () -> {
+            if (sink.rows != null) {
+                sink.rows.flush();
+            }
+        });
+
+        try {
+
+            // build the columns from each batch, as the other stages parse the next ones...
+
+            FieldParser[] parsers = null;
+            for (FieldBatch batch = pipeline.take(); batch != null; batch = pipeline.take()) {
+                if (parsers == null) {
+                    parsers = batch.projection.newParsers();
+                }
+                batch.addTo(parsers, pool);
+            }
+            if (parsers == null) {
+                throw new IllegalArgumentException("CSV was empty.");
+            }
+
+            List<DataTable.Column<?>> columns = new ArrayList<>();
+            for (FieldParser parser : parsers) {
+                columns.add(parser.build());
+            }
+            return new DataTable(title, columns);
+        }
+        finally {
+            pipeline.close();
+            if (file != null) {
+                in.close();
+            }
+        }
+    }
+
+    private static <T> T join(@NotNull ForkJoinTask<T> task) {
+
+        try {
+            return task.join();
+        }
+        catch (RuntimeException e) {
+
+            // rethrow a worker's exception as itself, not as the copy made for this thread...
+
+            if (e.getCause() != null && e.getCause().getClass() == e.getClass()) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")  // an array of functions holds only nulls until they are set
+    private static @NotNull Function<String, Object>[] newDeserializers(int length) {
+        return (Function<String, Object>[]) new Function<?, ?>[length];
+    }
+
+    /**
+     * Maps the columns of the file to the columns of the table, and
+     * holds the type, deserializer and row filter of each column.
+     */
+    private final class Projection {
+
+        private final @NotNull List<String> labels = new ArrayList<>();
+        private final @NotNull int[] columns;
+        private final @NotNull int[] slots;
+        private final @NotNull Predicate<Object>[] filters;
+        private final @NotNull ColumnType[] types;
+        private final boolean filtered;
+        private final boolean widening;
+
+        @SuppressWarnings("unchecked")
+        private Projection(@NotNull List<String> header, @NotNull ColumnType[] types, boolean widening) {
+
+            this.types = types;
+            this.widening = widening;
+
+            // ensure the number of deserializers and types, if any, match the number of columns...
+
+            if (deserializers.length > 0 && (deserializers.length != header.size())) {
+                throw new IllegalArgumentException(String.format(
+                        "Mismatch in number of columns and deserializers. (%d and %d)",
+                        header.size(), deserializers.length));
+            }
+            if (types.length > 0 && (types.length != header.size())) {
+                throw new IllegalArgumentException(String.format(
+                        "Mismatch in number of columns and types. (%d and %d)",
+                        header.size(), types.length));
+            }
+
+            // find the file column of each table column, and the reverse...
+
+            List<String> wanted = (CsvLoader.this.labels == null) ? header : CsvLoader.this.labels;
+            columns = new int[wanted.size()];
+            slots = new int[header.size()];
+            Arrays.fill(slots, -1);
+
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = indexOf(header, wanted.get(i));
+                slots[columns[i]] = i;
+                labels.add(wanted.get(i));
+            }
+
+            // find the filters of each file column...
+
+            filters = (Predicate<Object>[]) new Predicate<?>[header.size()];
+            for (Map.Entry<String, Predicate<Object>> rowFilter : rowFilters.entrySet()) {
+                filters[indexOf(header, rowFilter.getKey())] = rowFilter.getValue();
+            }
+            filtered = !rowFilters.isEmpty();
+        }
+
+        private int width() {
+            return slots.length;
+        }
+
+        private @NotNull FieldParser[] newParsers() {
+
+            FieldParser[] parsers = new FieldParser[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                int column = columns[i];
+                parsers[i] = typeOf(column).newParser(labels.get(i), storage,
+                        deserializers.length == 0 ? null : deserializers[column]);
+            }
+            return parsers;
+        }
+
+        private boolean accepts(int column, @NotNull byte[] bytes, int length) {
+
+            Predicate<Object> filter = filters[column];
+            if (filter == null) {
+                return true;
+            }
+
+            // give the filter the value that the column would hold...
+
+            String text = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            ColumnType type = typeOf(column);
+            try {
+                Object value = (type == ColumnType.STRING || type == ColumnType.CATEGORY)
+                        ? (deserializers.length == 0 ? text : deserializers[column].apply(text))
+                        : type.parse(text);
+                return filter.test(value);
+            }
+            catch (IllegalArgumentException e) {
+                throw mismatch(column, bytes, length, e);
+            }
+        }
+
+        private @NotNull RuntimeException mismatch(
+                int column, @NotNull byte[] bytes, int length, @NotNull RuntimeException e) {
+
+            // only an inferred type may be widened, and only if widening changes it...
+
+            if (!widening) {
+                return e;
+            }
+            ColumnType wider = types[column].widen(ColumnType.of(bytes, length));
+            return (wider == types[column]) ? e : new TypeMismatch(column, wider);
+        }
+
+        private @NotNull ColumnType typeOf(int column) {
+            return (types.length == 0) ? ColumnType.STRING : types[column];
+        }
+
+        private int indexOf(@NotNull List<String> header, @NotNull String label) {
+
+            int index = header.indexOf(label);
+            if (index < 0) {
+                throw new IllegalArgumentException(String.format(
+                        "No column with label '%s'", label));
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Passes the fields of the table's columns on, skipping the
+     * fields of other columns and every field of a filtered out row.
+     * A filtered row's fields are held until all of its filters pass.
+     */
+    private abstract static class ProjectingSink implements CsvTokenizer.Sink {
+
+        final @NotNull Projection projection;
+
+        private final @NotNull byte[][] held;
+        private final @NotNull int[] heldLengths;
+        private boolean rejected = false;
+
+        ProjectingSink(@NotNull Projection projection) {
+
+            this.projection = projection;
+            this.held = new byte[projection.columns.length][];
+            this.heldLengths = new int[projection.columns.length];
+        }
+
+        /**
+         * Receives a field of one of the table's columns.
+         *
+         * @param slot   the index of the table's column
+         * @param bytes  an array holding the field's unquoted bytes,
+         *               which is reused once this returns
+         * @param length the number of bytes in the field
+         */
+        abstract void emit(int slot, @NotNull byte[] bytes, int length);
+
+        /**
+         * Receives the end of a row whose fields were all emitted.
+         */
+        void endEmit() {
+        }
+
+        @Override
+        public final void field(int index, @NotNull byte[] bytes, int length) {
+
+            if (index >= projection.width()) {
+                return;  /* the row is too wide, which endRow() reports */
+            }
+            int slot = projection.slots[index];
+            if (!projection.filtered) {
+                if (slot >= 0) {
+                    emit(slot, bytes, length);
+                }
+                return;
+            }
+
+            // hold the row's fields until its filters are done with...
+
+            if (rejected || !projection.accepts(index, bytes, length)) {
+                rejected = true;
+                return;
+            }
+            if (slot >= 0) {
+                if (held[slot] == null || held[slot].length < length) {
+                    held[slot] = new byte[Math.max(16, length * 2)];
+                }
+                System.arraycopy(bytes, 0, held[slot], 0, length);
+                heldLengths[slot] = length;
+            }
+        }
+
+        @Override
+        public final void endRow(int numFields) {
+
+            if (numFields != projection.width()) {
+                throw new IllegalArgumentException(String.format(
+                        "Mismatch in number of columns and width of row (%d and %d).",
+                        numFields, projection.width()));
+            }
+            if (!projection.filtered) {
+                endEmit();
+                return;
+            }
+            if (!rejected) {
+                for (int slot = 0; slot < held.length; slot++) {
+                    emit(slot, held[slot], heldLengths[slot]);
+                }
+                endEmit();
+            }
+            rejected = false;
+        }
+    }
+
+    /**
+     * Adds the rows of the file to the parsers of the table's columns.
+     */
+    private static class TableSink extends ProjectingSink {
+
+        final @NotNull FieldParser[] parsers;
+
+        private TableSink(@NotNull Projection projection) {
+            super(projection);
+            this.parsers = projection.newParsers();
+        }
+
+        @Override
+        void emit(int slot, @NotNull byte[] bytes, int length) {
+
+            try {
+                parsers[slot].add(bytes, length);
+            }
+            catch (IllegalArgumentException e) {
+                throw projection.mismatch(projection.columns[slot], bytes, length, e);
+            }
+        }
+    }
+
+    /**
+     * Adds the rows of the file to the parsers of the table's columns, and
+     * builds a chunk of the table every time that they have enough rows.
+     */
+    private static final class ChunkingSink extends TableSink {
+
+        private final @NotNull String title;
+        private final int chunkSize;
+        private final @NotNull Queue<DataTable> chunks = new ArrayDeque<>();
+        private int numRows = 0;
+
+        private ChunkingSink(@NotNull Projection projection, @NotNull String title, int chunkSize) {
+            super(projection);
+            this.title = title;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        void endEmit() {
+            if (++numRows == chunkSize) {
+                endChunk();
+            }
+        }
+
+        private void endChunk() {
+
+            if (numRows == 0) {
+                return;
+            }
+
+            // build the chunk, and start the next one with the same dictionaries...
+
+            List<DataTable.Column<?>> columns = new ArrayList<>();
+            for (FieldParser parser : parsers) {
+                columns.add(parser.build());
+                parser.reset();
+            }
+            chunks.add(new DataTable(title, columns));
+            numRows = 0;
+        }
+    }
+
+    /**
+     * Tokenizes the file a block at a time, until a chunk of the table is built.
+     */
+    private final class ChunkIterator implements Iterator<DataTable> {
+
+        private final @NotNull BlockReader reader;
+        private final @NotNull RowsAfterHeader<ChunkingSink> sink;
+        private final @NotNull CsvTokenizer tokenizer;
+        private boolean finished = false;
+
+        private ChunkIterator(@NotNull BlockReader reader, @NotNull ColumnType[] types, int chunkSize)
+                throws IOException, IllegalArgumentException {
+
+            this.reader = reader;
+            this.sink = new RowsAfterHeader<>(types, false,
+                    projection -> new ChunkingSink(projection, title, chunkSize));
+            this.tokenizer = new CsvTokenizer(sink);
+
+            // read as far as the header, so that a missing column is found now...
+
+            while (sink.rows == null && !finished) {
+                advance();
+            }
+            if (sink.rows == null) {
+                throw new IllegalArgumentException("CSV was empty.");
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            try {
+                while (sink.rows.chunks.isEmpty() && !finished) {
+                    advance();
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return !sink.rows.chunks.isEmpty();
+        }
+
+        @Override
+        public @NotNull DataTable next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return sink.rows.chunks.remove();
+        }
+
+        private void advance() throws IOException {
+
+            if (!reader.feed(tokenizer)) {
+                tokenizer.finish();
+                if (sink.rows != null) {
+                    sink.rows.endChunk();
+                }
+                finished = true;
+            }
+        }
+    }
+
+    /**
+     * Feeds the next block of a file or stream to a tokenizer.
+     */
+    private interface BlockReader {
+
+        boolean feed(@NotNull CsvTokenizer tokenizer) throws IOException;
+    }
+
+    /**
+     * Reads the header from the first row of tokens, and then passes every
+     * following row to a sink created from the header's projection.
+     *
+     * @param <S> the type of the sink of the rows
+     */
+    private final class RowsAfterHeader<S extends ProjectingSink> implements CsvTokenizer.Sink {
+
+        private final @NotNull HeaderSink header = new HeaderSink();
+        private final @NotNull ColumnType[] types;
+        private final boolean widening;
+        private final @NotNull Function<Projection, S> newRows;
+        private volatile @Nullable S rows;
+
+        private RowsAfterHeader(
+                @NotNull ColumnType[] types, boolean widening, @NotNull Function<Projection, S> newRows) {
+
+            this.types = types;
+            this.widening = widening;
+            this.newRows = newRows;
+        }
+
+        @Override
+        public void field(int index, @NotNull byte[] bytes, int length) {
+            if (rows == null) {
+                header.field(index, bytes, length);
+            }
+            else {
+                rows.field(index, bytes, length);
+            }
+        }
+
+        @Override
+        public void endRow(int numFields) {
+            if (rows == null) {
+                header.endRow(numFields);
+                rows = newRows.apply(new Projection(header.labels, types, widening));
+            }
+            else {
+                rows.endRow(numFields);
+            }
+        }
+    }
+
+    /**
+     * Passes the rows of the file on to a pipeline in batches.
+     */
+    private static final class BatchSink extends ProjectingSink {
+
+        private final @NotNull Consumer<FieldBatch> batches;
+        private @NotNull FieldBatch batch;
+
+        private BatchSink(@NotNull Projection projection, @NotNull Consumer<FieldBatch> batches) {
+            super(projection);
+            this.batches = batches;
+            this.batch = new FieldBatch(projection);
+        }
+
+        @Override
+        void emit(int slot, @NotNull byte[] bytes, int length) {
+            batch.add(slot, bytes, length);
+        }
+
+        @Override
+        void endEmit() {
+            if (++batch.numRows == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            batches.accept(batch);
+            batch = new FieldBatch(projection);
+        }
+    }
+
+    /**
+     * Holds the fields of a batch of rows, each column's packed into one array.
+     */
+    private static final class FieldBatch {
+
+        private final @NotNull Projection projection;
+        private final @NotNull byte[][] fields;
+        private final @NotNull int[][] ends;
+        private int numRows = 0;
+
+        private FieldBatch(@NotNull Projection projection) {
+
+            this.projection = projection;
+            int numColumns = projection.columns.length;
+            this.fields = new byte[numColumns][256];
+            this.ends = new int[numColumns][16];
+        }
+
+        private void add(int slot, @NotNull byte[] bytes, int length) {
+
+            int start = (numRows == 0) ? 0 : ends[slot][numRows - 1];
+            if (fields[slot].length < start + length) {
+                fields[slot] = Arrays.copyOf(fields[slot], Math.max(fields[slot].length * 2, start + length));
+            }
+            if (ends[slot].length == numRows) {
+                ends[slot] = Arrays.copyOf(ends[slot], numRows * 2);
+            }
+            System.arraycopy(bytes, 0, fields[slot], start, length);
+            ends[slot][numRows] = start + length;
+        }
+
+        private void addTo(@NotNull FieldParser[] parsers, @Nullable ForkJoinPool pool) {
+
+            if (pool == null) {
+                for (int slot = 0; slot < parsers.length; slot++) {
+                    addTo(slot, parsers[slot]);
+                }
+                return;
+            }
+
+            // each column is parsed in order, but the columns are parsed in parallel...
+
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int slot = 0; slot < parsers.length; slot++) {
+                int index = slot;
+                tasks.add(pool.submit(() -> addTo(index, parsers[index])));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                join(task);
+            }
+        }
+
+        private void addTo(int slot, @NotNull FieldParser parser) {
+
+            byte[] field = new byte[64];
+            int start = 0;
+            for (int row = 0; row < numRows; row++) {
+                int end = ends[slot][row];
+                int length = end - start;
+                if (field.length < length) {
+                    field = new byte[length * 2];
+                }
+                System.arraycopy(fields[slot], start, field, 0, length);
+                try {
+                    parser.add(field, length);
+                }
+                catch (IllegalArgumentException e) {
+                    throw projection.mismatch(projection.columns[slot], field, length, e);
+                }
+                start = end;
+            }
+        }
+    }
+
+    /**
+     * Reads the header from the first row of tokens.
+     */
+    private static final class HeaderSink implements CsvTokenizer.Sink {
+
+        private final @NotNull List<String> fields = new ArrayList<>();
+        private @Nullable List<String> labels;
+        private long end = 0;
+
+        @Override
+        public void field(int index, @NotNull byte[] bytes, int length) {
+            fields.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void endRow(int numFields) {
+            labels = fields;
+        }
+    }
+
+    /**
+     * Reads the header from the first row of tokens, and narrows
+     * the type of each column to fit every following row.
+     */
+    private static final class SampleSink implements CsvTokenizer.Sink {
+
+        private final @NotNull List<String> header = new ArrayList<>();
+
+        private @Nullable ColumnType[] types;
+        private @Nullable List<Set<String>> distinct;
+        private int numRows = 0;
+
+        @Override
+        public void field(int index, @NotNull byte[] bytes, int length) {
+
+            if (types == null) {
+                header.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+                return;
+            }
+            if (index >= types.length) {
+                return;  /* the row is too wide, which loading reports */
+            }
+
+            // once a column is text, its fields only need counting...
+
+            if (types[index] != ColumnType.STRING) {
+                ColumnType type = ColumnType.of(bytes, length);
+                types[index] = (types[index] == null) ? type : types[index].widen(type);
+            }
+            Set<String> values = distinct.get(index);
+            if (values != null) {
+                values.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+                if (values.size() > MAX_CATEGORIES) {
+                    distinct.set(index, null);
+                }
+            }
+        }
+
+        @Override
+        public void endRow(int numFields) {
+
+            if (types == null) {
+                types = new ColumnType[header.size()];
+                distinct = new ArrayList<>();
+                for (int i = 0; i < header.size(); i++) {
+                    distinct.add(new HashSet<>());
+                }
+                return;
+            }
+            numRows++;
+        }
+
+        private @NotNull ColumnType[] toSchema() {
+
+            if (types == null) {
+                throw new IllegalArgumentException("CSV was empty.");
+            }
+
+            // columns without sampled rows stay text, and text with few values is a category...
+
+            ColumnType[] schema = new ColumnType[types.length];
+            for (int i = 0; i < types.length; i++) {
+                Set<String> values = distinct.get(i);
+                ColumnType type = (types[i] == null) ? ColumnType.STRING : types[i];
+
+                schema[i] = (type == ColumnType.STRING && values != null
+                        && !values.isEmpty() && values.size() * 2 <= numRows)
+                        ? ColumnType.CATEGORY
+                        : type;
+            }
+            return schema;
+        }
+    }
+
+    /**
+     * Thrown when a field does not fit its column's inferred type,
+     * to load the file again with the column widened.
+     */
+    @SuppressWarnings("serial")  // only thrown and caught within a load, and never serialized
+    private static final class TypeMismatch extends RuntimeException {
+
+        private final int column;
+        private final @NotNull ColumnType type;
+
+        private TypeMismatch(int column, @NotNull ColumnType type) {
+            super(null, null, false, false);
+            this.column = column;
+            this.type = type;
+        }
+    }
+
+    /**
+     * Collects the rows of one split of the file as strings, column by column.
+     */
+    private static final class ChunkSink extends ProjectingSink {
+
+        private final @NotNull List<String>[] columns;
+        private final @NotNull StringPool[] pools;
+
+        @SuppressWarnings("unchecked")
+        private ChunkSink(@NotNull Projection projection) {
+
+            super(projection);
+            int numColumns = projection.columns.length;
+            columns = (List<String>[]) new List<?>[numColumns];
+            pools = new StringPool[numColumns];
+            for (int i = 0; i < numColumns; i++) {
+                columns[i] = new ArrayList<>();
+                pools[i] = new StringPool();
+            }
+        }
+
+        @Override
+        void emit(int slot, @NotNull byte[] bytes, int length) {
+            columns[slot].add(pools[slot].intern(bytes, length));
+        }
+    }
+}
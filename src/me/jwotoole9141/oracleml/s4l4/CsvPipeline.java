@@ -0,0 +1,237 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:39 AM
+ * PROJ: OracleMachineLearning
+ * FILE: CsvPipeline.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the CsvPipeline class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Reads and tokenizes a CSV stream in stages, each on its own thread,
+ * connected by bounded queues. A reader stage fills blocks of bytes from
+ * the stream, which includes decompressing it if it is compressed. A
+ * parser stage tokenizes the blocks into a sink, which passes batches of
+ * rows on to the pipeline. The thread that takes the batches is the last
+ * stage, which builds the columns. Since the queues are bounded, a slow
+ * stage makes the stages before it wait rather than buffer the stream.
+ * <p>
+ * An exception thrown by a stage is rethrown by {@link #take()}, in order.
+ *
+ * @param <B> the type of the batches of rows
+ * @author agent
+ * @see CsvLoader#CsvLoader(InputStream, String)
+ */
+final class CsvPipeline<B> implements Closeable {
+
+    /**
+     * The bytes of the stream in each block.
+     */
+    static final int BLOCK_SIZE = 1 << 20;
+
+    /**
+     * The most blocks, and the most batches, that may wait between stages.
+     */
+    static final int QUEUE_SIZE = 4;
+
+    private static final Object END = new Object();
+
+    private final @NotNull InputStream input;
+    private final @NotNull BlockingQueue<Object> blocks = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final @NotNull BlockingQueue<Object> batches = new ArrayBlockingQueue<>(QUEUE_SIZE);
+
+    private @Nullable Thread reader;
+    private @Nullable Thread parser;
+    private boolean ended = false;
+
+    /**
+     * Creates a pipeline that reads a stream, once it is started.
+     *
+     * @param input the stream to read, which the pipeline does not close
+     */
+    CsvPipeline(@NotNull InputStream input) {
+        this.input = input;
+    }
+
+    /**
+     * Starts the reader and parser stages.
+     *
+     * @param sink  the sink that the parser stage tokenizes into, which
+     *              passes its batches to {@link #put(Object)}
+     * @param flush a function that the parser stage calls at the end of the
+     *              stream, to pass on the rows of the sink's last batch
+     */
+    void start(@NotNull CsvTokenizer.Sink sink, @NotNull Runnable flush) {
+
+        reader = new Thread(this::read, "csv-reader");
+        parser = new Thread(() -> parse(sink, flush), "csv-parser");
+
+        reader.setDaemon(true);
+        parser.setDaemon(true);
+        reader.start();
+        parser.start();
+    }
+
+    /**
+     * Passes a batch of rows from the parser stage to the last stage,
+     * waiting while the last stage is behind.
+     *
+     * @param batch the batch
+     * @throws CancellationException if the pipeline was closed
+     */
+    void put(@NotNull B batch) throws CancellationException {
+        try {
+            batches.put(batch);
+        }
+        catch (InterruptedException e) {
+            throw new CancellationException("CSV pipeline was closed.");
+        }
+    }
+
+    /**
+     * Takes the next batch of rows, waiting until it has been parsed.
+     *
+     * @return the batch, or null if every batch has been taken
+     *
+     * @throws IOException if the stream could not be read
+     */
+    @SuppressWarnings("unchecked")  // only batches and markers are queued
+    @Nullable B take() throws IOException {
+
+        if (ended) {
+            return null;
+        }
+        Object item;
+        try {
+            item = batches.take();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading CSV.");
+        }
+        if (item == END) {
+            ended = true;
+            return null;
+        }
+        if (item instanceof Failure) {
+            ended = true;
+            ((Failure) item).rethrow();
+        }
+        return (B) item;
+    }
+
+    /**
+     * Stops the reader and parser stages, if they are still running.
+     */
+    @Override
+    public void close() {
+        if (reader != null) {
+            reader.interrupt();
+        }
+        if (parser != null) {
+            parser.interrupt();
+        }
+    }
+
+    private void read() {
+
+        try {
+            while (true) {
+
+                // fill a whole block, unless the stream ends first...
+
+                byte[] block = new byte[BLOCK_SIZE];
+                int length = 0;
+                int count = 0;
+                while (length < block.length && (count = input.read(block, length, block.length - length)) >= 0) {
+                    length += count;
+                }
+                if (length > 0) {
+                    blocks.put(ByteBuffer.wrap(block, 0, length));
+                }
+                if (count < 0) {
+                    blocks.put(END);
+                    return;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            /* the pipeline was closed */
+        }
+        catch (IOException | RuntimeException | Error e) {
+            blocks.clear();
+            blocks.offer(new Failure(e));
+        }
+    }
+
+    private void parse(@NotNull CsvTokenizer.Sink sink, @NotNull Runnable flush) {
+
+        CsvTokenizer tokenizer = new CsvTokenizer(sink);
+        try {
+            while (true) {
+                Object item = blocks.take();
+                if (item instanceof Failure) {
+                    batches.put(item);
+                    return;
+                }
+                if (item == END) {
+                    tokenizer.finish();
+                    flush.run();
+                    batches.put(END);
+                    return;
+                }
+                tokenizer.feed((ByteBuffer) item);
+            }
+        }
+        catch (InterruptedException | CancellationException e) {
+            /* the pipeline was closed */
+        }
+        catch (RuntimeException | Error e) {
+            try {
+                batches.put(new Failure(e));
+            }
+            catch (InterruptedException ignored) {
+                /* the pipeline was closed */
+            }
+        }
+    }
+
+    /**
+     * Carries an exception thrown by a stage to the last stage.
+     */
+    private static final class Failure {
+
+        private final @NotNull Throwable cause;
+
+        private Failure(@NotNull Throwable cause) {
+            this.cause = cause;
+        }
+
+        private void rethrow() throws IOException {
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:12 AM
+ * PROJ: OracleMachineLearning
+ * FILE: CsvTokenizer.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the CsvTokenizer class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Splits the bytes of a CSV file into fields and rows, the same way as
+ * opencsv's default parser. Fields are separated by commas and rows by
+ * line breaks. A field may be quoted, in which case it may hold commas and
+ * line breaks, and {@code ""} stands for a quote. Whitespace before an
+ * opening quote is ignored, and a backslash escapes a following quote or
+ * backslash. Blank lines are skipped.
+ * <p>
+ * The bytes may be fed in pieces of any size. Since every delimiter is a
+ * single ASCII byte, this works for any ASCII-compatible charset, such as
+ * UTF-8. Fields are passed to a {@link Sink} as their unquoted bytes.
+ *
+ * @author agent
+ * @see CsvLoader
+ */
+class CsvTokenizer {
+
+    /**
+     * Receives the fields and rows found by a tokenizer.
+     */
+    interface Sink {
+
+        /**
+         * Receives a field.
+         *
+         * @param index  the index of the field in its row
+         * @param bytes  an array holding the field's unquoted bytes,
+         *               which is reused once this returns
+         * @param length the number of bytes in the field
+         */
+        void field(int index, @NotNull byte[] bytes, int length);
+
+        /**
+         * Receives the end of a row.
+         *
+         * @param numFields the number of fields in the row
+         */
+        void endRow(int numFields);
+    }
+
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private final @NotNull Sink sink;
+
+    private @NotNull byte[] field = new byte[64];
+    private int length;
+    private int numFields;
+
+    private boolean inQuotes;
+    private boolean quotePending;
+    private boolean escapePending;
+    private boolean lineFeedPending;
+    private boolean wasQuoted;
+    private boolean onlyWhitespace = true;
+
+    private byte[] block;
+
+    /**
+     * Creates a tokenizer that passes what it finds to a sink.
+     *
+     * @param sink the receiver of fields and rows
+     */
+    CsvTokenizer(@NotNull Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Tokenizes the remaining bytes of a buffer.
+     *
+     * @param buffer the next bytes of the file
+     */
+    void feed(@NotNull ByteBuffer buffer) {
+
+        if (buffer.hasArray()) {
+            feed(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+            return;
+        }
+
+        // copy a direct or mapped buffer out in blocks...
+
+        if (block == null) {
+            block = new byte[BLOCK_SIZE];
+        }
+        while (buffer.hasRemaining()) {
+            int count = Math.min(block.length, buffer.remaining());
+            buffer.get(block, 0, count);
+            feed(block, 0, count);
+        }
+    }
+
+    /**
+     * Tokenizes a range of bytes.
+     *
+     * @param bytes  the next bytes of the file
+     * @param offset the index of the first byte
+     * @param count  the number of bytes
+     */
+    void feed(@NotNull byte[] bytes, int offset, int count) {
+
+        int end = offset + count;
+        for (int i = offset; i < end; i++) {
+            consume(bytes[i]);
+        }
+    }
+
+    /**
+     * Ends the file, passing on its last field and row.
+     *
+     * @throws IllegalArgumentException if the file ended inside a quoted field
+     */
+    void finish() throws IllegalArgumentException {
+
+        if (quotePending) {
+            quotePending = false;
+            inQuotes = false;
+        }
+        if (inQuotes) {
+            throw new IllegalArgumentException("Un-terminated quoted field at end of CSV.");
+        }
+        if (escapePending) {
+            escapePending = false;
+            append((byte) '\\');
+        }
+        endRow();
+    }
+
+    /**
+     * Counts the quotes in a range of a file that aren't escaped by a backslash.
+     * Each of them opens or closes quoting (a doubled quote does both), so a
+     * byte is inside a quoted field if the count of such quotes before it is odd.
+     *
+     * @param file the file to scan
+     * @param from the index of the first byte
+     * @param to   the index after the last byte
+     * @return the number of unescaped quotes
+     */
+    static long countQuotes(@NotNull MappedFile file, long from, long to) {
+
+        long count = 0;
+        boolean escaped = isEscaped(file, from);
+
+        for (long i = from; i < to; i++) {
+            byte b = file.get(i);
+            if (escaped) {
+                escaped = false;
+                if (b == '"' || b == '\\') {
+                    continue;
+                }
+            }
+            if (b == '\\') {
+                escaped = true;
+            }
+            else if (b == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the start of the first row that begins at or after a byte of a file.
+     *
+     * @param file     the file to scan
+     * @param from     the index of a byte
+     * @param inQuotes true if the byte is inside a quoted field
+     * @return the index of the row's first byte, or the size of the file if there is no such row
+     */
+    static long nextRow(@NotNull MappedFile file, long from, boolean inQuotes) {
+
+        if (from == 0) {
+            return 0;
+        }
+        byte last = file.get(from - 1);
+        if (!inQuotes && (last == '\n' || last == '\r')) {
+            return from;
+        }
+        return endOfRow(file, from, inQuotes);
+    }
+
+    /**
+     * Finds the end of the row that a byte of a file is in.
+     *
+     * @param file     the file to scan
+     * @param from     the index of a byte
+     * @param inQuotes true if the byte is inside a quoted field
+     * @return the index after the row's line break, or the size of the file if it has none
+     */
+    static long endOfRow(@NotNull MappedFile file, long from, boolean inQuotes) {
+
+        boolean escaped = isEscaped(file, from);
+        for (long i = from; i < file.size(); i++) {
+            byte b = file.get(i);
+            if (escaped) {
+                escaped = false;
+                if (b == '"' || b == '\\') {
+                    continue;
+                }
+            }
+            if (b == '\\') {
+                escaped = true;
+            }
+            else if (b == '"') {
+                inQuotes = !inQuotes;
+            }
+            else if (!inQuotes && (b == '\n' || b == '\r')) {
+                return i + 1;
+            }
+        }
+        return file.size();
+    }
+
+    private static boolean isEscaped(@NotNull MappedFile file, long position) {
+
+        // backslashes escape each other in pairs, so an odd run escapes the byte after it...
+
+        long i = position;
+        while (i > 0 && file.get(i - 1) == '\\') {
+            i--;
+        }
+        return (position - i) % 2 == 1;
+    }
+
+    private void consume(byte b) {
+
+        if (lineFeedPending) {
+            lineFeedPending = false;
+            if (b == '\n') {
+                return;
+            }
+        }
+
+        if (escapePending) {
+            escapePending = false;
+            onlyWhitespace = false;
+            if (b == '"' || b == '\\') {
+                append(b);
+                return;
+            }
+            append((byte) '\\');
+        }
+
+        if (quotePending) {
+            quotePending = false;
+            if (b == '"') {
+                append(b);  /* a doubled quote */
+                return;
+            }
+            inQuotes = false;
+        }
+
+        if (inQuotes) {
+            if (b == '"') {
+                quotePending = true;
+            }
+            else if (b == '\\') {
+                escapePending = true;
+            }
+            else {
+                append(b);
+            }
+            return;
+        }
+
+        switch (b) {
+            case ',':
+                endField();
+                break;
+
+            case '\r':
+                lineFeedPending = true;
+                endRow();
+                break;
+
+            case '\n':
+                endRow();
+                break;
+
+            case '"':
+                if (onlyWhitespace) {
+                    length = 0;  /* whitespace before an opening quote is ignored */
+                }
+                inQuotes = true;
+                wasQuoted = true;
+                onlyWhitespace = false;
+                break;
+
+            case '\\':
+                escapePending = true;
+                break;
+
+            default:
+                append(b);
+                if (b != ' ' && b != '\t') {
+                    onlyWhitespace = false;
+                }
+        }
+    }
+
+    private void append(byte b) {
+
+        if (length == field.length) {
+            field = Arrays.copyOf(field, length * 2);
+        }
+        field[length++] = b;
+    }
+
+    private void endField() {
+
+        sink.field(numFields++, field, length);
+        length = 0;
+        wasQuoted = false;
+        onlyWhitespace = true;
+    }
+
+    private void endRow() {
+
+        // skip blank lines...
+
+        if (numFields == 0 && length == 0 && !wasQuoted) {
+            onlyWhitespace = true;
+            return;
+        }
+        endField();
+        sink.endRow(numFields);
+        numFields = 0;
+    }
+}
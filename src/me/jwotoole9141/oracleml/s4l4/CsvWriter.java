@@ -0,0 +1,376 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:42 AM
+ * PROJ: OracleMachineLearning
+ * FILE: CsvWriter.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the CsvWriter class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Writes a {@link DataTable} to a CSV file, in the same format as opencsv's
+ * {@code CSVWriter}: every field is quoted, quotes are doubled, and lines end
+ * with a newline. The file is written as UTF-8.
+ * <p>
+ * Rows are serialized in blocks of {@link #BLOCK_SIZE} into arrays of bytes,
+ * which are written through a {@link FileChannel}, in order. Given a pool,
+ * the blocks are serialized in parallel, a few blocks ahead of the block
+ * being written. Numbers are written straight from their columns, without
+ * boxing. The values of an {@link EncodedColumn}, including one under a
+ * {@link ViewColumn}, are serialized once each, before any rows.
+ *
+ * @author agent
+ * @see DataTable#toCsv(File, ForkJoinPool, Function[])
+ */
+final class CsvWriter {
+
+    /**
+     * The number of rows in each block.
+     */
+    static final int BLOCK_SIZE = 1 << 12;
+
+    /**
+     * The most blocks per thread of the pool that may be serialized ahead of the file.
+     */
+    static final int BLOCKS_AHEAD = 2;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte QUOTE = '"';
+    private static final byte SEPARATOR = ',';
+    private static final byte NEWLINE = '\n';
+
+    private final @NotNull DataTable table;
+    private final int numRows;
+    private final @NotNull Field[] fields;
+
+    /**
+     * Creates a writer for a table.
+     *
+     * @param table       the table to write
+     * @param serializers an array of functions, one per column, that each serialize a
+     *                    value into a string. If empty, {@link Object#toString()} is used.
+     */
+    @SafeVarargs  // 'serializers' array is only accessed
+    CsvWriter(@NotNull DataTable table, @NotNull Function<Object, String>... serializers) {
+
+        // take the number of rows first, so every value in those rows is in the fields...
+
+        this.table = table;
+        this.numRows = table.getNumRows();
+
+        List<DataTable.Column<?>> columns = table.getColumns();
+        this.fields = new Field[columns.size()];
+        for (int c = 0; c < fields.length; c++) {
+            fields[c] = fieldOf(columns.get(c), (serializers.length == 0) ? null : serializers[c]);
+        }
+    }
+
+    /**
+     * Writes the table to a file, replacing it if it exists.
+     *
+     * @param file the file to write
+     * @param pool the pool to serialize with, or null to serialize on the calling thread
+     * @throws IOException if the file could not be created or written
+     */
+    void write(@NotNull File file, @Nullable ForkJoinPool pool) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            // write the table header...
+
+            Buffer header = new Buffer(BUFFER_SIZE);
+            for (int c = 0; c < fields.length; c++) {
+                if (c > 0) {
+                    header.add(SEPARATOR);
+                }
+                header.addQuoted(table.getColumns().get(c).getLabel());
+            }
+            header.add(NEWLINE);
+            header.writeTo(channel);
+
+            // write the table data, one block at a time...
+
+            if (pool == null) {
+                Buffer block = new Buffer(BUFFER_SIZE);
+                for (int from = 0; from < numRows; from += BLOCK_SIZE) {
+                    block.clear();
+                    addRows(block, from, Math.min(numRows, from + BLOCK_SIZE));
+                    block.writeTo(channel);
+                }
+                return;
+            }
+
+            // serialize blocks ahead of the file, but only a few, so memory stays bounded...
+
+            int ahead = pool.getParallelism() * BLOCKS_AHEAD;
+            Deque<ForkJoinTask<Buffer>> blocks = new ArrayDeque<>();
+            try {
+                int from = 0;
+                while (from < numRows || !blocks.isEmpty()) {
+                    while (from < numRows && blocks.size() < ahead) {
+                        int start = from;
+                        int end = Math.min(numRows, from + BLOCK_SIZE);
+                        blocks.add(pool.submit(() -> {
+                            Buffer block = new Buffer(BUFFER_SIZE);
+                            addRows(block, start, end);
+                            return block;
+                        }));
+                        from = end;
+                    }
+                    join(blocks.remove()).writeTo(channel);
+                }
+            }
+            finally {
+                blocks.forEach(block -> block.cancel(false));
+            }
+        }
+    }
+
+    private void addRows(@NotNull Buffer block, int from, int to) {
+        for (int r = from; r < to; r++) {
+            for (int c = 0; c < fields.length; c++) {
+                if (c > 0) {
+                    block.add(SEPARATOR);
+                }
+                fields[c].addTo(block, r);
+            }
+            block.add(NEWLINE);
+        }
+    }
+
+    private static <T> T join(@NotNull ForkJoinTask<T> task) {
+
+        try {
+            return task.join();
+        }
+        catch (RuntimeException e) {
+
+            // rethrow a worker's exception as itself, not as the copy made for this thread...
+
+            if (e.getCause() != null && e.getCause().getClass() == e.getClass()) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Chooses how to serialize the rows of a column.
+     *
+     * @param column     the column
+     * @param serializer the function that serializes the column's values, or null
+     * @return a field that reads the column
+     */
+    private static @NotNull Field fieldOf(
+            @NotNull DataTable.Column<?> column,
+            @Nullable Function<Object, String> serializer) {
+
+        // a view reads the field of its parent, at its parent's indices...
+
+        if (column instanceof ViewColumn) {
+            ViewColumn<?> view = (ViewColumn<?>) column;
+            Field parent = fieldOf(view.getParent(), serializer);
+            return (block, row) -> parent.addTo(block, view.getParentIndex(row));
+        }
+        if (column instanceof EncodedColumn) {
+            return new EncodedField((EncodedColumn<?>) column, serializer);
+        }
+        if (serializer == null) {
+            if (column instanceof IntColumn) {
+                IntColumn ints = (IntColumn) column;
+                return (block, row) -> block.addQuoted(ints.getInt(row));
+            }
+            if (column instanceof LongColumn) {
+                LongColumn longs = (LongColumn) column;
+                return (block, row) -> block.addQuoted(longs.getLong(row));
+            }
+            if (column instanceof DoubleColumn) {
+                DoubleColumn doubles = (DoubleColumn) column;
+                return (block, row) -> block.addQuoted(Double.toString(doubles.getDouble(row)));
+            }
+            return (block, row) -> block.addQuoted(column.getRow(row).toString());
+        }
+        return (block, row) -> block.addQuoted(serializer.apply(column.getRow(row)));
+    }
+
+    /**
+     * Serializes one row of a column into a block.
+     */
+    private interface Field {
+
+        void addTo(@NotNull Buffer block, int row);
+    }
+
+    /**
+     * Serializes the rows of an encoded column by copying
+     * the already quoted bytes of each row's value.
+     */
+    private static final class EncodedField implements Field {
+
+        private final @NotNull CodeArray codes;
+        private final @NotNull byte[][] quoted;
+
+        private EncodedField(
+                @NotNull EncodedColumn<?> column,
+                @Nullable Function<Object, String> serializer) {
+
+            codes = column.getCodes();
+            quoted = new byte[column.getDictionary().size()][];
+
+            // serialize each value that appears under the column, once...
+
+            int[] counts = column.getCodeCounts();
+            Buffer value = new Buffer(64);
+            for (int code = 0; code < quoted.length; code++) {
+                if (counts[code] > 0) {
+                    Object datum = column.getDictionary().decode(code);
+                    value.clear();
+                    value.addQuoted((serializer == null) ? datum.toString() : serializer.apply(datum));
+                    quoted[code] = value.toByteArray();
+                }
+            }
+        }
+
+        @Override
+        public void addTo(@NotNull Buffer block, int row) {
+            block.add(quoted[codes.get(row)]);
+        }
+    }
+
+    /**
+     * A growable array of bytes.
+     */
+    private static final class Buffer {
+
+        private @NotNull byte[] bytes;
+        private int length = 0;
+
+        private Buffer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        private void clear() {
+            length = 0;
+        }
+
+        private void add(byte b) {
+            if (length == bytes.length) {
+                grow(1);
+            }
+            bytes[length++] = b;
+        }
+
+        private void add(@NotNull byte[] b) {
+            if (length + b.length > bytes.length) {
+                grow(b.length);
+            }
+            System.arraycopy(b, 0, bytes, length, b.length);
+            length += b.length;
+        }
+
+        /**
+         * Adds a field in quotes, doubling any quotes within it. A null field
+         * is left empty, without quotes, as opencsv does.
+         */
+        private void addQuoted(@Nullable String field) {
+
+            if (field == null) {
+                return;
+            }
+            int n = field.length();
+            if (length + n + 2 > bytes.length) {
+                grow(n + 2);
+            }
+
+            // copy ASCII characters straight across, and encode the rest...
+
+            add(QUOTE);
+            for (int i = 0; i < n; i++) {
+                char ch = field.charAt(i);
+                if (ch >= 0x80) {
+                    addEncoded(field.substring(i));
+                    break;
+                }
+                if (ch == QUOTE) {
+                    add(QUOTE);
+                }
+                add((byte) ch);
+            }
+            add(QUOTE);
+        }
+
+        private void addEncoded(@NotNull String rest) {
+            for (byte b : rest.getBytes(StandardCharsets.UTF_8)) {
+                if (b == QUOTE) {
+                    add(QUOTE);
+                }
+                add(b);
+            }
+        }
+
+        private void addQuoted(long number) {
+
+            if (length + 22 > bytes.length) {
+                grow(22);
+            }
+
+            // write the digits backwards from the end of the field, then shift them into place...
+
+            add(QUOTE);
+            int start = length;
+            long rest = number;
+            do {
+                bytes[length++] = (byte) ('0' + Math.abs(rest % 10));
+                rest /= 10;
+            }
+            while (rest != 0);
+            if (number < 0) {
+                bytes[length++] = '-';
+            }
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte digit = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = digit;
+            }
+            add(QUOTE);
+        }
+
+        private void grow(int needed) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + needed));
+        }
+
+        private @NotNull byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        private void writeTo(@NotNull FileChannel channel) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
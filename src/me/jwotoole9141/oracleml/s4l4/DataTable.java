@@ -13,7 +13,6 @@
 package me.jwotoole9141.oracleml.s4l4;
 
 import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
 import com.opencsv.exceptions.CsvValidationException;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -21,9 +20,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -33,6 +32,19 @@ import java.util.stream.IntStream;
  * Represents a table of data, organized by <i>column</i>, and
  * serializable with CSV format. A table will have a label and
  * any number of columns, each with separate data types.
+ * <p>
+ * Rows may be added to the end of a table with {@link #appendRow(List)}
+ * and {@link #appendRows(List)}, while other threads read it. Rows are
+ * added to every column before the table's number of rows is raised, so
+ * a reader that takes {@link #getNumRows()} once, and reads rows below
+ * it by index, reads them whole. The rows, values and counts that a column
+ * hands out are those it held when they were asked for, and never change.
+ * Only one table adds rows to a column. A table that shares its columns
+ * with another, such as a sub-table made by {@link #toSubTable(Predicate)},
+ * copies those that the other table adds rows to the first time rows are
+ * added to it, so the tables' columns don't misalign. Rows added to the
+ * other table are held by the shared columns, though the number of rows
+ * of this table is unchanged.
  *
  * @author Jared O'Toole
  * @see DataTable.Column
@@ -48,11 +60,55 @@ public class DataTable {
      */
     public static class Column<T> {
 
+        /**
+         * Builds a boxed column one row at a time.
+         *
+         * @param <T> the type of data held in the column being built
+         */
+        public static class Builder<T> implements ColumnBuilder<T> {
+
+            private final @NotNull String label;
+            private final @NotNull List<@NotNull T> rows = new ArrayList<>();
+
+            /**
+             * Creates a builder for a column with the given label.
+             *
+             * @param label the label of the column
+             */
+            public Builder(@NotNull String label) {
+                this.label = label;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void add(@NotNull T value) {
+                rows.add(value);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int size() {
+                return rows.size();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public @NotNull Column<T> build() {
+                return new Column<>(label, rows);
+            }
+        }
+
         private final @NotNull String label;
-        private final @NotNull List<@NotNull T> rows = new ArrayList<>();
-        private final @NotNull Set<@NotNull T> values = new HashSet<>();
-        private final @NotNull List<@NotNull T> rowsView = Collections.unmodifiableList(rows);
-        private final @NotNull Set<@NotNull T> valuesView = Collections.unmodifiableSet(values);
+        private volatile @NotNull Object[] rows;
+        private volatile int size;  /* raised only once the rows below it are written */
+        private volatile @Nullable ColumnCache<T> cache;  /* made on first use */
+        private @Nullable DataTable owner;  /* the only table that adds rows to this column */
 
         /**
          * Creates an empty column with the given label.
@@ -71,10 +127,8 @@ public class DataTable {
          */
         public Column(@NotNull String label, @Nullable List<T> rows) {
             this.label = label;
-            if (rows != null) {
-                this.rows.addAll(rows);
-                this.values.addAll(rows);
-            }
+            this.rows = (rows == null) ? new Object[0] : rows.toArray();
+            this.size = this.rows.length;
         }
 
         /**
@@ -87,72 +141,340 @@ public class DataTable {
         }
 
         /**
-         * Gets a view of the rows of data under this column.
+         * Gets a view of the rows of data under this column. The list holds
+         * the rows that were under this column when it was asked for, and
+         * does not grow with it.
          *
          * @return the data elements
          */
+        @SuppressWarnings("unchecked")  // only rows of type 'T' are written to the array
         public @NotNull List<T> getRows() {
-            return rowsView;
+
+            // read the number of rows before the array, which holds at least that many rows...
+
+            int size = this.size;
+            return (List<T>) Collections.unmodifiableList(Arrays.asList(rows).subList(0, size));
+        }
+
+        /**
+         * Gets the number of rows of data under this column.
+         *
+         * @return the number of column rows
+         */
+        public int getNumRows() {
+            return size;
+        }
+
+        /**
+         * Gets a single row of data under this column.
+         *
+         * @param index the index of the row
+         * @return the data element
+         *
+         * @throws IndexOutOfBoundsException if {@code index} is not a valid row
+         */
+        @SuppressWarnings("unchecked")  // only rows of type 'T' are written to the array
+        public @NotNull T getRow(int index) {
+
+            int size = this.size;
+            if (index >= size) {
+                throw new IndexOutOfBoundsException(String.format(
+                        "Row %d of a column of %d rows.", index, size));
+            }
+            return (T) rows[index];
         }
 
         /**
-         * Gets the complete set of unique values under this column.
+         * Gets the complete set of unique values under this column. The set
+         * holds the values that were under this column when it was asked for,
+         * and does not grow with it. It is found from the counts, and is kept
+         * by this column.
          *
          * @return a unique set of every possible data value
          */
         public @NotNull Set<T> getValues() {
-            return valuesView;
+
+            ColumnCache<T> cache = getCache();
+            Set<T> values = cache.values;
+            if (values == null) {
+
+                // add the values one at a time, in the order that they first occur, as rows once were...
+
+                Set<T> set = new HashSet<>();
+                for (T value : getCounts(cache).keySet()) {
+                    set.add(value);
+                }
+                values = cache.values = Collections.unmodifiableSet(set);
+            }
+            return values;
         }
 
         /**
          * Gets the percent distribution of every unique data value under this column.
+         * The distribution is kept by this column, so the map is read-only;
+         * copy it to change it.
          *
-         * @return a map of the unique data values to their fraction of the whole column
+         * @return an unmodifiable map of the unique data values to their fraction of the whole column
          */
         public @NotNull Map<T, Double> getDistribution() {
-            return getDistribution(values);
+
+            ColumnCache<T> cache = getCache();
+            Map<T, Double> distr = cache.distribution;
+            if (distr == null) {
+                distr = cache.distribution = toDistribution(getCounts(cache));
+            }
+            return distr;
         }
 
         /**
          * Gets a percent distribution for the given data values under this column.
+         * The distributions of the most recently used sets of values are kept by
+         * this column, so the map is read-only; copy it to change it.
          *
          * @param values the set of data values to get a distribution for
-         * @return a map of the data values to their fraction of the whole set
+         * @return an unmodifiable map of the data values to their fraction of the whole set
          */
         public @NotNull Map<T, Double> getDistribution(@NotNull Set<T> values) {
 
-            Map<T, Integer> counts = getCounts(values);
-            Map<T, Double> distr = new HashMap<>();
-
-            for (T value : counts.keySet()) {
-                distr.put(value, counts.get(value) / (double) counts.size());
-            }
-            return distr;
+            ColumnCache<T> cache = getCache();
+            return cache.getDistribution(values, key -> toDistribution(getCounts(cache, key)));
         }
 
         /**
          * Gets the count of every unique data value under this column.
+         * The counts are kept by this column, so the map is read-only; copy it
+         * to change it.
          *
-         * @return a map of the unique data values to their number of occurances
+         * @return an unmodifiable map of the unique data values to their number of occurances
          */
         public Map<T, Integer> getCounts() {
-            return getCounts(values);
+            return getCounts(getCache());
         }
 
         /**
-         * Gets a count for the given data values under this column.
+         * Gets a count for the given data values under this column. The counts
+         * are found from those of every value, without reading the rows again.
+         * The counts of the most recently used sets of values are kept by this
+         * column, so the map is read-only; copy it to change it.
          *
          * @param values the set of data values to get counts for
-         * @return a map of the data values to their number of occurances
+         * @return an unmodifiable map of the data values to their number of occurances
          */
         public Map<T, Integer> getCounts(Set<T> values) {
+            return getCounts(getCache(), values);
+        }
 
-            Map<T, Integer> counts = new HashMap<>();
-            for (T value : rows) {
-                if (values.contains(value)) {
-                    counts.put(value, 1 + counts.getOrDefault(value, 0));
+        /**
+         * Gets statistics of the data under this column, found from its counts.
+         * The statistics are kept by this column.
+         *
+         * @return the statistics of this column
+         */
+        public @NotNull ColumnStatistics<T> getStatistics() {
+
+            ColumnCache<T> cache = getCache();
+            ColumnStatistics<T> statistics = cache.statistics;
+            if (statistics == null) {
+                statistics = cache.statistics = new ColumnStatistics<>(cache.numRows, getCounts(cache));
+            }
+            return statistics;
+        }
+
+        /**
+         * Counts every unique data value in the first rows under this column, by
+         * reading them, in the order that they first occur. Rows added since are
+         * not counted. Subclasses that hold their data differently may count it
+         * faster. The result is kept by {@link #getCounts()}, which all other
+         * counts and statistics are found from.
+         *
+         * @param numRows the number of rows to count, which is never more than there are
+         * @return a new map of the unique data values to their number of occurances
+         */
+        protected @NotNull Map<T, Integer> countValues(int numRows) {
+
+            Map<T, Integer> counts = new LinkedHashMap<>();
+            for (T value : getRows().subList(0, numRows)) {
+                counts.merge(value, 1, Integer::sum);
+            }
+            return counts;
+        }
+
+        /**
+         * Makes sure that rows of data may be added to the end of this column.
+         * This is checked for every column of a table before rows are added to
+         * any of them, so that a table never holds columns of unequal length.
+         *
+         * @param rows the rows of data to be added
+         * @throws IllegalArgumentException      if a row is null, or is not of this column's type
+         * @throws UnsupportedOperationException if this column can't have rows added to it
+         * @see #addRows(List)
+         */
+        protected void checkRows(@NotNull List<?> rows)
+                throws IllegalArgumentException, UnsupportedOperationException {
+
+            for (Object row : rows) {
+                if (row == null) {
+                    throw new IllegalArgumentException(String.format(
+                            "Invalid row for column '%s'. (null)", label));
                 }
             }
+        }
+
+        /**
+         * Adds rows of data to the end of this column's storage, growing it by
+         * at least half its size when it is full. Subclasses that hold their data
+         * differently must override this method. Rows are added by one thread at
+         * a time, while others may read; the rows must be written before the
+         * number of rows is raised, since readers read it first.
+         *
+         * @param rows the rows of data to add, which have been checked by {@link #checkRows(List)}
+         */
+        protected void addRows(@NotNull List<T> rows) {
+
+            // grow the array by half again, or to fit the rows, before writing past the end of this column...
+
+            int size = this.size;
+            Object[] grown = this.rows;
+            if (size + rows.size() > grown.length) {
+                grown = Arrays.copyOf(grown, Math.max(size + rows.size(), Math.max(16, grown.length + (grown.length >> 1))));
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                grown[size + i] = rows.get(i);
+            }
+
+            // publish the array before the number of rows...
+
+            this.rows = grown;
+            this.size = size + rows.size();
+        }
+
+        /**
+         * Makes the given table the one that adds rows to this column,
+         * unless another table already does.
+         *
+         * @param table the table that is about to add rows to this column
+         * @return true if the given table may add rows to this column
+         */
+        final synchronized boolean claim(@NotNull DataTable table) {
+            if (owner == null) {
+                owner = table;
+            }
+            return owner == table;
+        }
+
+        /**
+         * Adds rows of data to the end of this column. The kept counts, if there are
+         * any, are kept so that only the added rows are counted when counts are next
+         * needed. Everything else that was kept is found again when needed.
+         *
+         * @param rows the rows of data to add, which have been checked by {@link #checkRows(List)}
+         */
+        final synchronized void append(@NotNull List<T> rows) {
+
+            // only keep counts that were found from every row before these...
+
+            int numRows = getNumRows();
+            ColumnCache<T> cache = this.cache;
+
+            addRows(rows);
+
+            this.cache = (cache == null || cache.numRows != numRows)
+                    ? null
+                    : cache.toAppended(numRows + rows.size());
+        }
+
+        /**
+         * Adds rows of data to the counts of every unique data value under this column.
+         * Values that weren't counted before are counted after all the others.
+         *
+         * @param counts the counts, which aren't changed
+         * @param rows   the rows of data to add to the counts
+         * @return a new map of the unique data values to their number of occurances
+         */
+        @NotNull Map<T, Integer> addCounts(@NotNull Map<T, Integer> counts, @NotNull List<T> rows) {
+
+            Map<T, Integer> added = new LinkedHashMap<>(counts);
+            for (T value : rows) {
+                added.merge(value, 1, Integer::sum);
+            }
+            return added;
+        }
+
+        /**
+         * Gets the counts of every unique data value in the given number of rows
+         * under this column, but only if they have already been found.
+         *
+         * @param numRows the number of rows that the counts must be found from
+         * @return the kept counts, or null
+         */
+        @Nullable Map<T, Integer> getCachedCounts(int numRows) {
+            ColumnCache<T> cache = this.cache;
+            return (cache == null || cache.numRows != numRows) ? null : cache.counts;
+        }
+
+        private @NotNull ColumnCache<T> getCache() {
+
+            // replace a cache of fewer rows than there are, but never one of more...
+
+            int numRows = getNumRows();
+            ColumnCache<T> cache = this.cache;
+            if (cache == null || cache.numRows < numRows) {
+                cache = this.cache = new ColumnCache<>(numRows);
+            }
+            return cache;
+        }
+
+        private @NotNull Map<T, Integer> getCounts(@NotNull ColumnCache<T> cache) {
+
+            Map<T, Integer> counts = cache.counts;
+            if (counts == null) {
+
+                // count only the rows added since the kept counts, if there are any...
+
+                counts = (cache.baseCounts == null)
+                        ? countValues(cache.numRows)
+                        : addCounts(cache.baseCounts, getRows().subList(cache.baseRows, cache.numRows));
+                counts = cache.counts = Collections.unmodifiableMap(counts);
+            }
+            return counts;
+        }
+
+        private @NotNull Map<T, Integer> getCounts(@NotNull ColumnCache<T> cache, @NotNull Set<T> values) {
+
+            return cache.getCounts(values, key -> {
+                Map<T, Integer> counts = new LinkedHashMap<>();
+                getCounts(cache).forEach((value, count) -> {
+                    if (key.contains(value)) {
+                        counts.put(value, count);
+                    }
+                });
+                return Collections.unmodifiableMap(counts);
+            });
+        }
+
+        private static <T> @NotNull Map<T, Double> toDistribution(@NotNull Map<T, Integer> counts) {
+
+            Map<T, Double> distr = new HashMap<>();
+            for (T value : counts.keySet()) {
+                distr.put(value, counts.get(value) / (double) counts.size());
+            }
+            return Collections.unmodifiableMap(distr);
+        }
+
+        /**
+         * Gets the count of every unique data value in the selected rows under this column.
+         *
+         * @param selection the rows to count, selected out of this column's rows
+         * @return a map of the unique data values in the selected rows to their number of occurances
+         *
+         * @throws IllegalArgumentException if the selection is not of this column's number of rows
+         */
+        public Map<T, Integer> getCounts(@NotNull RowSelection selection) throws IllegalArgumentException {
+
+            checkSelection(selection);
+
+            Map<T, Integer> counts = new HashMap<>();
+            selection.forEach(i -> counts.merge(getRow(i), 1, Integer::sum));
             return counts;
         }
 
@@ -163,13 +485,10 @@ public class DataTable {
          * @param filter a function that takes data from this column's rows and
          *               returns true if that row should be included in the <i>sub-vew</i>
          * @return a new column with a subset of the same data
+         * @see #toCopy()
          */
         public @NotNull Column<T> toSubColumn(@NotNull Predicate<T> filter) {
-            return new Column<>(label, IntStream.range(0, rows.size())
-                    .filter(i -> filter.test(rows.get(i)))
-                    .boxed()
-                    .map(rows::get)
-                    .collect(Collectors.toList()));
+            return ViewColumn.of(this, selectIndices(filter));
         }
 
         /**
@@ -178,11 +497,47 @@ public class DataTable {
          *
          * @param indices the indices of the rows that should be included in the <i>sub-vew</i>
          * @return a new column with a subset of the same data
+         * @see #toCopy()
          */
         public @NotNull Column<T> toSubColumn(@NotNull List<Integer> indices) {
-            return new Column<>(label, indices.stream()
-                    .map(rows::get)
-                    .collect(Collectors.toList()));
+            return ViewColumn.of(this, indices.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        /**
+         * Creates a new column that represents a <i>sub-vew</i> of this column's rows.
+         * Some of this column's rows shall have been filtered out.
+         *
+         * @param selection the rows that should be included in the <i>sub-vew</i>,
+         *                  selected out of this column's rows
+         * @return a new column with a subset of the same data
+         *
+         * @throws IllegalArgumentException if the selection is not of this column's number of rows
+         * @see #toCopy()
+         */
+        public @NotNull Column<T> toSubColumn(@NotNull RowSelection selection) throws IllegalArgumentException {
+            checkSelection(selection);
+            return ViewColumn.of(this, selection.toIndices());
+        }
+
+        /**
+         * Selects the rows that match the given filter. Selections made by
+         * filters on the same column, or on columns of the same table, may be
+         * combined with {@link RowSelection#and(RowSelection)} and the like.
+         *
+         * @param filter a function that takes data from this column's rows and
+         *               returns true if that row should be selected
+         * @return a new selection of this column's rows
+         */
+        public @NotNull RowSelection select(@NotNull Predicate<T> filter) {
+
+            int numRows = getNumRows();
+            RowSelection.Builder selection = new RowSelection.Builder(numRows);
+            for (int i = 0; i < numRows; i++) {
+                if (filter.test(getRow(i))) {
+                    selection.add(i);
+                }
+            }
+            return selection.build();
         }
 
         /**
@@ -193,12 +548,56 @@ public class DataTable {
          * @return a list of indices for rows under this column
          */
         public @NotNull List<Integer> toSubColumnIndices(@NotNull Predicate<T> filter) {
-            return IntStream.range(0, rows.size())
-                    .filter(i -> filter.test(rows.get(i)))
+            return IntStream.of(selectIndices(filter))
                     .boxed()
                     .collect(Collectors.toList());
         }
 
+        /**
+         * Creates a new column holding its own copy of this column's data.
+         * Unlike a <i>sub-view</i>, the copy does not keep this column alive.
+         *
+         * @return a new column with the same data
+         */
+        public @NotNull Column<T> toCopy() {
+            return new Column<>(label, getRows());
+        }
+
+        /**
+         * Finds the indices of the rows that match the given filter.
+         *
+         * @param filter a function that takes a row and returns true
+         *               if its index should be included in the array
+         * @return an ascending array of indices for rows under this column
+         */
+        protected final @NotNull int[] selectIndices(@NotNull Predicate<T> filter) {
+            return select(filter).toIndices();
+        }
+
+        /**
+         * Ensures that a selection was made out of this column's number of rows.
+         *
+         * @param selection the selection
+         * @throws IllegalArgumentException if the selection is not of this column's number of rows
+         */
+        protected final void checkSelection(@NotNull RowSelection selection) throws IllegalArgumentException {
+            if (selection.getNumRows() != getNumRows()) {
+                throw new IllegalArgumentException(String.format(
+                        "Mismatch in number of rows and selected rows. (%d and %d)",
+                        getNumRows(), selection.getNumRows()));
+            }
+        }
+
+        /**
+         * Creates a dictionary-encoded copy of this column.
+         *
+         * @return a new column with the same data
+         * @see Storage#DICTIONARY
+         */
+        public @NotNull EncodedColumn<T> toEncodedColumn() {
+            return new EncodedColumn<>(label, getRows());
+        }
+
         /**
          * Creates a string representation of this column.
          *
@@ -207,7 +606,7 @@ public class DataTable {
         @Override
         public @NotNull String toString() {
             return String.format("Column[label=%s, rows=%d, values={%s}]",
-                    label, rows.size(), values.stream()
+                    label, getNumRows(), getValues().stream()
                             .limit(20)
                             .map(T::toString)
                             .collect(Collectors.joining(", ")));
@@ -222,7 +621,7 @@ public class DataTable {
 
             // serialize all the data under the column...
 
-            List<String> rowStrings = rows.stream()
+            List<String> rowStrings = getRows().stream()
                     .map(T::toString)
                     .collect(Collectors.toList());
 
@@ -235,7 +634,7 @@ public class DataTable {
                     .map(String::length)
                     .max(Integer::compare).orElse(0);
 
-            int rowNumCellWidth = String.valueOf(rows.size()).length();
+            int rowNumCellWidth = String.valueOf(getNumRows()).length();
 
             String colDivider = " | ";
             String cellFormat = "%-" + maxCellWidth + "s";
@@ -271,14 +670,48 @@ public class DataTable {
         }
     }
 
+    /**
+     * An enumeration of the ways a column can store its rows of data.
+     */
+    public enum Storage {
+
+        /**
+         * Each row holds a reference to its data, as in {@link Column}.
+         */
+        BOXED {
+            @Override
+            public <T> @NotNull ColumnBuilder<T> newBuilder(@NotNull String label) {
+                return new Column.Builder<>(label);
+            }
+        },
+
+        /**
+         * Each row holds a compact code into a dictionary of
+         * distinct values, as in {@link EncodedColumn}.
+         */
+        DICTIONARY {
+            @Override
+            public <T> @NotNull ColumnBuilder<T> newBuilder(@NotNull String label) {
+                return new EncodedColumn.Builder<>(label);
+            }
+        };
+
+        /**
+         * Creates a builder for a column that stores its rows this way.
+         *
+         * @param label the label of the column
+         * @param <T>   the type of data held in the column
+         * @return a new, empty column builder
+         */
+        public abstract <T> @NotNull ColumnBuilder<T> newBuilder(@NotNull String label);
+    }
+
     private final @NotNull String title;
     private final int numCols;
-    private final int numRows;
-    private final int size;
+    private volatile int numRows;
 
-    private final @NotNull List<@NotNull Column<?>> cols = new ArrayList<>();
-    private final @NotNull List<@NotNull Column<?>> colsView = Collections.unmodifiableList(cols);
-    private final @NotNull Map<@NotNull String, @NotNull Column<?>> header = new HashMap<>();
+    private volatile @NotNull List<@NotNull Column<?>> cols;  /* replaced, never modified */
+    private volatile @NotNull Map<@NotNull String, @NotNull Column<?>> header;
 
     /**
      * Creates an empty data table with the given title.
@@ -302,26 +735,26 @@ public class DataTable {
 
         this.title = title;
 
-        if (columns != null) {
-            this.cols.addAll(columns);
-        }
-        if (this.cols.isEmpty()) {
+        List<Column<?>> cols = (columns == null) ? new ArrayList<>() : new ArrayList<>(columns);
+        Map<String, Column<?>> header = new HashMap<>();
+
+        if (cols.isEmpty()) {
             this.numCols = 0;
             this.numRows = 0;
-            this.size = 0;
         }
         else {
-            this.numCols = this.cols.size();
-            this.numRows = this.cols.get(0).rows.size();
-            this.size = numCols * numRows;
+            this.numCols = cols.size();
+            this.numRows = cols.get(0).getNumRows();
 
-            for (Column col : this.cols) {
-                if (col.rows.size() != numRows) {
+            for (Column col : cols) {
+                if (col.getNumRows() != numRows) {
                     throw new IllegalArgumentException("Row sizes are unequal.");
                 }
                 header.put(col.getLabel(), col);
             }
         }
+        this.cols = Collections.unmodifiableList(cols);
+        this.header = header;
     }
 
     /**
@@ -340,7 +773,7 @@ public class DataTable {
      * @return an unmodifiable list
      */
     public @NotNull List<Column<?>> getColumns() {
-        return colsView;
+        return cols;
     }
 
     /**
@@ -352,8 +785,9 @@ public class DataTable {
      * @throws IllegalArgumentException if no column in this table has the given label
      */
     public @NotNull Column<?> getColumn(String label) {
-        if (header.containsKey(label)) {
-            return header.get(label);
+        Column<?> column = header.get(label);
+        if (column != null) {
+            return column;
         }
         throw new IllegalArgumentException(String.format(
                 "No column with label '%s'", label));
@@ -389,7 +823,101 @@ public class DataTable {
      * @return the number of table cells
      */
     public int getNumCells() {
-        return size;
+        return numCols * numRows;
+    }
+
+    /**
+     * Adds a row of data to the end of this table.
+     *
+     * @param values the data elements of the row, one per column, in the order of the columns
+     * @throws IllegalArgumentException      if there isn't one value per column, or a value
+     *                                       can't be held by its column
+     * @throws UnsupportedOperationException if a column can't have rows added to it,
+     *                                       such as the column of a <i>sub-view</i>
+     * @see #appendRows(List)
+     */
+    public void appendRow(@NotNull List<?> values)
+            throws IllegalArgumentException, UnsupportedOperationException {
+
+        appendRows(Collections.singletonList(values));
+    }
+
+    /**
+     * Adds rows of data to the end of this table. Every row is checked before any
+     * are added, so either all the rows are added, or none are. Each column grows
+     * by at least half its size when it is full, and keeps its counts, if it has
+     * kept them, so that only the added rows are counted when they are next needed.
+     * Adding rows in batches is cheaper than one at a time.
+     *
+     * @param rows the rows of data, each with one value per column, in the order of the columns
+     * @throws IllegalArgumentException      if a row doesn't have one value per column, or a
+     *                                       value can't be held by its column
+     * @throws UnsupportedOperationException if a column can't have rows added to it,
+     *                                       such as the column of a <i>sub-view</i>
+     */
+    public synchronized void appendRows(@NotNull List<? extends List<?>> rows)
+            throws IllegalArgumentException, UnsupportedOperationException {
+
+        // make sure every row has a value for every column...
+
+        for (List<?> row : rows) {
+            if (row.size() != numCols) {
+                throw new IllegalArgumentException(String.format(
+                        "Mismatch in number of columns and values. (%d and %d)",
+                        numCols, row.size()));
+            }
+        }
+        if (numCols == 0 || rows.isEmpty()) {
+            return;
+        }
+
+        // split the rows into columns, and make sure each column can hold its values...
+
+        List<List<Object>> colValues = new ArrayList<>(numCols);
+        for (int c = 0; c < numCols; c++) {
+            List<Object> values = new ArrayList<>(rows.size());
+            for (List<?> row : rows) {
+                values.add(row.get(c));
+            }
+            cols.get(c).checkRows(values);
+            colValues.add(values);
+        }
+
+        // copy the columns that another table adds rows to, so that neither table's rows misalign...
+
+        List<Column<?>> owned = null;
+        for (int c = 0; c < numCols; c++) {
+            Column<?> col = cols.get(c);
+            if (!col.claim(this)) {
+                if (owned == null) {
+                    owned = new ArrayList<>(cols);
+                }
+                Column<?> copy = ViewColumn.of(col, IntStream.range(0, numRows).toArray()).toCopy();
+                copy.claim(this);
+                owned.set(c, copy);
+            }
+        }
+        if (owned != null) {
+            Map<String, Column<?>> header = new HashMap<>();
+            for (Column<?> col : owned) {
+                header.put(col.getLabel(), col);
+            }
+            this.header = header;
+            this.cols = Collections.unmodifiableList(owned);
+        }
+        List<Column<?>> cols = this.cols;
+
+        // add the rows to every column, and only then to the number of rows...
+
+        for (int c = 0; c < numCols; c++) {
+            append(cols.get(c), colValues.get(c));
+        }
+        numRows += rows.size();
+    }
+
+    @SuppressWarnings("unchecked")  // the values were checked by the column
+    private static <T> void append(@NotNull Column<T> column, @NotNull List<Object> values) {
+        column.append((List<T>) values);
     }
 
     /**
@@ -399,6 +927,7 @@ public class DataTable {
      * @param columnFilter a function that takes a column and returns
      *                     true if it should be included in the <i>sub-view</i>
      * @return a new table with a subset of the same data
+     * @see #toCopy()
      */
     public @NotNull DataTable toSubTable(@NotNull Predicate<Column<?>> columnFilter) {
         return new DataTable(title, cols.stream()
@@ -415,14 +944,12 @@ public class DataTable {
      *                     returns true if that row should be included in the <i>sub-view</i>
      * @param <T>          the type of data held by {@code column}
      * @return a new table with a subset of the same data
+     * @see #toCopy()
      */
     public <T> @NotNull DataTable toSubTable(
             @NotNull Column<T> filterColumn, @NotNull Predicate<T> rowFilter) {
 
-        List<Integer> indices = filterColumn.toSubColumnIndices(rowFilter);
-        return new DataTable(title, cols.stream()
-                .map(c -> c.toSubColumn(indices))
-                .collect(Collectors.toList()));
+        return toRowView(cols, filterColumn.selectIndices(rowFilter));
     }
 
     /**
@@ -432,6 +959,7 @@ public class DataTable {
      * @param colIndices the indices of the columns that should be included in the <i>sub-vew</i>
      * @param rowIndices the indices of the rows that should be included in the <i>sub-vew</i>
      * @return a new table with a subset of the same data
+     * @see #toCopy()
      */
     public @NotNull DataTable toSubTable(
             @Nullable List<Integer> colIndices, @Nullable List<Integer> rowIndices) {
@@ -444,10 +972,69 @@ public class DataTable {
 
         colRange.boxed()
                 .map(cols::get)
-                .map(c -> (rowIndices == null) ? c : c.toSubColumn(rowIndices))
                 .forEach(columns::add);
 
-        return new DataTable(title, columns);
+        return (rowIndices == null)
+                ? new DataTable(title, columns)
+                : toRowView(columns, rowIndices.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Creates a new table that represents a <i>sub-view</i> of this table.
+     * Some of this table's rows shall have been filtered out.
+     *
+     * @param rowIndices the indices of the rows that should be included in the
+     *                   <i>sub-view</i>, in ascending order, such as those found
+     *                   by {@link IntColumn#indicesWhere(java.util.function.IntPredicate)}
+     * @return a new table with a subset of the same data
+     * @see #toCopy()
+     */
+    public @NotNull DataTable toSubTable(@NotNull int[] rowIndices) {
+        return toRowView(cols, rowIndices.clone());
+    }
+
+    /**
+     * Creates a new table that represents a <i>sub-view</i> of this table.
+     * Some of this table's rows shall have been filtered out.
+     *
+     * @param selection the rows that should be included in the <i>sub-view</i>, such as
+     *                  those selected by {@link Column#select(Predicate)} on its columns
+     * @return a new table with a subset of the same data
+     *
+     * @throws IllegalArgumentException if the selection is not of this table's number of rows
+     * @see #toCopy()
+     */
+    public @NotNull DataTable toSubTable(@NotNull RowSelection selection) throws IllegalArgumentException {
+
+        if (selection.getNumRows() != numRows) {
+            throw new IllegalArgumentException(String.format(
+                    "Mismatch in number of rows and selected rows. (%d and %d)",
+                    numRows, selection.getNumRows()));
+        }
+        return toRowView(cols, selection.toIndices());
+    }
+
+    /**
+     * Creates a new table holding its own copy of this table's data.
+     * Unlike a <i>sub-view</i>, the copy does not keep this table
+     * or the table it is a <i>sub-view</i> of alive.
+     *
+     * @return a new table with the same data
+     */
+    public @NotNull DataTable toCopy() {
+        return new DataTable(title, cols.stream()
+                .map(Column::toCopy)
+                .collect(Collectors.toList()));
+    }
+
+    private @NotNull DataTable toRowView(@NotNull List<Column<?>> columns, @NotNull int[] rowIndices) {
+
+        // columns that are already views of the same rows share one selection...
+
+        Map<int[], int[]> selections = new IdentityHashMap<>();
+        return new DataTable(title, columns.stream()
+                .map(c -> ViewColumn.of(c, rowIndices, selections))
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -458,7 +1045,7 @@ public class DataTable {
     @Override
     public @NotNull String toString() {
         return String.format("DataTable[size=%d, cols={%s}]",
-                size, cols.stream()
+                getNumCells(), cols.stream()
                         .map(Column::toString)
                         .collect(Collectors.joining(", ")));
     }
@@ -470,13 +1057,15 @@ public class DataTable {
      */
     public String toDiagram() {
 
-        // serialize all the data under the column...
+        // serialize all the data under the column, up to the rows that were there to begin with...
+
+        int numRows = this.numRows;
 
         List<List<String>> colRowStrings = new ArrayList<>();
         for (Column<?> column : cols) {
             List<String> rowStrings = new ArrayList<>();
-            for (Object elem : column.rows) {
-                rowStrings.add(elem.toString());
+            for (int i = 0; i < numRows; i++) {
+                rowStrings.add(column.getRow(i).toString());
             }
             colRowStrings.add(rowStrings);
         }
@@ -578,38 +1167,68 @@ public class DataTable {
     public final void toCsv(@NotNull File file, @NotNull Function<Object, String>... serializers)
             throws IllegalArgumentException, IOException {
 
-        try (FileWriter fileWriter = new FileWriter(file);
-             CSVWriter csvWriter = new CSVWriter(fileWriter)) {
-
-            // write the table header...
+        toCsv(file, null, serializers);
+    }
 
-            String[] header = new String[numCols];
-            for (int i = 0; i < numCols; i++) {
-                header[i] = cols.get(i).label;
-            }
-            csvWriter.writeNext(header);
+    /**
+     * Serializes this table to a CSV file, in blocks of rows that are serialized
+     * in parallel by a pool and written in order. The values of dictionary-encoded
+     * columns are serialized once each, rather than once per row.
+     *
+     * @param file        the file to write
+     * @param pool        the pool to serialize with, or null to serialize on the calling thread
+     * @param serializers an optional array of functions, one per column, that each
+     *                    take a datum from that column's rows and serialize it into
+     *                    a string for the CSV file. If unused, all data is simply
+     *                    converted into a string using {@link Objects#toString()}
+     * @throws IllegalArgumentException if the number of serializers is not zero but
+     *                                  does not match the number of columns
+     * @throws IOException              if the file could not be created or modified
+     */
+    @SafeVarargs // 'serializers' array is only accessed
+    public final void toCsv(
+            @NotNull File file,
+            @Nullable ForkJoinPool pool,
+            @NotNull Function<Object, String>... serializers)
+            throws IllegalArgumentException, IOException {
 
-            // ensure the number of serializers, if any, match the number of columns...
+        // ensure the number of serializers, if any, match the number of columns...
 
-            if (serializers.length > 0 && (serializers.length != header.length)) {
-                throw new IllegalArgumentException(String.format(
-                        "Mismatch in number of columns and serializers. (%d and %d)",
-                        header.length, serializers.length));
-            }
+        if (serializers.length > 0 && (serializers.length != numCols)) {
+            throw new IllegalArgumentException(String.format(
+                    "Mismatch in number of columns and serializers. (%d and %d)",
+                    numCols, serializers.length));
+        }
+        new CsvWriter(this, serializers).write(file, pool);
+    }
 
-            // write the table data...
+    /**
+     * Serializes this table to a binary, columnar file, which can be loaded again far
+     * faster than a CSV file. Each column is stored as a dictionary of its distinct
+     * values, serialized once each, followed by one packed code per row.
+     *
+     * @param file        the file to write
+     * @param serializers an optional array of functions, one per column, that each
+     *                    take a distinct value from that column and serialize it into
+     *                    a string for the file. If unused, all data is simply
+     *                    converted into a string using {@link Objects#toString()}
+     * @throws IllegalArgumentException if the number of serializers is not zero but
+     *                                  does not match the number of columns
+     * @throws IOException              if the file could not be created or modified
+     * @see #fromBinary(File, Function[])
+     */
+    @SafeVarargs // 'serializers' array is only accessed
+    public final void toBinary(@NotNull File file, @NotNull Function<Object, String>... serializers)
+            throws IllegalArgumentException, IOException {
 
-            for (int r = 0; r < numRows; r++) {
-                String[] line = new String[numCols];
+        // ensure the number of serializers, if any, match the number of columns...
 
-                for (int c = 0; c < numCols; c++) {
-                    line[c] = (serializers.length == 0)
-                            ? cols.get(c).rows.get(r).toString()
-                            : serializers[c].apply(cols.get(c).rows.get(r));
-                }
-                csvWriter.writeNext(line);
-            }
+        if (serializers.length > 0 && (serializers.length != numCols)) {
+            throw new IllegalArgumentException(String.format(
+                    "Mismatch in number of columns and serializers. (%d and %d)",
+                    numCols, serializers.length));
         }
+        TableFile.write(this, file, serializers);
     }
 
     /**
@@ -632,6 +1251,34 @@ public class DataTable {
             @NotNull File file, @NotNull Function<String, Object>... deserializers)
             throws IOException, CsvValidationException, IllegalArgumentException {
 
+        return fromCsvFile(file, Storage.BOXED, deserializers);
+    }
+
+    /**
+     * Deserializes a CSV file into a new data table, storing
+     * the rows of each column in the given way.
+     *
+     * @param file          the CSV file to read
+     * @param storage       how the columns of the new table store their rows
+     * @param deserializers an optional array of functions, one per column, that each
+     *                      take a string and deserialize it into the desired data type
+     *                      for the column. If unused, all data simply remains a string.
+     * @return a new table representing the CSV file's data
+     *
+     * @throws IOException              if the file could not be found or read
+     * @throws CsvValidationException   if the file contained invalid CSV
+     * @throws IllegalArgumentException if the number of deserializers is not zero but
+     *                                  does not match the number of columns OR if the
+     *                                  number of columns per line do not all match
+     * @see CsvLoader
+     */
+    @SafeVarargs  // 'deserializers' array is only accessed
+    public static @NotNull DataTable fromCsvFile(
+            @NotNull File file,
+            @NotNull Storage storage,
+            @NotNull Function<String, Object>... deserializers)
+            throws IOException, CsvValidationException, IllegalArgumentException {
+
         try (FileReader fileReader = new FileReader(file);
              CSVReader csvReader = new CSVReader(fileReader)) {
 
@@ -650,11 +1297,11 @@ public class DataTable {
                         header.length, deserializers.length));
             }
 
-            // initialize the data map...
+            // initialize the column builders...
 
-            Map<String, List<Object>> data = new HashMap<>();
+            List<ColumnBuilder<Object>> builders = new ArrayList<>();
             for (String label : header) {
-                data.put(label, new ArrayList<>());
+                builders.add(storage.newBuilder(label));
             }
 
             // collect table data...
@@ -668,7 +1315,7 @@ public class DataTable {
                             line.length, header.length));
                 }
                 for (int i = 0; i < line.length; i++) {
-                    data.get(header[i]).add(
+                    builders.get(i).add(
                             (deserializers.length == 0)
                                     ? line[i]
                                     : deserializers[i].apply(line[i]));
@@ -678,8 +1325,8 @@ public class DataTable {
             // parse columns...
 
             List<Column<?>> columns = new ArrayList<>();
-            for (String label : header) {
-                columns.add(new Column<>(label, data.get(label)));
+            for (ColumnBuilder<Object> builder : builders) {
+                columns.add(builder.build());
             }
 
             // create and return the data table...
@@ -687,4 +1334,30 @@ public class DataTable {
             return new DataTable(file.getName(), columns);
         }
     }
+
+    /**
+     * Loads a binary, columnar file written by {@link #toBinary(File, Function[])}
+     * into a new data table. The file is memory-mapped, and only its header and
+     * dictionaries are read, so the deserializers run once per distinct value
+     * rather than once per row. The rows of every column stay in the file, as
+     * packed codes, and are paged in as they are used.
+     *
+     * @param file          the binary file to read
+     * @param deserializers an optional array of functions, one per column, that each
+     *                      take a string and deserialize it into the desired data type
+     *                      for the column. If unused, all data simply remains a string.
+     * @return a new table of {@link EncodedColumn}s representing the file's data
+     *
+     * @throws IOException              if the file could not be found or read
+     * @throws IllegalArgumentException if the file was not written by {@code toBinary()}
+     *                                  OR if the number of deserializers is not zero but
+     *                                  does not match the number of columns
+     */
+    @SafeVarargs  // 'deserializers' array is only accessed
+    public static @NotNull DataTable fromBinary(
+            @NotNull File file, @NotNull Function<String, Object>... deserializers)
+            throws IOException, IllegalArgumentException {
+
+        return TableFile.read(file, deserializers);
+    }
 }
@@ -0,0 +1,264 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:25 AM
+ * PROJ: OracleMachineLearning
+ * FILE: DoubleColumn.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the DoubleColumn class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoublePredicate;
+
+/**
+ * Represents a column of <i>double</i>s in a {@link DataTable},
+ * held in an <i>double[]</i> of eight bytes per row.
+ *
+ * @author agent
+ * @see ColumnType#DOUBLE
+ */
+public class DoubleColumn extends NumericColumn<Double> {
+
+    /**
+     * Builds a double column one row at a time, without boxing.
+     */
+    public static class Builder implements ColumnBuilder<Double> {
+
+        private final @NotNull String label;
+        private double[] rows = new double[16];
+        private int size = 0;
+
+        /**
+         * Creates a builder for a column with the given label.
+         *
+         * @param label the label of the column
+         */
+        public Builder(@NotNull String label) {
+            this.label = label;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void add(@NotNull Double value) {
+            addDouble(value);
+        }
+
+        /**
+         * Adds a row of data to the end of the column being built.
+         *
+         * @param value the data element
+         */
+        public void addDouble(double value) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rows[size++] = value;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public @NotNull DoubleColumn build() {
+            return new DoubleColumn(label, Arrays.copyOf(rows, size));
+        }
+    }
+
+    private volatile @NotNull double[] rows;
+    private volatile int size;  /* raised only once the rows below it are written */
+
+    /**
+     * Creates a column with the given label and data.
+     * The array becomes this column's own, and is not copied.
+     *
+     * @param label the label of this column
+     * @param rows  the data held by this column
+     */
+    public DoubleColumn(@NotNull String label, @NotNull double[] rows) {
+        super(label);
+        this.rows = rows;
+        this.size = rows.length;
+    }
+
+    /**
+     * Creates a column with the given label and data.
+     *
+     * @param label the label of this column
+     * @param rows  the data held by this column
+     */
+    public DoubleColumn(@NotNull String label, @Nullable List<Double> rows) {
+        this(label, (rows == null) ? new double[0] : rows.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    /**
+     * Gets a single row of data under this column, without boxing it.
+     *
+     * @param index the index of the row
+     * @return the data element
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is not a valid row
+     */
+    public double getDouble(int index) {
+
+        int checked = checkIndex(index);
+        return rows[checked];
+    }
+
+    /**
+     * Creates a copy of the rows of data under this column.
+     *
+     * @return a new array of the data elements
+     */
+    public @NotNull double[] toDoubleArray() {
+        int numRows = size;
+        return Arrays.copyOf(rows, numRows);
+    }
+
+    /**
+     * Finds the indices of the rows that match the given filter, without boxing them.
+     *
+     * @param filter a function that takes data from this column's rows and
+     *               returns true if its row's index should be included
+     * @return an ascending array of row indices, which may be given
+     * to {@link DataTable#toSubTable(int[])}
+     */
+    public @NotNull int[] indicesWhere(@NotNull DoublePredicate filter) {
+
+        int[] indices = new int[size];
+        double[] rows = this.rows;
+        int count = 0;
+
+        for (int i = 0; i < indices.length; i++) {
+            if (filter.test(rows[i])) {
+                indices[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    /**
+     * Selects the rows that match the given filter, without boxing them.
+     *
+     * @param filter a function that takes data from this column's rows and
+     *               returns true if that row should be selected
+     * @return a new selection of this column's rows
+     */
+    public @NotNull RowSelection selectWhere(@NotNull DoublePredicate filter) {
+
+        int numRows = size;
+        double[] rows = this.rows;
+        RowSelection.Builder selection = new RowSelection.Builder(numRows);
+        for (int i = 0; i < numRows; i++) {
+            if (filter.test(rows[i])) {
+                selection.add(i);
+            }
+        }
+        return selection.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumRows() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Double getRow(int index) {
+        return getDouble(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull DoubleColumn toCopy() {
+        return new DoubleColumn(getLabel(), toDoubleArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addRows(@NotNull List<Double> rows) {
+
+        // grow the array by half again, or to fit the rows, before writing past the end of this column...
+
+        int size = this.size;
+        double[] grown = this.rows;
+        if (size + rows.size() > grown.length) {
+            grown = Arrays.copyOf(grown, Math.max(size + rows.size(), Math.max(16, grown.length + (grown.length >> 1))));
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            grown[size + i] = rows.get(i);
+        }
+
+        // publish the array before the number of rows...
+
+        this.rows = grown;
+        this.size = size + rows.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NotNull Class<Double> getNumberType() {
+        return Double.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NotNull DoubleColumn gather(@NotNull int[] indices) {
+
+        double[] rows = this.rows;
+        double[] result = new double[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            result[i] = rows[indices[i]];
+        }
+        return new DoubleColumn(getLabel(), result);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void countSorted(int numRows, @NotNull CountConsumer<Double> consumer) {
+
+        double[] sorted = Arrays.copyOf(rows, numRows);
+        Arrays.sort(sorted);
+
+        for (int start = 0, end; start < sorted.length; start = end) {
+            end = start + 1;
+            while (end < sorted.length && Double.compare(sorted[end], sorted[start]) == 0) {
+                end++;
+            }
+            consumer.accept(sorted[start], end - start);
+        }
+    }
+}
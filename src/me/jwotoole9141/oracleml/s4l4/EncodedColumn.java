@@ -0,0 +1,354 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 8:45 AM
+ * PROJ: OracleMachineLearning
+ * FILE: EncodedColumn.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the EncodedColumn class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Represents a dictionary-encoded column of data in a {@link DataTable}.
+ * Rather than holding a reference per row, the column holds a single
+ * {@link ValueDictionary} of its distinct values and a compact
+ * {@link CodeArray} with one code per row. This suits categorical
+ * data with many rows but few distinct values.
+ *
+ * @param <T> the type of data held in this column
+ * @author agent
+ * @see DataTable.Storage#DICTIONARY
+ */
+public class EncodedColumn<T> extends DataTable.Column<T> {
+
+    /**
+     * Builds an encoded column one row at a time, without
+     * ever holding a reference per row.
+     *
+     * @param <T> the type of data held in the column being built
+     */
+    public static class Builder<T> implements ColumnBuilder<T> {
+
+        private final @NotNull String label;
+        private final @NotNull ValueDictionary<T> dictionary;
+        private int[] codes = new int[16];
+        private int size = 0;
+
+        /**
+         * Creates a builder for a column with the given label.
+         *
+         * @param label the label of the column
+         */
+        public Builder(@NotNull String label) {
+            this(label, new ValueDictionary<>());
+        }
+
+        /**
+         * Creates a builder for a column with the given label
+         * that encodes its rows with an existing dictionary.
+         *
+         * @param label      the label of the column
+         * @param dictionary the dictionary to encode rows with
+         */
+        public Builder(@NotNull String label, @NotNull ValueDictionary<T> dictionary) {
+            this.label = label;
+            this.dictionary = dictionary;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void add(@NotNull T value) {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, codes.length * 2);
+            }
+            codes[size++] = dictionary.encode(value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public @NotNull EncodedColumn<T> build() {
+            return new EncodedColumn<>(label, dictionary,
+                    CodeArray.of(codes, size, dictionary.size()));
+        }
+    }
+
+    private final @NotNull ValueDictionary<T> dictionary;
+    private volatile @NotNull CodeArray codes;  /* replaced by each append, once its rows are encoded */
+    private boolean ownsCodes = false;  /* true once the codes were copied by an append */
+
+    /**
+     * Creates a column with the given label and data.
+     *
+     * @param label the label of this column
+     * @param rows  the data held by this column
+     */
+    public EncodedColumn(@NotNull String label, @Nullable List<T> rows) {
+
+        super(label);
+
+        Builder<T> builder = new Builder<>(label);
+        if (rows != null) {
+            rows.forEach(builder::add);
+        }
+        this.dictionary = builder.dictionary;
+        this.codes = CodeArray.of(builder.codes, builder.size, dictionary.size());
+    }
+
+    /**
+     * Creates a column with the given label from already encoded data.
+     *
+     * @param label      the label of this column
+     * @param dictionary the dictionary that {@code codes} refer to
+     * @param codes      one code per row of this column
+     */
+    public EncodedColumn(
+            @NotNull String label,
+            @NotNull ValueDictionary<T> dictionary,
+            @NotNull CodeArray codes) {
+
+        super(label);
+        this.dictionary = dictionary;
+        this.codes = codes;
+    }
+
+    /**
+     * Gets the dictionary of values that this column's codes refer to.
+     * The dictionary may hold values that do not appear in this column,
+     * when it is shared with other columns.
+     *
+     * @return the value dictionary
+     */
+    public @NotNull ValueDictionary<T> getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Gets the codes of the rows of data under this column.
+     *
+     * @return one code per row
+     */
+    public @NotNull CodeArray getCodes() {
+        return codes;
+    }
+
+    /**
+     * Gets the number of occurrences of every code under this column.
+     *
+     * @return an array indexed by code, as long as the dictionary
+     */
+    public @NotNull int[] getCodeCounts() {
+        return getCodeCounts(getNumRows());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull List<T> getRows() {
+        return new RowsView(codes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumRows() {
+        return codes.length();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull T getRow(int index) {
+        return dictionary.decode(codes.get(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Set<T> getValues() {
+
+        // count the codes only once the values are needed, since they may be mapped from a file...
+
+        return getCounts().keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The codes of the rows are counted, rather than their values.
+     */
+    @Override
+    protected @NotNull Map<T, Integer> countValues(int numRows) {
+        return toCounts(dictionary, getCodeCounts(numRows));
+    }
+
+    /**
+     * {@inheritDoc}
+     * New values are added to the dictionary. The codes are copied the first
+     * time rows are added, since they may be shared with other columns, and
+     * are written into room to spare after that.
+     */
+    @Override
+    protected void addRows(@NotNull List<T> rows) {
+
+        // encode the rows before publishing their codes, so that readers who read
+        // the codes before the dictionary find every code in it...
+
+        int[] added = new int[rows.size()];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = dictionary.encode(rows.get(i));
+        }
+        codes = codes.append(added, added.length, dictionary.size(), ownsCodes);
+        ownsCodes = true;
+    }
+
+    /**
+     * Creates a new column holding its own copy of this column's codes.
+     * The new column shares this column's dictionary.
+     *
+     * @return a new column with the same data
+     */
+    @Override
+    public @NotNull EncodedColumn<T> toCopy() {
+        CodeArray codes = this.codes;
+        return new EncodedColumn<>(getLabel(), dictionary, codes.slice(0, codes.length()));
+    }
+
+    /**
+     * Returns this column, which is already encoded.
+     *
+     * @return this column
+     */
+    @Override
+    public @NotNull EncodedColumn<T> toEncodedColumn() {
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The codes of the selected rows are counted, rather than their values.
+     */
+    @Override
+    public Map<T, Integer> getCounts(@NotNull RowSelection selection) throws IllegalArgumentException {
+
+        checkSelection(selection);
+
+        CodeArray codes = this.codes;
+        int[] codeCounts = new int[dictionary.size()];
+        selection.forEach(i -> codeCounts[codes.get(i)]++);
+        return toCounts(dictionary, codeCounts);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The filter is only tested once per distinct value, the first time
+     * that a row of the value is read.
+     */
+    @Override
+    public @NotNull RowSelection select(@NotNull Predicate<T> filter) {
+
+        // read the codes before the dictionary, which holds every code of rows being added...
+
+        CodeArray codes = this.codes;
+        Boolean[] accepted = new Boolean[dictionary.size()];  /* null until tested */
+
+        // select the rows whose codes are accepted, testing each code only once...
+
+        RowSelection.Builder selection = new RowSelection.Builder(codes.length());
+        for (int i = 0, n = codes.length(); i < n; i++) {
+            int code = codes.get(i);
+            if (accepted[code] == null) {
+                accepted[code] = filter.test(dictionary.decode(code));
+            }
+            if (accepted[code]) {
+                selection.add(i);
+            }
+        }
+        return selection.build();
+    }
+
+    /**
+     * Decodes the counts of codes into counts of values, leaving out the codes that don't occur.
+     *
+     * @param dictionary the dictionary that the codes refer to
+     * @param codeCounts an array of counts indexed by code
+     * @param <T>        the type of data held by the dictionary
+     * @return a new map of the values that occur, in order of their codes, to their number of occurrences
+     */
+    static <T> @NotNull Map<T, Integer> toCounts(@NotNull ValueDictionary<T> dictionary, @NotNull int[] codeCounts) {
+
+        Map<T, Integer> counts = new LinkedHashMap<>();
+        for (int code = 0; code < codeCounts.length; code++) {
+            if (codeCounts[code] > 0) {
+                counts.put(dictionary.decode(code), codeCounts[code]);
+            }
+        }
+        return counts;
+    }
+
+    private @NotNull int[] getCodeCounts(int numRows) {
+
+        // read the codes before the dictionary, which holds every code of rows being added...
+
+        CodeArray codes = this.codes;
+        int[] counts = new int[dictionary.size()];
+
+        // count codes of one byte each with the fastest counter, which may be vectorized...
+
+        byte[] bytes = codes.getByteArray();
+        if (bytes != null) {
+            CodeCounter.INSTANCE.count(bytes, numRows, counts.length, counts);
+            return counts;
+        }
+        for (int i = 0; i < numRows; i++) {
+            counts[codes.get(i)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * A read-only list of the rows of one array of codes, that decodes rows on access.
+     */
+    private class RowsView extends AbstractList<T> implements RandomAccess {
+
+        private final @NotNull CodeArray codes;
+
+        RowsView(@NotNull CodeArray codes) {
+            this.codes = codes;
+        }
+
+        @Override
+        public T get(int index) {
+            return dictionary.decode(codes.get(index));
+        }
+
+        @Override
+        public int size() {
+            return codes.length();
+        }
+    }
+}
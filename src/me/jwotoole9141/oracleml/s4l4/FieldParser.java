@@ -0,0 +1,483 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:25 AM
+ * PROJ: OracleMachineLearning
+ * FILE: FieldParser.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the FieldParser class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Parses the fields of one column of a CSV file into a column of a
+ * {@link ColumnType}. Numbers are parsed straight from a field's bytes,
+ * without creating a string.
+ *
+ * @author agent
+ * @see CsvLoader
+ */
+abstract class FieldParser {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    final @NotNull String label;
+
+    FieldParser(@NotNull String label) {
+        this.label = label;
+    }
+
+    /**
+     * Parses a field and adds it to the end of the column.
+     *
+     * @param bytes  an array holding the field's UTF-8 bytes
+     * @param length the number of bytes in the field
+     * @throws NumberFormatException if the field is not a number of the column's type
+     */
+    abstract void add(@NotNull byte[] bytes, int length) throws NumberFormatException;
+
+    /**
+     * Parses a field and adds it to the end of the column.
+     *
+     * @param text the field
+     * @throws NumberFormatException if the field is not a number of the column's type
+     */
+    abstract void add(@NotNull String text) throws NumberFormatException;
+
+    /**
+     * Creates the column from the fields added so far.
+     *
+     * @return a new column
+     */
+    abstract @NotNull DataTable.Column<?> build();
+
+    /**
+     * Empties the column, so that the next fields start a new one. Any
+     * dictionary that the column is encoded with is kept, so the columns
+     * built before and after share it.
+     */
+    abstract void reset();
+
+    /**
+     * Parses the fields of a column of strings, which may be deserialized.
+     */
+    static final class Strings extends FieldParser {
+
+        private final @NotNull DataTable.Storage storage;
+        private final @Nullable Function<String, Object> deserializer;
+        private final @Nullable ValueDictionary<Object> dictionary;
+        private final @NotNull StringPool pool = new StringPool();
+        private @NotNull ColumnBuilder<Object> builder;
+
+        Strings(@NotNull String label,
+                @NotNull DataTable.Storage storage,
+                @Nullable Function<String, Object> deserializer) {
+
+            super(label);
+            this.storage = storage;
+            this.deserializer = deserializer;
+            this.dictionary = (storage == DataTable.Storage.DICTIONARY) ? new ValueDictionary<>() : null;
+            reset();
+        }
+
+        @Override
+        void add(@NotNull byte[] bytes, int length) {
+            add(pool.intern(bytes, length));
+        }
+
+        @Override
+        void add(@NotNull String text) {
+            builder.add(deserializer == null ? text : deserializer.apply(text));
+        }
+
+        @Override
+        @NotNull DataTable.Column<?> build() {
+            return builder.build();
+        }
+
+        @Override
+        void reset() {
+            builder = (dictionary == null)
+                    ? storage.newBuilder(label)
+                    : new EncodedColumn.Builder<>(label, dictionary);
+        }
+    }
+
+    /**
+     * Parses the fields of a column of <i>int</i>s.
+     */
+    static final class Ints extends FieldParser {
+
+        private @NotNull IntColumn.Builder builder;
+
+        Ints(@NotNull String label) {
+            super(label);
+            this.builder = new IntColumn.Builder(label);
+        }
+
+        @Override
+        void add(@NotNull byte[] bytes, int length) {
+            long value = parseLong(bytes, length, label);
+            if (value != (int) value) {
+                throw invalid(bytes, length, label);
+            }
+            builder.addInt((int) value);
+        }
+
+        @Override
+        void add(@NotNull String text) {
+            builder.addInt(Integer.parseInt(text.trim()));
+        }
+
+        @Override
+        @NotNull DataTable.Column<?> build() {
+            return builder.build();
+        }
+
+        @Override
+        void reset() {
+            builder = new IntColumn.Builder(label);
+        }
+    }
+
+    /**
+     * Parses the fields of a column of <i>long</i>s.
+     */
+    static final class Longs extends FieldParser {
+
+        private @NotNull LongColumn.Builder builder;
+
+        Longs(@NotNull String label) {
+            super(label);
+            this.builder = new LongColumn.Builder(label);
+        }
+
+        @Override
+        void add(@NotNull byte[] bytes, int length) {
+            builder.addLong(parseLong(bytes, length, label));
+        }
+
+        @Override
+        void add(@NotNull String text) {
+            builder.addLong(Long.parseLong(text.trim()));
+        }
+
+        @Override
+        @NotNull DataTable.Column<?> build() {
+            return builder.build();
+        }
+
+        @Override
+        void reset() {
+            builder = new LongColumn.Builder(label);
+        }
+    }
+
+    /**
+     * Parses the fields of a column of <i>double</i>s.
+     */
+    static final class Doubles extends FieldParser {
+
+        private @NotNull DoubleColumn.Builder builder;
+
+        Doubles(@NotNull String label) {
+            super(label);
+            this.builder = new DoubleColumn.Builder(label);
+        }
+
+        @Override
+        void add(@NotNull byte[] bytes, int length) {
+            builder.addDouble(parseDouble(bytes, length, label));
+        }
+
+        @Override
+        void add(@NotNull String text) {
+            builder.addDouble(parseDouble(text, label));
+        }
+
+        @Override
+        @NotNull DataTable.Column<?> build() {
+            return builder.build();
+        }
+
+        @Override
+        void reset() {
+            builder = new DoubleColumn.Builder(label);
+        }
+    }
+
+    /**
+     * Parses the fields of a column of booleans, into an encoded column.
+     */
+    static final class Booleans extends FieldParser {
+
+        private final @NotNull ValueDictionary<Boolean> dictionary = new ValueDictionary<>();
+        private @NotNull ColumnBuilder<Boolean> builder;
+
+        Booleans(@NotNull String label) {
+            super(label);
+            this.builder = new EncodedColumn.Builder<>(label, dictionary);
+        }
+
+        @Override
+        void add(@NotNull byte[] bytes, int length) {
+            if (!isBoolean(bytes, length)) {
+                throw new IllegalArgumentException(String.format("Invalid boolean '%s' in column '%s'.",
+                        new String(bytes, 0, length, StandardCharsets.UTF_8), label));
+            }
+            int start = skipSpaces(bytes, 0, length);
+            builder.add(bytes[start] == 't' || bytes[start] == 'T');
+        }
+
+        @Override
+        void add(@NotNull String text) {
+            builder.add(parseBoolean(text, label));
+        }
+
+        @Override
+        @NotNull DataTable.Column<?> build() {
+            return builder.build();
+        }
+
+        @Override
+        void reset() {
+            builder = new EncodedColumn.Builder<>(label, dictionary);
+        }
+    }
+
+    /**
+     * Checks if a field is <i>true</i> or <i>false</i>, in any case,
+     * which may be surrounded by spaces.
+     *
+     * @param bytes  an array holding the field's bytes
+     * @param length the number of bytes in the field
+     * @return true if the field is a boolean
+     */
+    static boolean isBoolean(@NotNull byte[] bytes, int length) {
+
+        int start = skipSpaces(bytes, 0, length);
+        int end = trimSpaces(bytes, start, length);
+        return matches(bytes, start, end, "true") || matches(bytes, start, end, "false");
+    }
+
+    /**
+     * Parses <i>true</i> or <i>false</i>, in any case, which may be surrounded by spaces.
+     *
+     * @param text  the field
+     * @param label the label of the field's column
+     * @return the boolean
+     *
+     * @throws IllegalArgumentException if the field is not a boolean
+     */
+    static boolean parseBoolean(@NotNull String text, @NotNull String label) throws IllegalArgumentException {
+
+        String trimmed = text.trim();
+        if (trimmed.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (trimmed.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException(String.format(
+                "Invalid boolean '%s' in column '%s'.", text, label));
+    }
+
+    /**
+     * Parses a decimal <i>long</i>, which may be surrounded by spaces.
+     *
+     * @param bytes  an array holding the field's bytes
+     * @param length the number of bytes in the field
+     * @param label  the label of the field's column
+     * @return the number
+     *
+     * @throws NumberFormatException if the field is not a <i>long</i>
+     */
+    static long parseLong(@NotNull byte[] bytes, int length, @NotNull String label) throws NumberFormatException {
+
+        int start = skipSpaces(bytes, 0, length);
+        int end = trimSpaces(bytes, start, length);
+
+        boolean negative = start < end && bytes[start] == '-';
+        int i = (start < end && (bytes[start] == '-' || bytes[start] == '+')) ? start + 1 : start;
+        if (i == end) {
+            throw invalid(bytes, length, label);
+        }
+
+        // accumulate negatively, so that Long.MIN_VALUE fits...
+
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                throw invalid(bytes, length, label);
+            }
+            value = value * 10 - digit;
+        }
+        if (!negative && value == Long.MIN_VALUE) {
+            throw invalid(bytes, length, label);
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * Parses a decimal <i>double</i>, which may be surrounded by spaces. Only
+     * digits with an optional sign, fraction and exponent, such as {@code -1.5e3},
+     * or {@code NaN} and {@code Infinity} in any case, as written by
+     * {@link Double#toString(double)}, are numbers; the suffixes and hexadecimal
+     * forms that {@link Double#parseDouble(String)} also accepts are not. A number with no more than 15 significant digits and
+     * a small exponent is parsed exactly by one multiplication or division of
+     * doubles, and any other number by {@link Double#parseDouble(String)}.
+     *
+     * @param bytes  an array holding the field's bytes
+     * @param length the number of bytes in the field
+     * @param label  the label of the field's column
+     * @return the number
+     *
+     * @throws NumberFormatException if the field is not a <i>double</i>
+     */
+    static double parseDouble(@NotNull byte[] bytes, int length, @NotNull String label) throws NumberFormatException {
+
+        int start = skipSpaces(bytes, 0, length);
+        int end = trimSpaces(bytes, start, length);
+
+        int i = start;
+        boolean negative = i < end && bytes[i] == '-';
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            i++;
+        }
+        if (matches(bytes, i, end, "nan")) {
+            return Double.NaN;
+        }
+        if (matches(bytes, i, end, "infinity")) {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+
+        // read the digits of the mantissa, and where its point is...
+
+        long mantissa = 0;
+        int exponent = 0;
+        int numDigits = 0;
+        int pointDigits = -1;
+        boolean exact = true;
+
+        for (; i < end; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                numDigits++;
+                if (mantissa < MAX_EXACT_MANTISSA / 10) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (pointDigits >= 0) {
+                        exponent--;
+                    }
+                }
+                else {
+                    exact = false;
+                }
+            }
+            else if (b == '.' && pointDigits < 0 && numDigits > 0) {
+                pointDigits = numDigits;
+            }
+            else {
+                break;
+            }
+        }
+        if (numDigits == 0 || pointDigits == numDigits) {
+            throw invalid(bytes, length, label);
+        }
+
+        // read the exponent, if any...
+
+        if (i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = i < end && bytes[i] == '-';
+            if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+                i++;
+            }
+            int explicit = 0;
+            int expStart = i;
+            for (; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+                explicit = Math.min(explicit * 10 + (bytes[i] - '0'), 1 << 20);
+            }
+            if (i == expStart) {
+                throw invalid(bytes, length, label);
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (i != end) {
+            throw invalid(bytes, length, label);
+        }
+
+        if (!exact || exponent < -(POWERS_OF_TEN.length - 1) || exponent > POWERS_OF_TEN.length - 1) {
+
+            // leave numbers that can't be parsed exactly to the library...
+
+            return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+        }
+
+        double value = (exponent < 0)
+                ? mantissa / POWERS_OF_TEN[-exponent]
+                : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a decimal <i>double</i>, which may be surrounded by spaces.
+     *
+     * @param text  the field
+     * @param label the label of the field's column
+     * @return the number
+     *
+     * @throws NumberFormatException if the field is not a <i>double</i>
+     * @see #parseDouble(byte[], int, String)
+     */
+    static double parseDouble(@NotNull String text, @NotNull String label) throws NumberFormatException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return parseDouble(bytes, bytes.length, label);
+    }
+
+    private static @NotNull NumberFormatException invalid(@NotNull byte[] bytes, int length, @NotNull String label) {
+        return new NumberFormatException(String.format("Invalid number '%s' in column '%s'.",
+                new String(bytes, 0, length, StandardCharsets.UTF_8), label));
+    }
+
+    static int skipSpaces(@NotNull byte[] bytes, int start, int end) {
+        while (start < end && (bytes[start] == ' ' || bytes[start] == '\t')) {
+            start++;
+        }
+        return start;
+    }
+
+    static int trimSpaces(@NotNull byte[] bytes, int start, int end) {
+        while (end > start && (bytes[end - 1] == ' ' || bytes[end - 1] == '\t')) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean matches(@NotNull byte[] bytes, int start, int end, @NotNull String word) {
+
+        if (end - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.toLowerCase((char) bytes[start + i]) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
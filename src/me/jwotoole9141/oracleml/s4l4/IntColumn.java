@@ -0,0 +1,272 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:25 AM
+ * PROJ: OracleMachineLearning
+ * FILE: IntColumn.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the IntColumn class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Represents a column of <i>int</i>s in a {@link DataTable},
+ * held in an <i>int[]</i> of four bytes per row.
+ *
+ * @author agent
+ * @see ColumnType#INT
+ */
+public class IntColumn extends NumericColumn<Integer> {
+
+    /**
+     * Builds an int column one row at a time, without boxing.
+     */
+    public static class Builder implements ColumnBuilder<Integer> {
+
+        private final @NotNull String label;
+        private int[] rows = new int[16];
+        private int size = 0;
+
+        /**
+         * Creates a builder for a column with the given label.
+         *
+         * @param label the label of the column
+         */
+        public Builder(@NotNull String label) {
+            this.label = label;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void add(@NotNull Integer value) {
+            addInt(value);
+        }
+
+        /**
+         * Adds a row of data to the end of the column being built.
+         *
+         * @param value the data element
+         */
+        public void addInt(int value) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            rows[size++] = value;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public @NotNull IntColumn build() {
+            return new IntColumn(label, Arrays.copyOf(rows, size));
+        }
+    }
+
+    private volatile @NotNull int[] rows;
+    private volatile int size;  /* raised only once the rows below it are written */
+
+    /**
+     * Creates a column with the given label and data.
+     * The array becomes this column's own, and is not copied.
+     *
+     * @param label the label of this column
+     * @param rows  the data held by this column
+     */
+    public IntColumn(@NotNull String label, @NotNull int[] rows) {
+        super(label);
+        this.rows = rows;
+        this.size = rows.length;
+    }
+
+    /**
+     * Creates a column with the given label and data.
+     *
+     * @param label the label of this column
+     * @param rows  the data held by this column
+     */
+    public IntColumn(@NotNull String label, @Nullable List<Integer> rows) {
+        this(label, (rows == null) ? new int[0] : rows.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Gets a single row of data under this column, without boxing it.
+     *
+     * @param index the index of the row
+     * @return the data element
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is not a valid row
+     */
+    public int getInt(int index) {
+
+        int checked = checkIndex(index);
+        return rows[checked];
+    }
+
+    /**
+     * Creates a copy of the rows of data under this column.
+     *
+     * @return a new array of the data elements
+     */
+    public @NotNull int[] toIntArray() {
+        int numRows = size;
+        return Arrays.copyOf(rows, numRows);
+    }
+
+    /**
+     * Finds the indices of the rows that match the given filter, without boxing them.
+     *
+     * @param filter a function that takes data from this column's rows and
+     *               returns true if its row's index should be included
+     * @return an ascending array of row indices, which may be given
+     * to {@link DataTable#toSubTable(int[])}
+     */
+    public @NotNull int[] indicesWhere(@NotNull IntPredicate filter) {
+
+        int[] indices = new int[size];
+        int[] rows = this.rows;
+        int count = 0;
+
+        for (int i = 0; i < indices.length; i++) {
+            if (filter.test(rows[i])) {
+                indices[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    /**
+     * Selects the rows that match the given filter, without boxing them.
+     *
+     * @param filter a function that takes data from this column's rows and
+     *               returns true if that row should be selected
+     * @return a new selection of this column's rows
+     */
+    public @NotNull RowSelection selectWhere(@NotNull IntPredicate filter) {
+
+        int numRows = size;
+        int[] rows = this.rows;
+        RowSelection.Builder selection = new RowSelection.Builder(numRows);
+        for (int i = 0; i < numRows; i++) {
+            if (filter.test(rows[i])) {
+                selection.add(i);
+            }
+        }
+        return selection.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumRows() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Integer getRow(int index) {
+        return getInt(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getDouble(int index) {
+        return getInt(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull IntColumn toCopy() {
+        return new IntColumn(getLabel(), toIntArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addRows(@NotNull List<Integer> rows) {
+
+        // grow the array by half again, or to fit the rows, before writing past the end of this column...
+
+        int size = this.size;
+        int[] grown = this.rows;
+        if (size + rows.size() > grown.length) {
+            grown = Arrays.copyOf(grown, Math.max(size + rows.size(), Math.max(16, grown.length + (grown.length >> 1))));
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            grown[size + i] = rows.get(i);
+        }
+
+        // publish the array before the number of rows...
+
+        this.rows = grown;
+        this.size = size + rows.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NotNull Class<Integer> getNumberType() {
+        return Integer.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NotNull IntColumn gather(@NotNull int[] indices) {
+
+        int[] rows = this.rows;
+        int[] result = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            result[i] = rows[indices[i]];
+        }
+        return new IntColumn(getLabel(), result);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void countSorted(int numRows, @NotNull CountConsumer<Integer> consumer) {
+
+        int[] sorted = Arrays.copyOf(rows, numRows);
+        Arrays.sort(sorted);
+
+        for (int start = 0, end; start < sorted.length; start = end) {
+            end = start + 1;
+            while (end < sorted.length && sorted[end] == sorted[start]) {
+                end++;
+            }
+            consumer.accept(sorted[start], end - start);
+        }
+    }
+}
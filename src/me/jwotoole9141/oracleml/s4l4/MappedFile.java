@@ -0,0 +1,116 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:15 AM
+ * PROJ: OracleMachineLearning
+ * FILE: MappedFile.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the MappedFile class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Represents a file that is memory-mapped for reading. Since a single
+ * buffer can't map more than 2 GiB, the file is mapped in windows of
+ * {@link #WINDOW_SIZE} bytes. Its bytes may be read by many threads at once.
+ *
+ * @author agent
+ * @see CsvLoader
+ */
+final class MappedFile {
+
+    /**
+     * The number of bytes in each mapped window of a file.
+     */
+    static final long WINDOW_SIZE = 1L << 30;
+
+    private static final int WINDOW_SHIFT = 30;
+
+    private final long size;
+    private final @NotNull MappedByteBuffer[] windows;
+
+    private MappedFile(long size, @NotNull MappedByteBuffer[] windows) {
+        this.size = size;
+        this.windows = windows;
+    }
+
+    /**
+     * Maps the whole of a file.
+     *
+     * @param file the file to map
+     * @return a new mapped file
+     *
+     * @throws IOException if the file could not be found or mapped
+     */
+    static @NotNull MappedFile map(@NotNull File file) throws IOException {
+
+        // the mappings remain valid once the channel is closed...
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+            long size = channel.size();
+            MappedByteBuffer[] windows = new MappedByteBuffer[(int) ((size + WINDOW_SIZE - 1) / WINDOW_SIZE)];
+            for (int i = 0; i < windows.length; i++) {
+                long position = i * WINDOW_SIZE;
+                windows[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        position, Math.min(WINDOW_SIZE, size - position));
+            }
+            return new MappedFile(size, windows);
+        }
+    }
+
+    /**
+     * Gets the number of bytes in this file.
+     *
+     * @return the size of the file
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Gets a byte of this file.
+     *
+     * @param position the index of the byte
+     * @return the byte
+     */
+    byte get(long position) {
+        return windows[(int) (position >>> WINDOW_SHIFT)].get((int) (position & (WINDOW_SIZE - 1)));
+    }
+
+    /**
+     * Passes a range of this file's bytes to a consumer,
+     * as one buffer per window that the range overlaps.
+     *
+     * @param from     the index of the first byte
+     * @param to       the index after the last byte
+     * @param consumer a function that takes each buffer of bytes
+     */
+    void read(long from, long to, @NotNull Consumer<ByteBuffer> consumer) {
+
+        while (from < to) {
+
+            ByteBuffer window = windows[(int) (from >>> WINDOW_SHIFT)].duplicate();
+            int start = (int) (from & (WINDOW_SIZE - 1));
+            int end = (int) Math.min(window.capacity(), start + (to - from));
+
+            window.limit(end);
+            window.position(start);
+            consumer.accept(window);
+            from += end - start;
+        }
+    }
+}
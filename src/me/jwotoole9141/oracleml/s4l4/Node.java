@@ -15,10 +15,13 @@ package me.jwotoole9141.oracleml.s4l4;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * Represents a node in a non-binary tree. It should be cast to
@@ -30,33 +33,35 @@ import java.util.function.Function;
  */
 public abstract class Node<Q, A> {
 
-    protected @NotNull WeakReference<Node<Q, A>> parent;
-    protected @NotNull WeakReference<A> parentAnswer;
+    /**
+     * The widest range of an {@link IntColumn} whose values
+     * {@link #toPredictor} translates up front.
+     */
+    private static final int MAX_INT_RANGE = 1 << 12;
 
-    protected Node() {
+    protected @Nullable Node<Q, A> parent;
+    protected @Nullable A parentAnswer;
 
-        this.parent = new WeakReference<>(null);
-        this.parentAnswer = new WeakReference<>(null);
+    protected Node() {
     }
 
     /**
      * Gets the parent of this node if it exists.
-     * Its reference is held weakly.
      *
      * @return the parent node or null
      */
     public @Nullable Node<Q, A> getParent() {
-        return parent.get();
+        return parent;
     }
 
     /**
      * Gets the <i>answer</i> this node is mapped to in its
-     * parent if it exists. Its reference is held weakly.
+     * parent if it exists.
      *
      * @return the parent <i>answer</i> or null
      */
     public @Nullable A getParentAnswer() {
-        return parentAnswer.get();
+        return parentAnswer;
     }
 
     /**
@@ -66,6 +71,197 @@ public abstract class Node<Q, A> {
      */
     public abstract int getSize();
 
+    /**
+     * Predicts the <i>final answer</i> for a row of data by following the
+     * tree down from this node. At each branch node, the row is asked its
+     * <i>answer</i> to that node's <i>question</i>.
+     *
+     * @param answerOf a function that takes a <i>question</i> and returns the row's <i>answer</i> to it
+     * @return the <i>final answer</i>, or null if the row has an <i>answer</i> the tree doesn't branch on
+     */
+    public @Nullable A predict(@NotNull Function<? super Q, ? extends A> answerOf) {
+        return predict(answerOf, Function::apply);
+    }
+
+    /**
+     * Predicts the <i>final answer</i> for a row of data by following the
+     * tree down from this node. At each branch node, the row's <i>answer</i>
+     * is found by its <i>question</i>.
+     *
+     * @param row a map of <i>questions</i> to the row's <i>answers</i>
+     * @return the <i>final answer</i>, or null if the row has an <i>answer</i> the tree doesn't branch on
+     */
+    public @Nullable A predict(@NotNull Map<? super Q, ? extends A> row) {
+        return predict(row, Map::get);
+    }
+
+    /**
+     * Predicts the <i>final answer</i> for a row of data by following the
+     * tree down from this node. The tree is walked in a loop, rather than
+     * recursively, and nothing is allocated along the way. Passing a row
+     * and a non-capturing {@code accessor} (such as a method reference)
+     * keeps the call itself free of allocation, too.
+     *
+     * @param row      the row of data
+     * @param accessor a function that takes the row and a <i>question</i>
+     *                 and returns the row's <i>answer</i> to it
+     * @param <R>      the type of the row
+     * @return the <i>final answer</i>, or null if the row has an <i>answer</i> the tree doesn't branch on
+     */
+    public <R> @Nullable A predict(R row, @NotNull BiFunction<? super R, ? super Q, ? extends A> accessor) {
+
+        Node<Q, A> node = this;
+        while (node instanceof NodeInner) {
+
+            NodeInner<Q, A> inner = (NodeInner<Q, A>) node;
+            node = inner.children.get(accessor.apply(row, inner.question));
+
+            if (node == null) {
+                return null;
+            }
+        }
+        return ((NodeOuter<Q, A>) node).answer;
+    }
+
+    /**
+     * Creates a function that predicts the <i>final answer</i> for rows of
+     * a table, by index. The nodes are numbered, and each inner node's column
+     * and answer function are looked up by <i>question</i> once, here, into
+     * arrays by node. The <i>answer</i> of each code of an {@link EncodedColumn},
+     * and of each value of an {@link IntColumn} with a small range, is also
+     * found here, so that each prediction only reads the row's codes or
+     * <i>int</i>s. Other rows are read as values, as are codes and values that
+     * are added to the table later. The arguments are the same as those the
+     * tree was built with.
+     *
+     * @param table          a table with the same columns as the one the tree was built from
+     * @param toQuestionFunc a function that takes the label of a column and returns a {@link Q}
+     * @param toAnswerFuncs  a map of column labels to functions that each take data from their column
+     *                       and return an {@link A}
+     * @return a function that takes a row index of {@code table} and
+     * returns its <i>final answer</i>, or null if it has none
+     *
+     * @throws IllegalArgumentException if {@code table} has no column for one of the <i>questions</i>
+     * @see Tree#fromTable(DataTable, String, java.util.Set, Tree.Algorithm, Function, Map, Object)
+     */
+    public @NotNull IntFunction<@Nullable A> toPredictor(
+            @NotNull DataTable table,
+            @NotNull Function<String, Q> toQuestionFunc,
+            @NotNull Map<String, Function<Object, A>> toAnswerFuncs)
+            throws IllegalArgumentException {
+
+        Map<Q, DataTable.Column<?>> columnOf = new HashMap<>();
+        for (DataTable.Column<?> column : table.getColumns()) {
+            columnOf.put(toQuestionFunc.apply(column.getLabel()), column);
+        }
+
+        // number the nodes, inner nodes from zero up and leaves from -2 down...
+
+        List<NodeInner<Q, A>> inners = new ArrayList<>();
+        List<Map<A, Integer>> childIds = new ArrayList<>();
+        List<A> leafAnswers = new ArrayList<>();
+        int root = number(this, inners, childIds, leafAnswers);
+
+        // look up each inner node's column and answer function once, and translate its codes or ints...
+
+        int numInners = inners.size();
+        DataTable.Column<?>[] columns = new DataTable.Column<?>[numInners];
+        EncodedColumn<?>[] encodedCols = new EncodedColumn<?>[numInners];
+        IntColumn[] intCols = new IntColumn[numInners];
+        List<Function<Object, A>> answerFuncs = new ArrayList<>(numInners);
+        int[][] translations = new int[numInners][];
+        int[] minInts = new int[numInners];
+
+        for (int id = 0; id < numInners; id++) {
+
+            DataTable.Column<?> column = columnOf.get(inners.get(id).question);
+            if (column == null) {
+                throw new IllegalArgumentException(String.format(
+                        "table has no column for question '%s'", inners.get(id).question));
+            }
+            Function<Object, A> toAnswerFunc = toAnswerFuncs.get(column.getLabel());
+            Map<A, Integer> ids = childIds.get(id);
+
+            columns[id] = column;
+            answerFuncs.add(toAnswerFunc);
+
+            if (column instanceof EncodedColumn) {
+                encodedCols[id] = (EncodedColumn<?>) column;
+                List<?> values = encodedCols[id].getDictionary().getValues();
+                translations[id] = new int[values.size()];
+                for (int code = 0; code < values.size(); code++) {
+                    translations[id][code] = ids.getOrDefault(toAnswerFunc.apply(values.get(code)), -1);
+                }
+            }
+            else if (column instanceof IntColumn && column.getNumRows() > 0
+                    && ((IntColumn) column).getMax() - ((IntColumn) column).getMin() < MAX_INT_RANGE) {
+                intCols[id] = (IntColumn) column;
+                minInts[id] = (int) intCols[id].getMin();
+                translations[id] = new int[(int) intCols[id].getMax() - minInts[id] + 1];
+                for (int i = 0; i < translations[id].length; i++) {
+                    translations[id][i] = ids.getOrDefault(toAnswerFunc.apply(minInts[id] + i), -1);
+                }
+            }
+        }
+
+        return row -> {
+
+            int id = root;
+            while (id >= 0) {
+
+                int[] translation = translations[id];
+                int index = (encodedCols[id] != null) ? encodedCols[id].getCodes().get(row)
+                        : (intCols[id] != null) ? intCols[id].getInt(row) - minInts[id]
+                        : -1;
+
+                id = (index >= 0 && index < translation.length)
+                        ? translation[index]
+                        : childIds.get(id).getOrDefault(answerFuncs.get(id).apply(columns[id].getRow(row)), -1);
+            }
+            return (id == -1) ? null : leafAnswers.get(-id - 2);
+        };
+    }
+
+    /**
+     * Numbers a tree, starting at the given node, for {@link #toPredictor}.
+     *
+     * @return the node's number, which is that of an inner node if at least zero,
+     *         and otherwise {@code -2} less the index of a leaf's <i>final answer</i>
+     */
+    private static <Q, A> int number(
+            @NotNull Node<Q, A> node,
+            @NotNull List<NodeInner<Q, A>> inners,
+            @NotNull List<Map<A, Integer>> childIds,
+            @NotNull List<A> leafAnswers) {
+
+        if (node instanceof NodeOuter) {
+            leafAnswers.add(((NodeOuter<Q, A>) node).answer);
+            return -leafAnswers.size() - 1;
+        }
+
+        NodeInner<Q, A> inner = (NodeInner<Q, A>) node;
+        int id = inners.size();
+        inners.add(inner);
+        childIds.add(null);
+
+        Map<A, Integer> ids = new HashMap<>();
+        for (Map.Entry<A, Node<Q, A>> child : inner.children.entrySet()) {
+            ids.put(child.getKey(), number(child.getValue(), inners, childIds, leafAnswers));
+        }
+        childIds.set(id, ids);
+        return id;
+    }
+
+    /**
+     * Compiles the tree, starting at this node, into a read-only form
+     * that is laid out in arrays for faster prediction.
+     *
+     * @return a new compiled tree that predicts the same <i>answers</i>
+     */
+    public @NotNull CompiledTree<Q, A> toCompiledTree() {
+        return CompiledTree.of(this);
+    }
+
     /**
      * Creates a non-recursive string representation of this node.
      *
@@ -100,8 +296,8 @@ public abstract class Node<Q, A> {
 
     protected void updateParent(Node<Q, A> parent, A answer) {
 
-        this.parent = new WeakReference<>(parent);
-        this.parentAnswer = new WeakReference<>(answer);
+        this.parent = parent;
+        this.parentAnswer = answer;
     }
 
     /**
@@ -12,9 +12,6 @@
 
 package me.jwotoole9141.oracleml.s4l4;
 
-import javafx.collections.FXCollections;
-import javafx.collections.MapChangeListener;
-import javafx.collections.ObservableMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -35,7 +32,7 @@ import java.util.stream.Collectors;
 public class NodeInner<Q, A> extends Node<Q, A> {
 
     protected @NotNull Q question;
-    protected @NotNull ObservableMap<@NotNull A, @NotNull Node<Q, A>> children;
+    protected @NotNull Map<@NotNull A, @NotNull Node<Q, A>> children;
 
     /**
      * Creates a new node with the given <i>question</i>.
@@ -56,21 +53,7 @@ public class NodeInner<Q, A> extends Node<Q, A> {
 
         super();
         this.question = question;
-        this.children = FXCollections.observableHashMap();
-
-        // map listener sets or removes the parent reference of child nodes...
-
-        this.children.addListener((MapChangeListener<A, Node<Q, A>>) change -> {
-
-            if (change.wasAdded()) {
-                Node<Q, A> child = change.getValueAdded();
-                child.updateParent(this, change.getKey());
-            }
-            if (change.wasRemoved()) {
-                Node<Q, A> child = change.getValueRemoved();
-                child.updateParent(null, null);
-            }
-        });
+        this.children = new ChildMap<>(this);  /* sets or clears the parent of child nodes */
 
         if (children != null) {
             this.children.putAll(children);
@@ -0,0 +1,253 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:25 AM
+ * PROJ: OracleMachineLearning
+ * FILE: NumericColumn.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the NumericColumn class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Represents a column of numbers in a {@link DataTable}, held in an array of
+ * primitives rather than as a reference per row. Rows are only boxed when
+ * they are read through the generic methods of {@link DataTable.Column}.
+ * Each kind of number has its own subclass, with primitive accessors
+ * and filters. Distinct numbers are counted by sorting a copy of the
+ * rows, rather than by hashing each one.
+ *
+ * @param <T> the boxed type of the numbers held in this column
+ * @author agent
+ * @see IntColumn
+ * @see LongColumn
+ * @see DoubleColumn
+ */
+public abstract class NumericColumn<T extends Number> extends DataTable.Column<T> {
+
+    /**
+     * Creates a numeric column with the given label.
+     *
+     * @param label the label of this column
+     */
+    NumericColumn(@NotNull String label) {
+        super(label);
+    }
+
+    /**
+     * Gets a single row of data under this column, as a double.
+     *
+     * @param index the index of the row
+     * @return the number, widened to a double
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is not a valid row
+     */
+    public abstract double getDouble(int index);
+
+    /**
+     * Gets the smallest number under this column.
+     *
+     * @return the minimum, as a double, or NaN if this column is empty
+     */
+    public double getMin() {
+        double min = Double.NaN;
+        for (int i = 0, n = getNumRows(); i < n; i++) {
+            double value = getDouble(i);
+            if (Double.isNaN(min) || value < min) {
+                min = value;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Gets the largest number under this column.
+     *
+     * @return the maximum, as a double, or NaN if this column is empty
+     */
+    public double getMax() {
+        double max = Double.NaN;
+        for (int i = 0, n = getNumRows(); i < n; i++) {
+            double value = getDouble(i);
+            if (Double.isNaN(max) || value > max) {
+                max = value;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Counts the numbers under this column in bins of equal width. The first
+     * bin starts at {@code min} and the last one ends at {@code max}, which
+     * it includes. Numbers outside of the range are not counted.
+     *
+     * @param min     the lower edge of the first bin
+     * @param max     the upper edge of the last bin
+     * @param numBins the number of bins
+     * @return the count of each bin
+     *
+     * @throws IllegalArgumentException if there isn't at least one bin, or the range is empty
+     */
+    public @NotNull int[] getHistogram(double min, double max, int numBins) throws IllegalArgumentException {
+
+        if (numBins < 1 || !(max > min)) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid histogram of %d bins from %s to %s.", numBins, min, max));
+        }
+
+        int[] counts = new int[numBins];
+        double scale = numBins / (max - min);
+
+        for (int i = 0, n = getNumRows(); i < n; i++) {
+            double value = getDouble(i);
+            if (value >= min && value <= max) {
+                counts[Math.min(numBins - 1, (int) ((value - min) * scale))]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull List<T> getRows() {
+        return new RowsView(getNumRows());
+    }
+
+    /**
+     * {@inheritDoc}
+     * The set is that of the numbers counted by {@link #getCounts()}, and is in ascending order.
+     */
+    @Override
+    public @NotNull Set<T> getValues() {
+        return getCounts().keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The numbers are counted by sorting a copy of them, rather than by hashing
+     * each row, and are in ascending order.
+     */
+    @Override
+    protected @NotNull Map<T, Integer> countValues(int numRows) {
+
+        Map<T, Integer> counts = new LinkedHashMap<>();
+        countSorted(numRows, counts::put);
+        return counts;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Every row must be a number of this column's type.
+     */
+    @Override
+    protected void checkRows(@NotNull List<?> rows) throws IllegalArgumentException {
+
+        for (Object row : rows) {
+            if (!getNumberType().isInstance(row)) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid row for column '%s'. (%s)", getLabel(), row));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The counts stay in ascending order.
+     */
+    @Override
+    @NotNull Map<T, Integer> addCounts(@NotNull Map<T, Integer> counts, @NotNull List<T> rows) {
+
+        Map<T, Integer> added = super.addCounts(counts, rows);
+        return (added.size() == counts.size())
+                ? added
+                : new LinkedHashMap<>(new TreeMap<>(added));
+    }
+
+    /**
+     * Gets the boxed type of the numbers held in this column.
+     *
+     * @return the class of {@code T}
+     */
+    abstract @NotNull Class<T> getNumberType();
+
+    /**
+     * Makes sure that an index is of a row under this column, which its array may
+     * not be able to tell, since the array may have room for more rows. Subclasses
+     * check an index before they read their array, since rows are written to the
+     * array before the number of rows is raised.
+     *
+     * @param index the index of a row
+     * @return the index
+     *
+     * @throws IndexOutOfBoundsException if {@code index} is not a valid row
+     */
+    final int checkIndex(int index) throws IndexOutOfBoundsException {
+        if (index >= getNumRows()) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Row %d of a column of %d rows.", index, getNumRows()));
+        }
+        return index;
+    }
+
+    /**
+     * Creates a new column holding copies of the given rows of this column.
+     *
+     * @param indices the indices of the rows to copy
+     * @return a new column of the same kind
+     */
+    abstract @NotNull NumericColumn<T> gather(@NotNull int[] indices);
+
+    /**
+     * Passes each distinct number in the first rows under this column, in
+     * ascending order, to a consumer along with its number of occurrences.
+     *
+     * @param numRows  the number of rows to count, which is never more than there are
+     * @param consumer a function that takes a number and its count
+     */
+    abstract void countSorted(int numRows, @NotNull CountConsumer<T> consumer);
+
+    /**
+     * Receives a distinct number and its count.
+     *
+     * @param <T> the boxed type of the number
+     */
+    interface CountConsumer<T> {
+
+        void accept(@NotNull T value, int count);
+    }
+
+    /**
+     * A read-only list of the first rows of this column, that boxes rows on access.
+     */
+    private class RowsView extends AbstractList<T> implements RandomAccess {
+
+        private final int size;
+
+        RowsView(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index >= size) {
+                throw new IndexOutOfBoundsException(String.format(
+                        "Row %d of a list of %d rows.", index, size));
+            }
+            return getRow(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
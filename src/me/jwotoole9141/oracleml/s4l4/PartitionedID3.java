@@ -0,0 +1,291 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 8:51 AM
+ * PROJ: OracleMachineLearning
+ * FILE: PartitionedID3.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the PartitionedID3 class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Builds an ID3 tree without creating any sub-tables. The table's columns are
+ * encoded once, and every node of the tree is then described by a range of a
+ * single, shared array of row indices, plus a bitmask of the attribute
+ * columns that are still in use. Branching on an attribute partitions the
+ * node's range in place, so that each child's rows are contiguous.
+ *
+ * @param <Q> the <i>question</i> type of the tree
+ * @param <A> the <i>answer</i> type of the tree
+ * @param <T> the type of data held by the result column
+ * @author agent
+ * @see Tree.Algorithm#ID3_PARTITIONED
+ */
+class PartitionedID3<Q, A, T> {
+
+    private final @NotNull Function<String, Q> toQuestionFunc;
+    private final @NotNull Map<String, Function<Object, A>> toAnswerFuncs;
+    private final @NotNull A defaultAnswer;
+    private final @NotNull Tree.Parallelism parallelism;
+
+    private final @NotNull EncodedColumn<?>[] attrCols;
+    private final @NotNull EncodedColumn<T> resultsCol;
+    private final @NotNull Function<Object, A> toResultAnswerFunc;
+    private final @NotNull boolean[] successCodes;
+
+    private final @NotNull int[] rows;
+    private final @NotNull int[] scratch;
+
+    /**
+     * Prepares to build a tree from the given table.
+     *
+     * @param table          the table to branch with
+     * @param resultsKey     the label of the column in {@code table} that holds {@code successVals}
+     * @param successVals    the data values that should count as a successful <i>final answer</i>
+     * @param toQuestionFunc a function that takes the label of columns in {@code table} and returns a {@link Q}
+     * @param toAnswerFuncs  a map of column labels to functions that each take data from their column
+     * @param defaultAnswer  the default answer to use for a node if there is no data
+     * @param parallelism    how the work of building the tree may be run in parallel
+     * @throws IllegalArgumentException if {@code table} does not contain a column labled {@code resultsKey}
+     */
+    PartitionedID3(
+            @NotNull DataTable table,
+            @NotNull String resultsKey,
+            @NotNull Set<T> successVals,
+            @NotNull Function<String, Q> toQuestionFunc,
+            @NotNull Map<String, Function<Object, A>> toAnswerFuncs,
+            @NotNull A defaultAnswer,
+            @NotNull Tree.Parallelism parallelism)
+            throws IllegalArgumentException {
+
+        this.toQuestionFunc = toQuestionFunc;
+        this.toAnswerFuncs = toAnswerFuncs;
+        this.defaultAnswer = defaultAnswer;
+        this.parallelism = parallelism;
+
+        // encode every column once, up front...
+
+        //noinspection unchecked
+        DataTable.Column<T> results = (DataTable.Column<T>) table.getColumn(resultsKey);
+        this.resultsCol = results.toEncodedColumn();
+        this.toResultAnswerFunc = toAnswerFuncs.get(results.getLabel());
+
+        this.attrCols = table.getColumns().stream()
+                .filter(col -> col != results)
+                .map(DataTable.Column::toEncodedColumn)
+                .toArray(EncodedColumn<?>[]::new);
+
+        ValueDictionary<T> resultDict = resultsCol.getDictionary();
+        this.successCodes = new boolean[resultDict.size()];
+        for (int code = 0; code < successCodes.length; code++) {
+            successCodes[code] = successVals.contains(resultDict.decode(code));
+        }
+
+        // every node is a range of the same array of row indices...
+
+        this.rows = new int[table.getNumRows()];
+        this.scratch = new int[rows.length];
+        Arrays.setAll(rows, i -> i);
+    }
+
+    /**
+     * Builds the tree.
+     *
+     * @return the root of the tree
+     */
+    @NotNull Node<Q, A> build() {
+
+        long[] active = new long[(attrCols.length + 63) / 64];
+        for (int c = 0; c < attrCols.length; c++) {
+            active[c / 64] |= 1L << (c % 64);
+        }
+        return branch(0, rows.length, active, attrCols.length);
+    }
+
+    private @NotNull Node<Q, A> branch(int from, int to, @NotNull long[] active, int numActive) {
+
+        // if the range is empty, end the tree with the default answer...
+
+        int numRows = to - from;
+        if (numRows == 0) {
+            return new NodeOuter<>(defaultAnswer);
+            // BASE CASE
+        }
+
+        CodeArray resultCodes = resultsCol.getCodes();
+        int[] resultCounts = new int[successCodes.length];
+        int successes = 0;
+
+        for (int i = from; i < to; i++) {
+            int code = resultCodes.get(rows[i]);
+            resultCounts[code]++;
+            if (successCodes[code]) {
+                successes++;
+            }
+        }
+
+        // if there are no attributes left, end the tree with the most common result...
+
+        if (numActive == 0) {
+
+            Map<T, Integer> counts = new LinkedHashMap<>();
+            for (int code = 0; code < resultCounts.length; code++) {
+                if (resultCounts[code] > 0) {
+                    counts.put(resultsCol.getDictionary().decode(code), resultCounts[code]);
+                }
+            }
+            T mostCommonResult = Tree.Algorithm.mostCommon(counts, () -> IntStream.range(from, to)
+                    .mapToObj(i -> resultsCol.getDictionary().decode(resultCodes.get(rows[i])))
+                    .iterator());
+
+            return new NodeOuter<>(mostCommonResult == null
+                    ? defaultAnswer
+                    : toResultAnswerFunc.apply(mostCommonResult));
+            // BASE CASE
+        }
+
+        // if there is no entropy left, end the tree with the unanimous result...
+
+        int unanimousCode = -1;
+        for (int code = 0; code < resultCounts.length; code++) {
+            if (resultCounts[code] == numRows) {
+                unanimousCode = code;
+            }
+        }
+        if (unanimousCode >= 0) {
+            return new NodeOuter<>(toResultAnswerFunc.apply(
+                    resultsCol.getDictionary().decode(unanimousCode)));
+            // BASE CASE
+        }
+
+        // calculate the gains of the active attributes, possibly in parallel...
+
+        int[] candidates = new int[numActive];
+        for (int c = 0, i = 0; c < attrCols.length; c++) {
+            if ((active[c / 64] & (1L << (c % 64))) != 0) {
+                candidates[i++] = c;
+            }
+        }
+
+        double systemEntropy = ContingencyTable.entropy(successes, numRows);
+        double[] gains = new double[numActive];
+        parallelism.forEachAttribute(numRows, numActive,
+                i -> gains[i] = gain(systemEntropy, attrCols[candidates[i]], from, to));
+
+        // choose the attribute with the highest gain, in table order...
+
+        double highestGain = Double.NEGATIVE_INFINITY;
+        int attr = -1;
+
+        for (int i = 0; i < numActive; i++) {
+            if (gains[i] > highestGain + Tree.Algorithm.GAIN_TOLERANCE) {
+                highestGain = gains[i];
+                attr = candidates[i];
+            }
+        }
+        assert attr >= 0;
+
+        EncodedColumn<?> attrCol = attrCols[attr];
+        int[] starts = partition(attrCol, from, to);
+
+        long[] childActive = active.clone();
+        childActive[attr / 64] &= ~(1L << (attr % 64));
+
+        // branch on each contiguous range of rows (outcome), possibly in parallel...
+
+        NodeInner<Q, A> node = new NodeInner<>(toQuestionFunc.apply(attrCol.getLabel()));
+        Function<Object, A> toAnswerFunc = toAnswerFuncs.get(attrCol.getLabel());
+
+        int[] outcomeCodes = new int[starts.length - 1];
+        int numOutcomes = 0;
+        for (int code = 0; code < starts.length - 1; code++) {
+            if (starts[code] < starts[code + 1]) {
+                outcomeCodes[numOutcomes++] = code;
+            }
+        }
+
+        /* the ranges are disjoint, so their subtrees can partition them independently */
+        List<Node<Q, A>> children = parallelism.mapChildren(numRows, numOutcomes, i -> {
+            int code = outcomeCodes[i];
+            return branch(starts[code], starts[code + 1], childActive, numActive - 1);
+            // RECURSIVE CASE
+        });
+
+        // attach the children on this thread, since doing so updates their parents...
+
+        for (int i = 0; i < numOutcomes; i++) {
+            A outcome = toAnswerFunc.apply(attrCol.getDictionary().decode(outcomeCodes[i]));
+            node.getChildren().put(outcome, children.get(i));
+        }
+        return node;
+    }
+
+    /**
+     * Calculates the gain in entropy of an attribute over a range of rows.
+     */
+    private double gain(double systemEntropy, @NotNull EncodedColumn<?> attrCol, int from, int to) {
+
+        CodeArray attrCodes = attrCol.getCodes();
+        CodeArray resultCodes = resultsCol.getCodes();
+
+        int[] totals = new int[attrCol.getDictionary().size()];
+        int[] successes = new int[totals.length];
+
+        for (int i = from; i < to; i++) {
+            int row = rows[i];
+            int code = attrCodes.get(row);
+            totals[code]++;
+            if (successCodes[resultCodes.get(row)]) {
+                successes[code]++;
+            }
+        }
+
+        double numRows = to - from;
+        for (int code = 0; code < totals.length; code++) {
+            if (totals[code] > 0) {
+                double px = totals[code] / numRows;
+                systemEntropy -= (px * ContingencyTable.entropy(successes[code], totals[code]));
+            }
+        }
+        return systemEntropy;
+    }
+
+    /**
+     * Stably partitions a range of rows by their codes under the given
+     * attribute, so rows with the same code become contiguous.
+     *
+     * @return the start of each code's range, followed by {@code to}
+     */
+    private @NotNull int[] partition(@NotNull EncodedColumn<?> attrCol, int from, int to) {
+
+        CodeArray attrCodes = attrCol.getCodes();
+        int cardinality = attrCol.getDictionary().size();
+
+        int[] starts = new int[cardinality + 1];
+        for (int i = from; i < to; i++) {
+            starts[attrCodes.get(rows[i]) + 1]++;
+        }
+        starts[0] = from;
+        for (int code = 0; code < cardinality; code++) {
+            starts[code + 1] += starts[code];
+        }
+
+        int[] next = Arrays.copyOf(starts, cardinality);
+        for (int i = from; i < to; i++) {
+            scratch[next[attrCodes.get(rows[i])]++] = rows[i];
+        }
+        System.arraycopy(scratch, from, rows, from, to - from);
+
+        return starts;
+    }
+}
@@ -0,0 +1,494 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:45 AM
+ * PROJ: OracleMachineLearning
+ * FILE: RowSelection.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the RowSelection class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Represents a selection of the rows of a {@link DataTable} or a column, such
+ * as the rows that match a filter. A selection is immutable, and is held in
+ * one of two forms. A sparse selection holds an ascending array of its row
+ * indices. A dense selection holds a bitmap, with one bit per row. Whichever
+ * form is smaller is chosen each time a selection is made, so a selection
+ * never takes more than a bit per row, nor more than an int per selected row.
+ * <p>
+ * Selections of the same number of rows can be combined with {@link #and},
+ * {@link #or} and {@link #andNot}. Two dense selections are combined a word
+ * of 64 rows at a time, and a sparse selection is combined by testing only
+ * its own rows.
+ *
+ * @author agent
+ * @see DataTable.Column#select(Predicate)
+ * @see DataTable#toSubTable(RowSelection)
+ */
+public final class RowSelection {
+
+    /**
+     * Builds a selection from rows given in ascending order.
+     */
+    static final class Builder {
+
+        private final int numRows;
+        private final @NotNull long[] words;
+        private int cardinality = 0;
+
+        /**
+         * Creates a builder for a selection of some number of rows.
+         *
+         * @param numRows the number of rows that may be selected
+         */
+        Builder(int numRows) {
+            this.numRows = numRows;
+            this.words = new long[numWords(numRows)];
+        }
+
+        /**
+         * Selects a row.
+         *
+         * @param row the index of the row, greater than any row selected before
+         */
+        void add(int row) {
+            words[row >>> 6] |= 1L << row;
+            cardinality++;
+        }
+
+        /**
+         * Creates the selection, in whichever form is smaller.
+         *
+         * @return a new selection
+         */
+        @NotNull RowSelection build() {
+            return ofWords(numRows, words, cardinality);
+        }
+    }
+
+    private final int numRows;
+    private final int cardinality;
+    private final @Nullable int[] indices;  /* if sparse */
+    private final @Nullable long[] words;   /* if dense */
+
+    private RowSelection(int numRows, int cardinality, @Nullable int[] indices, @Nullable long[] words) {
+        this.numRows = numRows;
+        this.cardinality = cardinality;
+        this.indices = indices;
+        this.words = words;
+    }
+
+    /**
+     * Creates a selection of every row.
+     *
+     * @param numRows the number of rows
+     * @return a new, dense selection
+     */
+    public static @NotNull RowSelection all(int numRows) {
+
+        long[] words = new long[numWords(numRows)];
+        Arrays.fill(words, -1L);
+        if ((numRows & 63) != 0) {
+            words[words.length - 1] = (1L << numRows) - 1;
+        }
+        return ofWords(numRows, words, numRows);
+    }
+
+    /**
+     * Creates a selection of no rows.
+     *
+     * @param numRows the number of rows
+     * @return a new, sparse selection
+     */
+    public static @NotNull RowSelection none(int numRows) {
+        return new RowSelection(numRows, 0, new int[0], null);
+    }
+
+    /**
+     * Creates a selection of the given rows.
+     *
+     * @param numRows the number of rows that may be selected
+     * @param rows    the indices of the selected rows, in any order, which may repeat
+     * @return a new selection
+     *
+     * @throws IndexOutOfBoundsException if a row is negative or not less than {@code numRows}
+     */
+    public static @NotNull RowSelection of(int numRows, @NotNull int... rows) throws IndexOutOfBoundsException {
+
+        long[] words = new long[numWords(numRows)];
+        int cardinality = 0;
+
+        for (int row : rows) {
+            if (row < 0 || row >= numRows) {
+                throw new IndexOutOfBoundsException(String.format(
+                        "Row %d of a selection of %d rows.", row, numRows));
+            }
+            long bit = 1L << row;
+            if ((words[row >>> 6] & bit) == 0) {
+                words[row >>> 6] |= bit;
+                cardinality++;
+            }
+        }
+        return ofWords(numRows, words, cardinality);
+    }
+
+    /**
+     * Gets the number of rows that may be selected, selected or not.
+     *
+     * @return the number of rows in the table or column selected from
+     */
+    public int getNumRows() {
+        return numRows;
+    }
+
+    /**
+     * Gets the number of selected rows.
+     *
+     * @return the cardinality of this selection
+     */
+    public int getCardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Checks if no rows are selected.
+     *
+     * @return true if the cardinality of this selection is zero
+     */
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Checks if this selection is held as a bitmap, rather than as an array of indices.
+     *
+     * @return true if this selection is dense
+     */
+    public boolean isDense() {
+        return words != null;
+    }
+
+    /**
+     * Checks if a row is selected.
+     *
+     * @param row the index of the row
+     * @return true if the row is selected
+     *
+     * @throws IndexOutOfBoundsException if the row is negative or not less than {@link #getNumRows()}
+     */
+    public boolean contains(int row) throws IndexOutOfBoundsException {
+
+        if (row < 0 || row >= numRows) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Row %d of a selection of %d rows.", row, numRows));
+        }
+        return (words != null)
+                ? (words[row >>> 6] & (1L << row)) != 0
+                : Arrays.binarySearch(indices, row) >= 0;
+    }
+
+    /**
+     * Selects the rows that are selected by both this selection and another.
+     *
+     * @param other the other selection
+     * @return a new selection
+     *
+     * @throws IllegalArgumentException if the selections are not of the same number of rows
+     */
+    public @NotNull RowSelection and(@NotNull RowSelection other) throws IllegalArgumentException {
+
+        checkNumRows(other);
+
+        // intersect a sparse selection by testing only its own rows...
+
+        if (indices != null) {
+            return other.filter(indices, true);
+        }
+        if (other.indices != null) {
+            return filter(other.indices, true);
+        }
+
+        long[] result = new long[words.length];
+        int count = 0;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = words[i] & other.words[i];
+            count += Long.bitCount(result[i]);
+        }
+        return ofWords(numRows, result, count);
+    }
+
+    /**
+     * Selects the rows that are selected by either this selection or another.
+     *
+     * @param other the other selection
+     * @return a new selection
+     *
+     * @throws IllegalArgumentException if the selections are not of the same number of rows
+     */
+    public @NotNull RowSelection or(@NotNull RowSelection other) throws IllegalArgumentException {
+
+        checkNumRows(other);
+
+        // merge two sparse selections, which is still sparse if it is small enough...
+
+        if (indices != null && other.indices != null) {
+            int[] result = new int[indices.length + other.indices.length];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < indices.length && j < other.indices.length) {
+                int a = indices[i];
+                int b = other.indices[j];
+                result[count++] = Math.min(a, b);
+                if (a <= b) {
+                    i++;
+                }
+                if (b <= a) {
+                    j++;
+                }
+            }
+            while (i < indices.length) {
+                result[count++] = indices[i++];
+            }
+            while (j < other.indices.length) {
+                result[count++] = other.indices[j++];
+            }
+            return ofIndices(numRows, result, count);
+        }
+
+        // otherwise, set the other's rows in a copy of the bitmap...
+
+        long[] result = (words != null) ? words.clone() : other.words.clone();
+        RowSelection rest = (words != null) ? other : this;
+
+        if (rest.indices != null) {
+            for (int row : rest.indices) {
+                result[row >>> 6] |= 1L << row;
+            }
+        }
+        else {
+            for (int i = 0; i < result.length; i++) {
+                result[i] |= rest.words[i];
+            }
+        }
+        return ofWords(numRows, result, bitCount(result));
+    }
+
+    /**
+     * Selects the rows that are selected by this selection but not by another.
+     *
+     * @param other the other selection
+     * @return a new selection
+     *
+     * @throws IllegalArgumentException if the selections are not of the same number of rows
+     */
+    public @NotNull RowSelection andNot(@NotNull RowSelection other) throws IllegalArgumentException {
+
+        checkNumRows(other);
+
+        if (indices != null) {
+            return other.filter(indices, false);
+        }
+
+        // clear the other's rows in a copy of the bitmap...
+
+        long[] result = words.clone();
+        if (other.indices != null) {
+            for (int row : other.indices) {
+                result[row >>> 6] &= ~(1L << row);
+            }
+        }
+        else {
+            for (int i = 0; i < result.length; i++) {
+                result[i] &= ~other.words[i];
+            }
+        }
+        return ofWords(numRows, result, bitCount(result));
+    }
+
+    /**
+     * Creates an array of the indices of the selected rows.
+     *
+     * @return a new, ascending array as long as the cardinality of this
+     *         selection, which may be given to {@link DataTable#toSubTable(int[])}
+     */
+    public @NotNull int[] toIndices() {
+
+        if (indices != null) {
+            return indices.clone();
+        }
+        int[] result = new int[cardinality];
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                result[count++] = (i << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passes the index of each selected row, in ascending order, to an action.
+     *
+     * @param action a function that takes the index of a row
+     */
+    public void forEach(@NotNull IntConsumer action) {
+
+        if (indices != null) {
+            for (int row : indices) {
+                action.accept(row);
+            }
+            return;
+        }
+        for (int i = 0; i < words.length; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+            }
+        }
+    }
+
+    /**
+     * Checks if another object is a selection of the same rows out of the same number of rows.
+     *
+     * @param o the other object
+     * @return true if the selections are equal, whatever their forms
+     */
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RowSelection)) {
+            return false;
+        }
+        RowSelection other = (RowSelection) o;
+        return numRows == other.numRows
+                && cardinality == other.cardinality
+                && Arrays.equals(toIndices(), other.toIndices());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return 31 * numRows + Arrays.hashCode(toIndices());
+    }
+
+    /**
+     * Creates a string representation of this selection.
+     *
+     * @return an informative, single-line string
+     */
+    @Override
+    public @NotNull String toString() {
+        return String.format("RowSelection[rows=%d, selected=%d, dense=%b]",
+                numRows, cardinality, isDense());
+    }
+
+    /**
+     * Selects the given rows that this selection does or does not hold.
+     *
+     * @param rows     an ascending array of rows
+     * @param selected true to keep the rows in this selection, or false to keep the rest
+     * @return a new, sparse selection
+     */
+    private @NotNull RowSelection filter(@NotNull int[] rows, boolean selected) {
+
+        int[] result = new int[rows.length];
+        int count = 0;
+
+        if (words != null) {
+            for (int row : rows) {
+                if (((words[row >>> 6] & (1L << row)) != 0) == selected) {
+                    result[count++] = row;
+                }
+            }
+        }
+        else {
+            int j = 0;
+            for (int row : rows) {
+                while (j < indices.length && indices[j] < row) {
+                    j++;
+                }
+                if ((j < indices.length && indices[j] == row) == selected) {
+                    result[count++] = row;
+                }
+            }
+        }
+        return ofIndices(numRows, result, count);
+    }
+
+    private void checkNumRows(@NotNull RowSelection other) throws IllegalArgumentException {
+        if (numRows != other.numRows) {
+            throw new IllegalArgumentException(String.format(
+                    "Mismatch in number of rows of selections. (%d and %d)",
+                    numRows, other.numRows));
+        }
+    }
+
+    /**
+     * Creates a selection from a bitmap, in whichever form is smaller.
+     */
+    private static @NotNull RowSelection ofWords(int numRows, @NotNull long[] words, int cardinality) {
+
+        if (!isSparse(numRows, cardinality)) {
+            return new RowSelection(numRows, cardinality, null, words);
+        }
+        int[] indices = new int[cardinality];
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                indices[count++] = (i << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return new RowSelection(numRows, cardinality, indices, null);
+    }
+
+    /**
+     * Creates a selection from the first rows of an ascending array, in whichever form is smaller.
+     */
+    private static @NotNull RowSelection ofIndices(int numRows, @NotNull int[] rows, int count) {
+
+        if (isSparse(numRows, count)) {
+            return new RowSelection(numRows, count,
+                    (count == rows.length) ? rows : Arrays.copyOf(rows, count), null);
+        }
+        long[] words = new long[numWords(numRows)];
+        for (int i = 0; i < count; i++) {
+            words[rows[i] >>> 6] |= 1L << rows[i];
+        }
+        return new RowSelection(numRows, count, null, words);
+    }
+
+    /**
+     * Checks if an array of indices would be smaller than a bitmap.
+     */
+    private static boolean isSparse(int numRows, int cardinality) {
+        return (long) cardinality * Integer.SIZE < numRows;
+    }
+
+    private static int numWords(int numRows) {
+        return (numRows + 63) >>> 6;
+    }
+
+    private static int bitCount(@NotNull long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:25 AM
+ * PROJ: OracleMachineLearning
+ * FILE: StringPool.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the StringPool class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Decodes the bytes of a column's fields into strings, returning the same
+ * string for the same bytes. The strings are kept in an open-addressed
+ * hash table keyed by their bytes. Once it holds {@link #MAX_SIZE}
+ * strings, the column is assumed not to repeat, and new strings are
+ * no longer kept.
+ *
+ * @author agent
+ * @see CsvLoader
+ */
+final class StringPool {
+
+    /**
+     * The most strings that a pool keeps.
+     */
+    static final int MAX_SIZE = 1 << 16;
+
+    private @NotNull byte[][] keys = new byte[16][];
+    private @NotNull String[] values = new String[16];
+    private int size;
+
+    /**
+     * Gets the string of some UTF-8 bytes.
+     *
+     * @param bytes  an array holding the bytes
+     * @param length the number of bytes
+     * @return the string, which is the same string as before if the same bytes were interned
+     */
+    @NotNull String intern(@NotNull byte[] bytes, int length) {
+
+        int mask = keys.length - 1;
+        int slot = hash(bytes, length) & mask;
+
+        // probe for the same bytes...
+
+        for (byte[] key; (key = keys[slot]) != null; slot = (slot + 1) & mask) {
+            if (key.length == length && equal(key, bytes, length)) {
+                return values[slot];
+            }
+        }
+
+        String value = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        if (size < MAX_SIZE) {
+            keys[slot] = Arrays.copyOf(bytes, length);
+            values[slot] = value;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+        }
+        return value;
+    }
+
+    private void grow() {
+
+        byte[][] oldKeys = keys;
+        String[] oldValues = values;
+        keys = new byte[oldKeys.length * 2][];
+        values = new String[oldKeys.length * 2];
+
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = hash(oldKeys[i], oldKeys[i].length) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(@NotNull byte[] bytes, int length) {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equal(@NotNull byte[] key, @NotNull byte[] bytes, int length) {
+        for (int i = 0; i < length; i++) {
+            if (key[i] != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
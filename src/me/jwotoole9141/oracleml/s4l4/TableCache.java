@@ -0,0 +1,383 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:20 AM
+ * PROJ: OracleMachineLearning
+ * FILE: TableCache.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the TableCache class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Caches the parsed tables of CSV files as binary table files, so that
+ * unchanged CSV files are only parsed once. Each entry of the cache is a
+ * binary file written by {@link DataTable#toBinary(File, Function[])}, and a
+ * small properties file holding the fingerprint of the CSV file it came
+ * from: its path, size, modification time and a CRC-32 of its contents. An
+ * entry is only used while the CSV file still matches its fingerprint.
+ * <p>
+ * Entries are kept in a cache directory, or beside their CSV files if no
+ * directory is given. Once the entries in a directory are larger than the
+ * cache's maximum size, the least recently used ones are deleted. The times
+ * of use are kept on disk, so they are shared by every process using the
+ * cache. The cache counts its hits, misses and evictions, as well as the
+ * time that its hits saved compared to parsing.
+ * <p>
+ * Entries hold the strings of the CSV file, and the deserializers are
+ * applied when an entry is loaded, once per distinct value in each column.
+ *
+ * @author agent
+ * @see CsvLoader
+ */
+public final class TableCache {
+
+    /**
+     * The file extension of the binary file of an entry.
+     */
+    public static final String TABLE_EXTENSION = ".dtbl";
+
+    /**
+     * The file extension of the fingerprint file of an entry.
+     */
+    public static final String KEY_EXTENSION = ".dtbl.key";
+
+    private final @Nullable File directory;
+    private final long maxSize;
+
+    private final @NotNull AtomicLong hits = new AtomicLong();
+    private final @NotNull AtomicLong misses = new AtomicLong();
+    private final @NotNull AtomicLong evictions = new AtomicLong();
+    private final @NotNull AtomicLong nanosSaved = new AtomicLong();
+
+    /**
+     * Creates a cache.
+     *
+     * @param directory the directory to keep entries in, or null to keep each entry beside its CSV file
+     * @param maxSize   the most bytes of entries to keep in a directory
+     */
+    public TableCache(@Nullable File directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the directory that this cache keeps its entries in.
+     *
+     * @return the cache directory, or null if entries are kept beside their CSV files
+     */
+    public @Nullable File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the most bytes of entries that this cache keeps in a directory.
+     *
+     * @return the maximum size of the cache
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of tables loaded from a valid entry.
+     *
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of tables that had to be parsed from their CSV files.
+     *
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of entries deleted to keep the cache within its maximum size.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the total time saved by hits, as the time it took to first load each
+     * entry's CSV file, less the time it took to load the entry instead. Both
+     * times run from fingerprinting the file to the finished table, with its
+     * deserializers and storage applied; the time spent writing an entry is
+     * not counted.
+     *
+     * @return the time saved, in nanoseconds
+     */
+    public long getNanosSaved() {
+        return nanosSaved.get();
+    }
+
+    /**
+     * Loads a CSV file into a new data table, from this cache if possible.
+     *
+     * @param file          the CSV file to read
+     * @param deserializers an optional array of functions, one per column, that each
+     *                      take a string and deserialize it into the desired data type
+     *                      for the column. If unused, all data simply remains a string.
+     * @return a new table representing the CSV file's data
+     *
+     * @throws IOException              if the file could not be found or read, or the
+     *                                  entry could not be written
+     * @throws IllegalArgumentException if the number of deserializers is not zero but
+     *                                  does not match the number of columns OR if the
+     *                                  number of columns per line do not all match
+     * @see DataTable#fromCsvFile(File, Function[])
+     */
+    @SafeVarargs  // 'deserializers' array is only accessed
+    public final @NotNull DataTable fromCsvFile(
+            @NotNull File file, @NotNull Function<String, Object>... deserializers)
+            throws IOException, IllegalArgumentException {
+
+        return fromCsvFile(file, DataTable.Storage.BOXED, deserializers);
+    }
+
+    /**
+     * Loads a CSV file into a new data table, from this cache if possible,
+     * storing the rows of each column in the given way.
+     *
+     * @param file          the CSV file to read
+     * @param storage       how the columns of the new table store their rows
+     * @param deserializers an optional array of functions, one per column, that each
+     *                      take a string and deserialize it into the desired data type
+     *                      for the column. If unused, all data simply remains a string.
+     * @return a new table representing the CSV file's data
+     *
+     * @throws IOException              if the file could not be found or read, or the
+     *                                  entry could not be written
+     * @throws IllegalArgumentException if the number of deserializers is not zero but
+     *                                  does not match the number of columns OR if the
+     *                                  number of columns per line do not all match
+     * @see DataTable#fromCsvFile(File, DataTable.Storage, Function[])
+     */
+    @SafeVarargs  // 'deserializers' array is only accessed
+    public final @NotNull DataTable fromCsvFile(
+            @NotNull File file,
+            @NotNull DataTable.Storage storage,
+            @NotNull Function<String, Object>... deserializers)
+            throws IOException, IllegalArgumentException {
+
+        File csv = file.getCanonicalFile();
+        File dir = (directory == null) ? csv.getParentFile() : directory;
+        String name = String.format("%s-%08x", csv.getName(), csv.getPath().hashCode());
+
+        File tableFile = new File(dir, name + TABLE_EXTENSION);
+        File keyFile = new File(dir, name + KEY_EXTENSION);
+
+        // use the entry if the file still matches its fingerprint...
+
+        long start = System.nanoTime();
+        Properties fingerprint = fingerprint(csv);
+        Properties key = readKey(keyFile);
+
+        if (key != null && tableFile.isFile() && matches(key, fingerprint)) {
+
+            DataTable table = toStorage(TableFile.read(tableFile, deserializers), storage);
+            keyFile.setLastModified(System.currentTimeMillis());
+
+            hits.incrementAndGet();
+            nanosSaved.addAndGet(Long.parseLong(key.getProperty("parseNanos")) - (System.nanoTime() - start));
+            return table;
+        }
+        misses.incrementAndGet();
+
+        // otherwise, parse the file and write a new entry...
+
+        DataTable parsed = new CsvLoader(csv).withStorage(DataTable.Storage.DICTIONARY).load();
+        long parsedAt = System.nanoTime();
+
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create cache directory: " + dir);
+        }
+        writeAtomically(tableFile, temp -> parsed.toBinary(temp));
+
+        // time the load up to the same finished table as a hit, less writing the entry...
+
+        long writtenAt = System.nanoTime();
+        DataTable table = toStorage(TableFile.read(tableFile, deserializers), storage);
+        long parseNanos = (parsedAt - start) + (System.nanoTime() - writtenAt);
+
+        fingerprint.setProperty("parseNanos", Long.toString(parseNanos));
+        writeAtomically(keyFile, temp -> {
+            try (OutputStream out = new FileOutputStream(temp)) {
+                fingerprint.store(out, "fingerprint of " + csv);
+            }
+        });
+        evict(dir, tableFile);
+
+        return table;
+    }
+
+    /**
+     * Creates a string representation of this cache.
+     *
+     * @return an informative, single-line string
+     */
+    @Override
+    public @NotNull String toString() {
+        return String.format("TableCache[directory=%s, maxSize=%d, hits=%d, misses=%d, evictions=%d, msSaved=%d]",
+                directory, maxSize, getHits(), getMisses(), getEvictions(), getNanosSaved() / 1_000_000);
+    }
+
+    private static @NotNull Properties fingerprint(@NotNull File csv) throws IOException {
+
+        // hash the contents through a mapping, without copying them onto the heap...
+
+        CRC32 crc = new CRC32();
+        MappedFile mapped = MappedFile.map(csv);
+        mapped.read(0, mapped.size(), crc::update);
+
+        Properties fingerprint = new Properties();
+        fingerprint.setProperty("version", Integer.toString(TableFile.VERSION));
+        fingerprint.setProperty("path", csv.getPath());
+        fingerprint.setProperty("size", Long.toString(mapped.size()));
+        fingerprint.setProperty("modified", Long.toString(csv.lastModified()));
+        fingerprint.setProperty("crc", Long.toHexString(crc.getValue()));
+        return fingerprint;
+    }
+
+    private static boolean matches(@NotNull Properties key, @NotNull Properties fingerprint) {
+
+        for (String property : fingerprint.stringPropertyNames()) {
+            if (!fingerprint.getProperty(property).equals(key.getProperty(property))) {
+                return false;
+            }
+        }
+        return key.getProperty("parseNanos") != null;
+    }
+
+    private static @Nullable Properties readKey(@NotNull File keyFile) {
+
+        if (!keyFile.isFile()) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream(keyFile)) {
+            Properties key = new Properties();
+            key.load(in);
+            return key;
+        }
+        catch (IOException | IllegalArgumentException e) {
+            return null;  /* an unreadable entry is treated as missing */
+        }
+    }
+
+    private static @NotNull DataTable toStorage(@NotNull DataTable table, @NotNull DataTable.Storage storage) {
+
+        if (storage == DataTable.Storage.DICTIONARY) {
+            return table;
+        }
+
+        // rebuild the mapped columns in the requested storage...
+
+        List<DataTable.Column<?>> columns = new ArrayList<>();
+        for (DataTable.Column<?> column : table.getColumns()) {
+            ColumnBuilder<Object> builder = storage.newBuilder(column.getLabel());
+            for (Object row : column.getRows()) {
+                builder.add(row);
+            }
+            columns.add(builder.build());
+        }
+        return new DataTable(table.getTitle(), columns);
+    }
+
+    private void evict(@NotNull File dir, @NotNull File keep) {
+
+        File[] tableFiles = dir.listFiles((d, n) -> n.endsWith(TABLE_EXTENSION));
+        if (tableFiles == null) {
+            return;
+        }
+
+        // find the entries and their sizes, least recently used first...
+
+        List<File> entries = new ArrayList<>();
+        long size = 0;
+        for (File tableFile : tableFiles) {
+            File keyFile = keyFileOf(tableFile);
+            if (keyFile.isFile()) {
+                entries.add(tableFile);
+                size += tableFile.length() + keyFile.length();
+            }
+        }
+        entries.sort(Comparator.comparingLong(e -> keyFileOf(e).lastModified()));
+
+        // delete entries until the cache is small enough...
+
+        for (File tableFile : entries) {
+            if (size <= maxSize) {
+                break;
+            }
+            if (tableFile.equals(keep)) {
+                continue;
+            }
+            File keyFile = keyFileOf(tableFile);
+            long entrySize = tableFile.length() + keyFile.length();
+            if (keyFile.delete() && tableFile.delete()) {
+                size -= entrySize;
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private static @NotNull File keyFileOf(@NotNull File tableFile) {
+        String name = tableFile.getName();
+        return new File(tableFile.getParentFile(),
+                name.substring(0, name.length() - TABLE_EXTENSION.length()) + KEY_EXTENSION);
+    }
+
+    private static void writeAtomically(@NotNull File file, @NotNull EntryWriter writer) throws IOException {
+
+        // write beside the file, then move over it, so readers never see part of a file...
+
+        File temp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+        try {
+            writer.write(temp);
+            try {
+                Files.move(temp.toPath(), file.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    /**
+     * Writes the contents of an entry's file.
+     */
+    private interface EntryWriter {
+
+        void write(@NotNull File file) throws IOException;
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 9:18 AM
+ * PROJ: OracleMachineLearning
+ * FILE: TableFile.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the TableFile class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reads and writes a {@link DataTable} in a binary, columnar file format.
+ * Every column is stored dictionary-encoded: its distinct values are
+ * serialized once each, and its rows are stored as packed codes.
+ * <p>
+ * A file begins with a small header holding the table's title, its number
+ * of rows, and each column's label, code width and dictionary. The codes of
+ * each column follow, in order, each starting on an 8-byte boundary. When a
+ * file is read, only the header is parsed. The codes are memory-mapped,
+ * so they are paged in as they are used and shared between processes.
+ *
+ * @author agent
+ * @see DataTable#toBinary(File, Function[])
+ * @see DataTable#fromBinary(File, Function[])
+ */
+final class TableFile {
+
+    /**
+     * The first four bytes of every table file.
+     */
+    static final int MAGIC = 0x4454424C;  /* "DTBL" */
+
+    /**
+     * The version of the format that is written.
+     */
+    static final int VERSION = 1;
+
+    private static final int PREAMBLE_SIZE = 3 * Integer.BYTES;
+    private static final int ALIGNMENT = Long.BYTES;
+
+    private TableFile() {
+    }
+
+    /**
+     * Writes a table to a file.
+     *
+     * @param table       the table to write
+     * @param file        the file to write
+     * @param serializers an array of functions, one per column, that each serialize a
+     *                    value into a string. If empty, {@link Object#toString()} is used.
+     * @throws IOException if the file could not be created or written
+     */
+    @SafeVarargs  // 'serializers' array is only accessed
+    static void write(
+            @NotNull DataTable table,
+            @NotNull File file,
+            @NotNull Function<Object, String>... serializers)
+            throws IOException {
+
+        List<EncodedColumn<?>> columns = new ArrayList<>();
+        for (DataTable.Column<?> column : table.getColumns()) {
+            columns.add(column.toEncodedColumn());
+        }
+
+        // write the header into memory, to learn its size...
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+
+        writeString(header, table.getTitle());
+        header.writeInt(table.getNumRows());
+        header.writeInt(columns.size());
+
+        for (int c = 0; c < columns.size(); c++) {
+            EncodedColumn<?> column = columns.get(c);
+            writeString(header, column.getLabel());
+            header.writeInt(column.getCodes().getWidth());
+            header.writeInt(column.getDictionary().size());
+            for (Object value : column.getDictionary().getValues()) {
+                writeString(header, serializers.length == 0
+                        ? value.toString()
+                        : serializers[c].apply(value));
+            }
+        }
+        header.flush();
+
+        // write the preamble, the header, and then the codes of each column...
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(headerBytes.size());
+            headerBytes.writeTo(out);
+
+            long position = PREAMBLE_SIZE + (long) headerBytes.size();
+            for (EncodedColumn<?> column : columns) {
+
+                for (long padded = align(position); position < padded; position++) {
+                    out.writeByte(0);
+                }
+                CodeArray codes = column.getCodes();
+                position += (long) codes.length() * codes.getWidth();
+
+                for (int i = 0, n = codes.length(); i < n; i++) {
+                    switch (codes.getWidth()) {
+                        case Byte.BYTES:
+                            out.writeByte(codes.get(i));
+                            break;
+                        case Short.BYTES:
+                            out.writeShort(codes.get(i));
+                            break;
+                        default:
+                            out.writeInt(codes.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a table from a file. The codes of its columns are left
+     * in the file, mapped into memory, rather than read.
+     *
+     * @param file          the file to read
+     * @param deserializers an array of functions, one per column, that each deserialize
+     *                      a string into a value. If empty, all values remain strings.
+     * @return a new table of encoded columns
+     *
+     * @throws IOException              if the file could not be found or read
+     * @throws IllegalArgumentException if the file is not a table file OR if the number
+     *                                  of deserializers is not zero but does not match
+     *                                  the number of columns
+     */
+    @SafeVarargs  // 'deserializers' array is only accessed
+    static @NotNull DataTable read(
+            @NotNull File file,
+            @NotNull Function<String, Object>... deserializers)
+            throws IOException, IllegalArgumentException {
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+            // read the preamble...
+
+            ByteBuffer preamble = ByteBuffer.allocate(PREAMBLE_SIZE);
+            while (preamble.hasRemaining()) {
+                if (channel.read(preamble) < 0) {
+                    break;
+                }
+            }
+            preamble.flip();
+            if (preamble.remaining() < PREAMBLE_SIZE || preamble.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a table file: " + file);
+            }
+            int version = preamble.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported table file version: " + version);
+            }
+            int headerSize = preamble.getInt();
+            checkSize(channel, PREAMBLE_SIZE, headerSize);
+
+            // read the header...
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, PREAMBLE_SIZE, headerSize);
+
+            String title = readString(header);
+            int numRows = header.getInt();
+            int numCols = header.getInt();
+
+            if (deserializers.length > 0 && deserializers.length != numCols) {
+                throw new IllegalArgumentException(String.format(
+                        "Mismatch in number of columns and deserializers. (%d and %d)",
+                        numCols, deserializers.length));
+            }
+
+            // map the codes of each column, and deserialize its dictionary...
+
+            List<DataTable.Column<?>> columns = new ArrayList<>();
+            long position = PREAMBLE_SIZE + (long) headerSize;
+
+            for (int c = 0; c < numCols; c++) {
+
+                String label = readString(header);
+                int width = header.getInt();
+                int size = header.getInt();
+
+                List<Object> values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    String value = readString(header);
+                    values.add(deserializers.length == 0 ? value : deserializers[c].apply(value));
+                }
+
+                position = align(position);
+                long length = (long) numRows * width;
+                checkSize(channel, position, length);
+                CodeArray codes = CodeArray.wrap(channel.map(
+                        FileChannel.MapMode.READ_ONLY, position, length), numRows, width);
+                position += length;
+
+                columns.add(toColumn(label, values, codes));
+            }
+            return new DataTable(title, columns);
+        }
+    }
+
+    private static @NotNull EncodedColumn<Object> toColumn(
+            @NotNull String label, @NotNull List<Object> values, @NotNull CodeArray codes) {
+
+        ValueDictionary<Object> dictionary = new ValueDictionary<>(values);
+        if (dictionary.size() == values.size()) {
+            return new EncodedColumn<>(label, dictionary, codes);
+        }
+
+        // some values deserialized equal, so their codes must be merged on the heap...
+
+        int[] merged = new int[codes.length()];
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] = dictionary.codeOf(values.get(codes.get(i)));
+        }
+        return new EncodedColumn<>(label, dictionary,
+                CodeArray.of(merged, merged.length, dictionary.size()));
+    }
+
+    private static void checkSize(@NotNull FileChannel channel, long position, long length)
+            throws IOException, IllegalArgumentException {
+
+        if (position + length > channel.size()) {
+            throw new IllegalArgumentException("Table file is truncated.");
+        }
+    }
+
+    private static void writeString(@NotNull DataOutput out, @NotNull String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static @NotNull String readString(@NotNull ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long align(long position) {
+        return (position + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
@@ -13,9 +13,16 @@
 package me.jwotoole9141.oracleml.s4l4;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
 
 /**
  * A utility class for building trees using the {@link Node} class
@@ -61,125 +68,390 @@ public class Tree {
             A defaultAnswer)
             throws IllegalArgumentException, ClassCastException {
 
-        return algorithm.branch(table, resultsKey, successVals, toQuestionFunc, toAnswerFuncs, defaultAnswer);
+        return fromTable(table, resultsKey, successVals, algorithm,
+                toQuestionFunc, toAnswerFuncs, defaultAnswer, Parallelism.SEQUENTIAL);
     }
 
     /**
-     * An enumeration of tree building algorithms that can
-     * be used with {@link #fromTable Tree.fromTable()}.
+     * Creates a tree that categorizes a table of data based on the given algorithm,
+     * spreading the work of building it over a pool of threads. The resulting tree
+     * is the same as one built by {@link #fromTable(DataTable, String, Set, Algorithm,
+     * Function, Map, Object) fromTable()} without a pool.
+     *
+     * @param table          a table of data
+     * @param resultsKey     the label of the column in {@code table} that holds {@code successVals}
+     * @param successVals    the data values that should count as a successful <i>final answer</i> to the table
+     * @param algorithm      the algorithm to build the tree with
+     * @param toQuestionFunc a function that takes the title of the table or the label
+     *                       of one of its columns and returns an object of type {@link Q}
+     * @param toAnswerFuncs  an array of functions, one per column in the table, that each
+     *                       take data from the table and return an object of type {@link A}
+     * @param defaultAnswer  the default answer to use for a node if there is no data
+     * @param parallelism    how the work of building the tree may be run in parallel
+     * @param <Q>            the <i>question</i> type of the tree
+     * @param <T>            the type of data held by the result column of {@code table}
+     * @param <A>            the <i>answer</i> type of the tree
+     * @return a tree model that categorizes the given data
+     *
+     * @throws IllegalArgumentException if {@code table} does not contain a column labled {@code resultsKey}
+     * @throws ClassCastException       if data held by the column labeled {@code resultsKey} isn't {@link T}
      */
-    public enum Algorithm {
+    public static <Q, A, T> @NotNull Node<Q, A> fromTable(
+            @NotNull DataTable table,
+            String resultsKey,
+            Set<T> successVals,
+            @NotNull Algorithm algorithm,
+            @NotNull Function<String, Q> toQuestionFunc,
+            @NotNull Map<String, Function<Object, A>> toAnswerFuncs,
+            A defaultAnswer,
+            @NotNull Parallelism parallelism)
+            throws IllegalArgumentException, ClassCastException {
+
+        return algorithm.branch(table, resultsKey, successVals,
+                toQuestionFunc, toAnswerFuncs, defaultAnswer, parallelism);
+    }
+
+    /**
+     * Describes how the work of building a tree may be spread over a pool
+     * of threads. The gains of a node's candidate attributes may be found in
+     * parallel, and so may the subtrees of its children. Either is only done
+     * for nodes that hold at least a threshold number of rows, since smaller
+     * nodes are cheaper to build on one thread. Trees are the same no matter
+     * how they were built.
+     *
+     * @author Jared O'Toole
+     * @see #fromTable(DataTable, String, Set, Algorithm, Function, Map, Object, Parallelism)
+     */
+    public static final class Parallelism {
 
         /**
-         * An Iterative Dichotomiser 3 implementation.
+         * Builds trees entirely on the calling thread.
          */
-        ID3 {
-            @Override
-            public <Q, A, T> @NotNull Node<Q, A> branch(
-                    @NotNull DataTable table,
-                    @NotNull String resultsKey,
-                    @NotNull Set<T> successVals,
-                    @NotNull Function<String, Q> toQuestionFunc,
-                    @NotNull Map<String, Function<Object, A>> toAnswerFuncs,
-                    @NotNull A defaultAnswer)
-                    throws IllegalArgumentException, ClassCastException {
+        public static final Parallelism SEQUENTIAL = new Parallelism(null, Integer.MAX_VALUE);
 
-                // if the table is empty, end the tree with the default answer...
+        private final @Nullable ForkJoinPool pool;
+        private final int gainThreshold;
+        private final int subtreeThreshold;
 
-                if (table.getNumRows() == 0) {
-                    return new NodeOuter<>(defaultAnswer);
-                    // BASE CASE
-                }
+        /**
+         * Creates a description of parallel tree building, with
+         * the same threshold for gains and for subtrees.
+         *
+         * @param pool      the pool to run parallel work on
+         * @param threshold the smallest number of rows in a node for which
+         *                  its gains and its subtrees are found in parallel
+         */
+        public Parallelism(@Nullable ForkJoinPool pool, int threshold) {
+            this(pool, threshold, threshold);
+        }
 
-                //noinspection unchecked
-                DataTable.Column<T> resultsCol = (DataTable.Column<T>) table.getColumn(resultsKey);
-                Function<Object, A> toAnswerFunc = toAnswerFuncs.get(resultsCol.getLabel());
+        /**
+         * Creates a description of parallel tree building.
+         *
+         * @param pool             the pool to run parallel work on
+         * @param gainThreshold    the smallest number of rows in a node for which
+         *                         the gains of its candidate attributes are found
+         *                         in parallel
+         * @param subtreeThreshold the smallest number of rows in a node for which
+         *                         the subtrees of its children are built in parallel
+         */
+        public Parallelism(@Nullable ForkJoinPool pool, int gainThreshold, int subtreeThreshold) {
+            this.pool = pool;
+            this.gainThreshold = gainThreshold;
+            this.subtreeThreshold = subtreeThreshold;
+        }
 
-                // if there are no other columns left, end the tree with the most commun result..
+        /**
+         * Gets the pool that parallel work runs on.
+         *
+         * @return a pool, or null if all work is sequential
+         */
+        public @Nullable ForkJoinPool getPool() {
+            return pool;
+        }
 
-                if (table.getNumCols() == 1 /* just results col */) {
+        /**
+         * Gets the smallest number of rows in a node for which the
+         * gains of its candidate attributes are found in parallel.
+         *
+         * @return a number of rows
+         */
+        public int getGainThreshold() {
+            return gainThreshold;
+        }
 
-                    T mostCommonResult = resultsCol.getCounts().entrySet().stream()
-                            .max(Comparator.comparingInt(Map.Entry::getValue))
-                            .map(Map.Entry::getKey).orElse(null);
+        /**
+         * Gets the smallest number of rows in a node for which
+         * the subtrees of its children are built in parallel.
+         *
+         * @return a number of rows
+         */
+        public int getSubtreeThreshold() {
+            return subtreeThreshold;
+        }
 
-                    A finalAnswer = mostCommonResult == null
-                            ? defaultAnswer
-                            : toAnswerFunc.apply(mostCommonResult);
+        /**
+         * Runs an action once for every candidate attribute of a node. If the
+         * node is large enough, the attributes are split over this pool.
+         * Either way, this returns once every action is done.
+         *
+         * @param numRows the number of rows in the node being built
+         * @param count   the number of attributes, indexed from zero
+         * @param action  the action to run for each attribute's index
+         */
+        void forEachAttribute(int numRows, int count, @NotNull IntConsumer action) {
 
-                    return new NodeOuter<>(finalAnswer);
-                    // BASE CASE
+            if (pool == null || numRows < gainThreshold || count < 2) {
+                for (int i = 0; i < count; i++) {
+                    action.accept(i);
                 }
+                return;
+            }
+            invoke(new RangeAction(0, count, action));
+        }
 
-                // if there is no entropy left, end the tree with the unanimous result...
+        /**
+         * Builds the subtree of every child of a node. If the node is large
+         * enough, each subtree becomes its own task on this pool. Either way,
+         * the subtrees are returned in order once they are all built, so that
+         * they can be attached to their parent on the calling thread.
+         *
+         * @param numRows the number of rows in the node being built
+         * @param count   the number of children, indexed from zero
+         * @param subtree a function that takes a child's index and builds its subtree
+         * @param <R>     the type of the subtrees
+         * @return the subtree of each child, in order
+         */
+        <R> @NotNull List<R> mapChildren(int numRows, int count, @NotNull IntFunction<R> subtree) {
 
-                Set<T> resultValues = resultsCol.getValues();
-                if (resultValues.size() == 1) {
+            List<R> results = new ArrayList<>(count);
 
-                    A finalAnswer = toAnswerFunc.apply(resultValues.stream().findAny().get());
-                    return new NodeOuter<>(finalAnswer);
-                    // BASE CASE
+            if (pool == null || numRows < subtreeThreshold || count < 2) {
+                for (int i = 0; i < count; i++) {
+                    results.add(subtree.apply(i));
                 }
+                return results;
+            }
 
-                // calculate system entropy using the results column...
+            List<SubtreeTask<R>> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tasks.add(new SubtreeTask<>(subtree, i));
+            }
+            invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
 
-                double systemEntropy = entropy(resultsCol, successVals);
+            for (SubtreeTask<R> task : tasks) {
+                results.add(task.join());
+            }
+            return results;
+        }
 
-                // calculate the gains of every other column...
+        /**
+         * Creates a string representation of this description.
+         *
+         * @return an informative, single-line string
+         */
+        @Override
+        public @NotNull String toString() {
+            return String.format("Parallelism[pool=%s, gainThreshold=%d, subtreeThreshold=%d]",
+                    pool, gainThreshold, subtreeThreshold);
+        }
 
-                Map<DataTable.Column<?>, Double> gains = new HashMap<>();
-                for (DataTable.Column<?> column : table.getColumns()) {
-                    if (column != resultsCol) {
-                        gains.put(column, gain(
-                                systemEntropy, column,
-                                resultsCol, successVals));
-                    }
-                }
+        /**
+         * Runs a task on this pool, joining it directly if
+         * the calling thread already belongs to the pool.
+         */
+        private void invoke(@NotNull ForkJoinTask<?> task) {
+
+            assert pool != null;
+            if (ForkJoinTask.getPool() == pool) {
+                task.invoke();
+            }
+            else {
+                pool.invoke(task);
+            }
+        }
 
-                // choose the column with the highest gain...
+        /**
+         * Splits a range of indices in half until each index has its own task.
+         */
+        @SuppressWarnings("serial")  // tasks are never serialized
+        private static class RangeAction extends RecursiveAction {
 
-                final DataTable.Column<?> attrCol;
-                int attrColIndex;
-                {
-                    double highestGain = Double.NEGATIVE_INFINITY;
-                    DataTable.Column<?> bestAttr = null;
+            private final int from;
+            private final int to;
+            private final @NotNull IntConsumer action;
 
-                    for (DataTable.Column<?> attr : gains.keySet()) {
-                        double entropyGain = gains.get(attr);
-                        if (entropyGain > highestGain) {
-                            highestGain = entropyGain;
-                            bestAttr = attr;
-                        }
-                    }
-                    assert bestAttr != null;
-                    attrCol = bestAttr;
+            private RangeAction(int from, int to, @NotNull IntConsumer action) {
+                this.from = from;
+                this.to = to;
+                this.action = action;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from == 1) {
+                    action.accept(from);
                 }
+                else {
+                    int mid = (from + to) >>> 1;
+                    invokeAll(new RangeAction(from, mid, action), new RangeAction(mid, to, action));
+                }
+            }
+        }
 
-                // for each unique value (outcome) under the chosen column...
+        /**
+         * Builds the subtree of one child of a node.
+         */
+        @SuppressWarnings("serial")  // tasks are never serialized
+        private static class SubtreeTask<R> extends RecursiveTask<R> {
 
-                NodeInner<Q, A> node = new NodeInner<>(toQuestionFunc.apply(attrCol.getLabel()));
+            private final @NotNull IntFunction<R> subtree;
+            private final int index;
 
-                /* gets a sub-table without the attr column-- we dont need it when branching further */
-                DataTable slicedTable = table.toSubTable(col -> col != attrCol);
+            private SubtreeTask(@NotNull IntFunction<R> subtree, int index) {
+                this.subtree = subtree;
+                this.index = index;
+            }
+
+            @Override
+            protected R compute() {
+                return subtree.apply(index);
+            }
+        }
+    }
+
+    /**
+     * An enumeration of tree building algorithms that can
+     * be used with {@link #fromTable Tree.fromTable()}.
+     */
+    public enum Algorithm {
+
+        /**
+         * An Iterative Dichotomiser 3 implementation.
+         */
+        ID3,
+
+        /**
+         * An Iterative Dichotomiser 3 implementation that finds the gain of
+         * each attribute from a {@link ContingencyTable}, counted in a single
+         * pass over the rows, rather than from a sub-column per outcome.
+         * It builds the same trees as {@link #ID3}.
+         */
+        ID3_COUNTS {
+            @Override
+            protected <T> double attributeGain(
+                    double systemEntropy,
+                    @NotNull DataTable.Column<?> attrColumn,
+                    @NotNull DataTable.Column<T> resultColumn,
+                    @NotNull Set<T> successVals) {
 
-                for (Object value : attrCol.getValues()) {
+                return ContingencyTable.of(attrColumn, resultColumn).gain(systemEntropy, successVals);
+            }
+        },
 
-                    /* gets a sub-table with only the rows containing 'value' */
-                    DataTable subTable = slicedTable.toSubTable(attrCol, e -> e.equals(value));
+        /**
+         * An Iterative Dichotomiser 3 implementation that never creates
+         * sub-tables. Instead, it partitions a single array of row indices
+         * in place for each branch, and tracks the attribute columns still
+         * in use with a bitmask. It builds the same trees as {@link #ID3}.
+         *
+         * @see PartitionedID3
+         */
+        ID3_PARTITIONED {
+            @Override
+            public <Q, A, T> @NotNull Node<Q, A> branch(
+                    @NotNull DataTable table,
+                    @NotNull String resultsKey,
+                    @NotNull Set<T> successVals,
+                    @NotNull Function<String, Q> toQuestionFunc,
+                    @NotNull Map<String, Function<Object, A>> toAnswerFuncs,
+                    @NotNull A defaultAnswer,
+                    @NotNull Parallelism parallelism)
+                    throws IllegalArgumentException, ClassCastException {
 
-                    // branch on the sub-table of data...
+                return new PartitionedID3<>(table, resultsKey, successVals,
+                        toQuestionFunc, toAnswerFuncs, defaultAnswer, parallelism).build();
+            }
+        },
 
-                    A outcome = toAnswerFuncs.get(attrCol.getLabel()).apply(value);
+        /**
+         * An Iterative Dichotomiser 3 implementation that reduces the result
+         * column to a bitset of its successes once, and each outcome of each
+         * attribute to a bitset of its rows. Each term of a gain is then an AND
+         * of bitsets and a bit count, rather than a pass over boxed rows. It
+         * builds the same trees as {@link #ID3}. A table with too many distinct
+         * values for its bitsets to fit in memory is built as by
+         * {@link #ID3_PARTITIONED} instead.
+         *
+         * @see BitsetID3
+         */
+        ID3_BITSET {
+            @Override
+            public <Q, A, T> @NotNull Node<Q, A> branch(
+                    @NotNull DataTable table,
+                    @NotNull String resultsKey,
+                    @NotNull Set<T> successVals,
+                    @NotNull Function<String, Q> toQuestionFunc,
+                    @NotNull Map<String, Function<Object, A>> toAnswerFuncs,
+                    @NotNull A defaultAnswer,
+                    @NotNull Parallelism parallelism)
+                    throws IllegalArgumentException, ClassCastException {
 
-                    node.getChildren().put(outcome,
-                            branch(subTable, resultsKey, successVals,
-                                    toQuestionFunc, toAnswerFuncs, defaultAnswer));
-                    // RECURSIVE CASE
+                if (!BitsetID3.fits(table)) {
+                    return ID3_PARTITIONED.branch(table, resultsKey, successVals,
+                            toQuestionFunc, toAnswerFuncs, defaultAnswer, parallelism);
                 }
-                return node;
+                return new BitsetID3<>(table, resultsKey, successVals,
+                        toQuestionFunc, toAnswerFuncs, defaultAnswer, parallelism).build();
             }
         };
 
+        /**
+         * Gains that are within this amount of each other are considered tied.
+         * Ties are broken in favor of the earlier column in the table.
+         */
+        public static final double GAIN_TOLERANCE = 1e-12;
+
+        /**
+         * Finds the most common value of a column from its counts, as every
+         * algorithm does to end a tree once no attributes are left. Of values
+         * that are equally common, the one that occurs first in the rows is
+         * chosen, as {@link ColumnStatistics#getMode()} does.
+         *
+         * @param counts the count of every distinct value under a column
+         * @param rows   the rows of the column, in order
+         * @param <T>    the data type held by the column
+         * @return the most common value, or null if there are no counts
+         */
+        static <T> @Nullable T mostCommon(@NotNull Map<T, Integer> counts, @NotNull Iterable<T> rows) {
+
+            // find the most common values...
+
+            Set<T> mostCommon = new HashSet<>();
+            int highestCount = 0;
+            for (Map.Entry<T, Integer> entry : counts.entrySet()) {
+                if (entry.getValue() > highestCount) {
+                    mostCommon.clear();
+                    highestCount = entry.getValue();
+                }
+                if (entry.getValue() == highestCount) {
+                    mostCommon.add(entry.getKey());
+                }
+            }
+            if (mostCommon.size() < 2) {
+                return mostCommon.isEmpty() ? null : mostCommon.iterator().next();
+            }
+
+            // break a tie with the first of them in the rows...
+
+            for (T row : rows) {
+                if (mostCommon.contains(row)) {
+                    return row;
+                }
+            }
+            return null;
+        }
+
         /**
          * Mutates the given node into a tree that
          * dichotomises the given table of data.
@@ -199,14 +471,163 @@ public class Tree {
          * @throws IllegalArgumentException if {@code table} does not contain a column labled {@code resultsKey}
          * @throws ClassCastException       if data held by the column labeled {@code resultsKey} isn't {@link T}
          */
-        public abstract <Q, A, T> @NotNull Node<Q, A> branch(
+        public <Q, A, T> @NotNull Node<Q, A> branch(
                 @NotNull DataTable table,
                 @NotNull String resultsKey,
                 @NotNull Set<T> successVals,
                 @NotNull Function<String, Q> toQuestionFunc,
                 @NotNull Map<String, Function<Object, A>> toAnswerFuncs,
                 @NotNull A defaultAnswer)
-                throws IllegalArgumentException, ClassCastException;
+                throws IllegalArgumentException, ClassCastException {
+
+            return branch(table, resultsKey, successVals,
+                    toQuestionFunc, toAnswerFuncs, defaultAnswer, Parallelism.SEQUENTIAL);
+        }
+
+        /**
+         * Mutates the given node into a tree that dichotomises the given
+         * table of data, spreading the work over a pool of threads.
+         *
+         * @param table          the table to branch with
+         * @param resultsKey     the label of the column in {@code table} that holds {@code successVals}
+         * @param successVals    the data values that should count as a successful <i>final answer</i> to the table
+         * @param toQuestionFunc a function that takes the label of columns in {@code table} and returns a {@link Q}
+         * @param toAnswerFuncs  a map of column labels to functions that each take data from their column
+         * @param defaultAnswer  the default answer to use for a node if there is no data
+         *                       in {@code table} and return an {@link A}
+         * @param parallelism    how the work of branching may be run in parallel
+         * @param <Q>            the <i>question</i> type of the given node
+         * @param <T>            the type of data held by the result column of {@code table}
+         * @param <A>            the <i>answer</i> type of the given node
+         * @return the nodes that were created by categorizing {@code table}
+         *
+         * @throws IllegalArgumentException if {@code table} does not contain a column labled {@code resultsKey}
+         * @throws ClassCastException       if data held by the column labeled {@code resultsKey} isn't {@link T}
+         */
+        public <Q, A, T> @NotNull Node<Q, A> branch(
+                @NotNull DataTable table,
+                @NotNull String resultsKey,
+                @NotNull Set<T> successVals,
+                @NotNull Function<String, Q> toQuestionFunc,
+                @NotNull Map<String, Function<Object, A>> toAnswerFuncs,
+                @NotNull A defaultAnswer,
+                @NotNull Parallelism parallelism)
+                throws IllegalArgumentException, ClassCastException {
+
+            // if the table is empty, end the tree with the default answer...
+
+            if (table.getNumRows() == 0) {
+                return new NodeOuter<>(defaultAnswer);
+                // BASE CASE
+            }
+
+            //noinspection unchecked
+            DataTable.Column<T> resultsCol = (DataTable.Column<T>) table.getColumn(resultsKey);
+            Function<Object, A> toAnswerFunc = toAnswerFuncs.get(resultsCol.getLabel());
+
+            // if there are no other columns left, end the tree with the most commun result..
+
+            if (table.getNumCols() == 1 /* just results col */) {
+
+                T mostCommonResult = mostCommon(resultsCol.getCounts(), resultsCol.getRows());
+
+                A finalAnswer = mostCommonResult == null
+                        ? defaultAnswer
+                        : toAnswerFunc.apply(mostCommonResult);
+
+                return new NodeOuter<>(finalAnswer);
+                // BASE CASE
+            }
+
+            // if there is no entropy left, end the tree with the unanimous result...
+
+            Set<T> resultValues = resultsCol.getValues();
+            if (resultValues.size() == 1) {
+
+                A finalAnswer = toAnswerFunc.apply(resultValues.stream().findAny().get());
+                return new NodeOuter<>(finalAnswer);
+                // BASE CASE
+            }
+
+            // calculate system entropy using the results column...
+
+            double systemEntropy = entropy(resultsCol, successVals);
+
+            // calculate the gains of every other column, possibly in parallel...
+
+            List<DataTable.Column<?>> attrs = new ArrayList<>(table.getColumns());
+            attrs.remove(resultsCol);
+
+            double[] gains = new double[attrs.size()];
+            parallelism.forEachAttribute(table.getNumRows(), gains.length,
+                    i -> gains[i] = attributeGain(systemEntropy, attrs.get(i), resultsCol, successVals));
+
+            // choose the column with the highest gain, in table order...
+
+            final DataTable.Column<?> attrCol;
+            {
+                double highestGain = Double.NEGATIVE_INFINITY;
+                DataTable.Column<?> bestAttr = null;
+
+                for (int i = 0; i < gains.length; i++) {
+                    double entropyGain = gains[i];
+                    if (entropyGain > highestGain + GAIN_TOLERANCE) {
+                        highestGain = entropyGain;
+                        bestAttr = attrs.get(i);
+                    }
+                }
+                assert bestAttr != null;
+                attrCol = bestAttr;
+            }
+
+            // for each unique value (outcome) under the chosen column...
+
+            NodeInner<Q, A> node = new NodeInner<>(toQuestionFunc.apply(attrCol.getLabel()));
+
+            /* gets a sub-table without the attr column-- we dont need it when branching further */
+            DataTable slicedTable = table.toSubTable(col -> col != attrCol);
+            List<Object> values = new ArrayList<>(attrCol.getValues());
+
+            // branch on the sub-table of data, possibly in parallel...
+
+            List<Node<Q, A>> children = parallelism.mapChildren(table.getNumRows(), values.size(), i -> {
+
+                /* gets a sub-table with only the rows containing 'value' */
+                DataTable subTable = slicedTable.toSubTable(attrCol, e -> e.equals(values.get(i)));
+
+                return branch(subTable, resultsKey, successVals,
+                        toQuestionFunc, toAnswerFuncs, defaultAnswer, parallelism);
+                // RECURSIVE CASE
+            });
+
+            // attach the children on this thread, since doing so updates their parents...
+
+            for (int i = 0; i < values.size(); i++) {
+                A outcome = toAnswerFuncs.get(attrCol.getLabel()).apply(values.get(i));
+                node.getChildren().put(outcome, children.get(i));
+            }
+            return node;
+        }
+
+        /**
+         * Calculates the gain in entropy of an attribute column, on behalf of
+         * {@link #branch branch()}. By default this is {@link #gain gain()}.
+         *
+         * @param systemEntropy the total entropy of the {@code resultColumn}
+         * @param attrColumn    the column whose gain in entropy is being evaluated
+         * @param resultColumn  the column of a table that holds {@code successVals}
+         * @param successVals   the data values that should count as a success
+         * @param <T>           the data type held by the {@code resultColumn}
+         * @return the gain in entropy of {@code attrColumn}
+         */
+        protected <T> double attributeGain(
+                double systemEntropy,
+                @NotNull DataTable.Column<?> attrColumn,
+                @NotNull DataTable.Column<T> resultColumn,
+                @NotNull Set<T> successVals) {
+
+            return gain(systemEntropy, attrColumn, resultColumn, successVals);
+        }
 
         /**
          * Calculates the entropy of a column of data. Each datum is
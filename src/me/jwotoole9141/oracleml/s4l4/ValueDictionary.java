@@ -0,0 +1,154 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 8:45 AM
+ * PROJ: OracleMachineLearning
+ * FILE: ValueDictionary.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the ValueDictionary class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the distinct values of a column to dense integer codes, and back.
+ * Codes are handed out in the order that values are first seen, starting
+ * at zero. A dictionary only ever grows, so it may safely be shared by
+ * several {@link EncodedColumn}s, such as a column and its sub-columns.
+ * <p>
+ * Values are added to a dictionary one at a time, since columns that
+ * share it may have rows added by different threads, while others read
+ * it. A value is written into the array of values before the array and
+ * the size are published, and is only given a code after that, so any
+ * code that a reader finds, or that is below the size it reads, decodes.
+ *
+ * @param <T> the type of data held in this dictionary
+ * @author agent
+ * @see EncodedColumn
+ */
+public class ValueDictionary<T> {
+
+    private volatile @NotNull Object[] values = new Object[16];
+    private volatile int size = 0;
+    private final @NotNull Map<@NotNull T, Integer> codes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty dictionary.
+     */
+    public ValueDictionary() {
+        this(null);
+    }
+
+    /**
+     * Creates a dictionary holding the given values, coded in the given order.
+     *
+     * @param values the initial values of this dictionary
+     */
+    public ValueDictionary(@Nullable Collection<T> values) {
+        if (values != null) {
+            for (T value : values) {
+                encode(value);
+            }
+        }
+    }
+
+    /**
+     * Gets the code for the given value, adding it to this dictionary if needed.
+     *
+     * @param value the value to encode
+     * @return the value's code
+     */
+    public int encode(@NotNull T value) {
+
+        Integer code = codes.get(value);
+        return (code != null) ? code : add(value);
+    }
+
+    private synchronized int add(@NotNull T value) {
+
+        Integer code = codes.get(value);
+        if (code == null) {
+
+            // write the value, then publish the array and the size, and only then the code...
+
+            code = size;
+            Object[] grown = (code == values.length) ? Arrays.copyOf(values, code * 2) : values;
+            grown[code] = value;
+            values = grown;
+            size = code + 1;
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    /**
+     * Gets the code for the given value, without modifying this dictionary.
+     *
+     * @param value the value to look up
+     * @return the value's code, or -1 if it is not in this dictionary
+     */
+    public int codeOf(Object value) {
+        return (value == null) ? -1 : codes.getOrDefault(value, -1);
+    }
+
+    /**
+     * Gets the value for the given code.
+     *
+     * @param code a code from this dictionary
+     * @return the value the code represents
+     *
+     * @throws IndexOutOfBoundsException if the code is not in this dictionary
+     */
+    @SuppressWarnings("unchecked")  // only values of type 'T' are written to the array
+    public @NotNull T decode(int code) {
+
+        if (code >= size) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Code %d of a dictionary of %d values.", code, size));
+        }
+        return (T) values[code];
+    }
+
+    /**
+     * Gets the number of distinct values in this dictionary.
+     *
+     * @return the dictionary cardinality
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the values in this dictionary, ordered by code. The list holds
+     * the values that were in this dictionary when it was asked for, and
+     * does not grow with it.
+     *
+     * @return an unmodifiable list
+     */
+    @SuppressWarnings("unchecked")  // only values of type 'T' are written to the array
+    public @NotNull List<T> getValues() {
+
+        // read the size before the array, which holds at least that many values...
+
+        int size = this.size;
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(values).subList(0, size));
+    }
+
+    /**
+     * Creates a string representation of this dictionary.
+     *
+     * @return an informative, single-line string
+     */
+    @Override
+    public @NotNull String toString() {
+        return String.format("ValueDictionary[size=%d]", size);
+    }
+}
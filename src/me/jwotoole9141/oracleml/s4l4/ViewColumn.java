@@ -0,0 +1,323 @@
+/*
+ * AUTH: agent
+ * DATE: 10/18/2026 8:47 AM
+ * PROJ: OracleMachineLearning
+ * FILE: ViewColumn.java
+ *
+ * "Create an ID3 Tree" task for Section 4 Lesson 4
+ * of the AI with ML in Java Oracle iLearning Course.
+ *
+ * Defines the ViewColumn class.
+ */
+
+package me.jwotoole9141.oracleml.s4l4;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Represents a <i>sub-view</i> of another column's rows. A view holds no data
+ * of its own, only a reference to its parent column and an ascending array of
+ * the parent's row indices. The columns of a sub-table share one such array.
+ * Data is only copied out of the parent by {@link #toCopy()}.
+ *
+ * @param <T> the type of data held in this column
+ * @author agent
+ * @see DataTable.Column#toSubColumn(Predicate)
+ * @see DataTable#toSubTable(DataTable.Column, Predicate)
+ */
+public class ViewColumn<T> extends DataTable.Column<T> {
+
+    private final @NotNull DataTable.Column<T> parent;
+    private final @NotNull int[] indices;
+    private final @NotNull List<@NotNull T> rowsView;
+
+    /**
+     * Creates a view of the given rows of a column.
+     *
+     * @param parent  the column whose data is being viewed; never a view itself
+     * @param indices the indices of the rows of {@code parent} in this view
+     */
+    private ViewColumn(@NotNull DataTable.Column<T> parent, @NotNull int[] indices) {
+
+        super(parent.getLabel());
+        this.parent = parent;
+        this.indices = indices;
+        this.rowsView = new RowsView();
+    }
+
+    /**
+     * Creates a view of the given rows of a column. A view of a view
+     * is flattened into a view of the original column.
+     *
+     * @param column  the column to view
+     * @param indices the indices of the rows of {@code column} in the view
+     * @param <T>     the type of data held by {@code column}
+     * @return a new column that shares {@code column}'s data
+     */
+    static <T> @NotNull ViewColumn<T> of(@NotNull DataTable.Column<T> column, @NotNull int[] indices) {
+        return of(column, indices, new IdentityHashMap<>());
+    }
+
+    /**
+     * Creates a view of the given rows of a column. A view of a view is
+     * flattened into a view of the original column. Views that select
+     * the same rows of their parents will share their flattened indices
+     * through {@code selections}.
+     *
+     * @param column     the column to view
+     * @param indices    the indices of the rows of {@code column} in the view
+     * @param selections a cache of flattened indices, keyed by the
+     *                   (identity of the) indices of existing views
+     * @param <T>        the type of data held by {@code column}
+     * @return a new column that shares {@code column}'s data
+     */
+    static <T> @NotNull ViewColumn<T> of(
+            @NotNull DataTable.Column<T> column,
+            @NotNull int[] indices,
+            @NotNull Map<int[], int[]> selections) {
+
+        if (column instanceof ViewColumn) {
+            ViewColumn<T> view = (ViewColumn<T>) column;
+            int[] flattened = selections.computeIfAbsent(view.indices, parentIndices -> {
+                int[] result = new int[indices.length];
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = parentIndices[indices[i]];
+                }
+                return result;
+            });
+            return new ViewColumn<>(view.parent, flattened);
+        }
+        return new ViewColumn<>(column, indices);
+    }
+
+    /**
+     * Gets the column whose data this view shares.
+     *
+     * @return the parent column
+     */
+    public @NotNull DataTable.Column<T> getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the index in the parent column of one of this view's rows.
+     *
+     * @param index the index of a row in this view
+     * @return the index of the same row in {@link #getParent()}
+     */
+    public int getParentIndex(int index) {
+        return indices[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull List<T> getRows() {
+        return rowsView;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumRows() {
+        return indices.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull T getRow(int index) {
+        return parent.getRow(indices[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The set is that of the values counted by {@link #getCounts()}.
+     */
+    @Override
+    public @NotNull Set<T> getValues() {
+        return getCounts().keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     * A view of every row of its parent reuses the parent's counts, once they
+     * are found. A view of more than half of the parent's rows subtracts the
+     * counts of the rows it leaves out from the parent's, rather than counting
+     * its own. In a view of an {@link EncodedColumn}, codes are counted rather
+     * than values.
+     */
+    @Override
+    protected @NotNull Map<T, Integer> countValues(int numRows) {
+
+        // derive the counts from the parent's, if they are known of all its rows and it's the shorter way...
+
+        int parentRows = parent.getNumRows();
+        Map<T, Integer> parentCounts = parent.getCachedCounts(parentRows);
+
+        if (parentCounts != null && indices.length * 2 > parentRows && isAscending()) {
+            if (indices.length == parentRows) {
+                return parentCounts;
+            }
+            Map<T, Integer> counts = new LinkedHashMap<>(parentCounts);
+            for (int i = 0, next = 0; i < parentRows; i++) {
+                if (next < indices.length && indices[next] == i) {
+                    next++;
+                }
+                else {
+                    counts.computeIfPresent(parent.getRow(i), (value, count) -> (count == 1) ? null : count - 1);
+                }
+            }
+            return counts;
+        }
+
+        // otherwise count the rows of the view...
+
+        if (parent instanceof EncodedColumn) {
+            EncodedColumn<T> encoded = (EncodedColumn<T>) parent;
+            return EncodedColumn.toCounts(encoded.getDictionary(), getCodeCounts(encoded));
+        }
+        return super.countValues(numRows);
+    }
+
+    /**
+     * Creates a new column holding its own copy of the rows in this view.
+     * A view of an {@link EncodedColumn} is copied as an encoded column,
+     * and a view of a {@link NumericColumn} as a numeric column.
+     *
+     * @return a new column with the same data
+     */
+    @Override
+    @SuppressWarnings("unchecked")  // a numeric parent holds numbers of type 'T'
+    public @NotNull DataTable.Column<T> toCopy() {
+
+        if (parent instanceof EncodedColumn) {
+            EncodedColumn<T> encoded = (EncodedColumn<T>) parent;
+            return new EncodedColumn<>(getLabel(), encoded.getDictionary(),
+                    encoded.getCodes().gather(indices, indices.length));
+        }
+        if (parent instanceof NumericColumn) {
+            return (DataTable.Column<T>) ((NumericColumn<?>) parent).gather(indices);
+        }
+        return new DataTable.Column<>(getLabel(), rowsView);
+    }
+
+    /**
+     * {@inheritDoc}
+     * A view of an {@link EncodedColumn} is copied as an encoded column.
+     */
+    @Override
+    public @NotNull EncodedColumn<T> toEncodedColumn() {
+        return (parent instanceof EncodedColumn)
+                ? (EncodedColumn<T>) toCopy()
+                : super.toEncodedColumn();
+    }
+
+    /**
+     * {@inheritDoc}
+     * In a view of an {@link EncodedColumn}, the codes
+     * of the selected rows are counted, rather than their values.
+     */
+    @Override
+    public Map<T, Integer> getCounts(@NotNull RowSelection selection) throws IllegalArgumentException {
+
+        if (!(parent instanceof EncodedColumn)) {
+            return super.getCounts(selection);
+        }
+        checkSelection(selection);
+
+        EncodedColumn<T> encoded = (EncodedColumn<T>) parent;
+        CodeArray codes = encoded.getCodes();
+
+        int[] codeCounts = new int[encoded.getDictionary().size()];
+        selection.forEach(i -> codeCounts[codes.get(indices[i])]++);
+        return EncodedColumn.toCounts(encoded.getDictionary(), codeCounts);
+    }
+
+    /**
+     * A view holds no rows of its own, so none can be added to it.
+     *
+     * @param rows the rows of data to be added
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    protected void checkRows(@NotNull List<?> rows) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException(String.format(
+                "Can't add rows to column '%s', a view of another column.", getLabel()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * In a view of an {@link EncodedColumn}, the filter is
+     * only tested once per distinct value.
+     */
+    @Override
+    public @NotNull RowSelection select(@NotNull Predicate<T> filter) {
+
+        if (!(parent instanceof EncodedColumn)) {
+            return super.select(filter);
+        }
+
+        EncodedColumn<T> encoded = (EncodedColumn<T>) parent;
+        ValueDictionary<T> dictionary = encoded.getDictionary();
+        CodeArray codes = encoded.getCodes();
+
+        // test the filter once per distinct value...
+
+        boolean[] accepted = new boolean[dictionary.size()];
+        for (T value : getValues()) {
+            accepted[dictionary.codeOf(value)] = filter.test(value);
+        }
+
+        // select the rows whose codes were accepted...
+
+        RowSelection.Builder selection = new RowSelection.Builder(indices.length);
+        for (int i = 0; i < indices.length; i++) {
+            if (accepted[codes.get(indices[i])]) {
+                selection.add(i);
+            }
+        }
+        return selection.build();
+    }
+
+    private boolean isAscending() {
+        for (int i = 1; i < indices.length; i++) {
+            if (indices[i] <= indices[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private @NotNull int[] getCodeCounts(@NotNull EncodedColumn<T> encoded) {
+
+        CodeArray codes = encoded.getCodes();
+        int[] counts = new int[encoded.getDictionary().size()];
+        for (int index : indices) {
+            counts[codes.get(index)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * A read-only list that reads rows from the parent column on access.
+     */
+    private class RowsView extends AbstractList<T> implements RandomAccess {
+
+        @Override
+        public T get(int index) {
+            return getRow(index);
+        }
+
+        @Override
+        public int size() {
+            return indices.length;
+        }
+    }
+}
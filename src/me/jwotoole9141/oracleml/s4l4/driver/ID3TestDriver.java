@@ -13,7 +13,11 @@
 package me.jwotoole9141.oracleml.s4l4.driver;
 
 import com.opencsv.exceptions.CsvValidationException;
+import me.jwotoole9141.oracleml.s4l4.Classifier;
+import me.jwotoole9141.oracleml.s4l4.CompiledTree;
+import me.jwotoole9141.oracleml.s4l4.ContingencyTable;
 import me.jwotoole9141.oracleml.s4l4.DataTable;
+import me.jwotoole9141.oracleml.s4l4.IntColumn;
 import me.jwotoole9141.oracleml.s4l4.Node;
 import me.jwotoole9141.oracleml.s4l4.Tree;
 import me.jwotoole9141.oracleml.s4l4.driver.TableTestDriver.Planet;
@@ -22,7 +26,9 @@ import me.jwotoole9141.oracleml.s4l4.driver.TableTestDriver.SkillLevel;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -43,8 +49,8 @@ public class ID3TestDriver {
         // create sample data...
 
         Set<Integer> studyTrueCriteria = IntStream.range(1, 24).boxed().collect(Collectors.toSet());
-        DataTable.Column<Integer> studyHoursCol = new DataTable.Column<>("hours studied",
-                Arrays.asList(0, 0, 0, 0));
+        DataTable.Column<Integer> studyHoursCol = new IntColumn("hours studied",
+                new int[]{ 0, 0, 0, 0 });
 
         Set<CoinFlip> coinTrueCriteria = Collections.singleton(CoinFlip.HEADS);
         DataTable.Column<CoinFlip> coinFlipCol = new DataTable.Column<>("coin flip",
@@ -84,6 +90,15 @@ public class ID3TestDriver {
         System.out.printf("The gain of '%s' on '%s' is: %f\n",
                 coinFlipCol.getLabel(), testGradeCol.getLabel(), flipGainOnGrade);
 
+        // testing the count-matrix gain function...
+
+        System.out.println("\nTesting ContingencyTable.gain()...");
+
+        double flipGainOnGradeCounts = ContingencyTable.of(coinFlipCol, testGradeCol)
+                .gain(testGradeEntropy, testTrueCriteria);
+        System.out.printf("The gain of '%s' on '%s' is: %f\n",
+                coinFlipCol.getLabel(), testGradeCol.getLabel(), flipGainOnGradeCounts);
+
         // testing the id3 algorithm...
 
         System.out.println("\nTesting Tree.fromTable()...");
@@ -108,6 +123,114 @@ public class ID3TestDriver {
         System.out.println("Play sport?");
         System.out.println(playSportTree.toDiagram());
 
+        // testing that every algorithm builds the same tree...
+
+        System.out.println("\nTesting Tree.Algorithm.values()...");
+
+        Function<String, Map<String, Object>> questionToMap = q -> Collections.singletonMap("value", q);
+
+        for (Tree.Algorithm algorithm : Tree.Algorithm.values()) {
+
+            Node<String, String> algorithmTree = Tree.fromTable(
+                    playSportTable,
+                    "play",
+                    Collections.singleton("yes"),
+                    algorithm,
+                    o -> o + "?",
+                    toAnswerFuncs,
+                    "no");
+
+            System.out.printf("The tree built by %s matches %s: %b\n", algorithm, Tree.Algorithm.ID3,
+                    algorithmTree.toMap(questionToMap, Objects::toString).equals(
+                            playSportTree.toMap(questionToMap, Objects::toString)));
+        }
+
+        // testing building the tree on a pool of threads...
+
+        System.out.println("\nTesting Tree.fromTable(..., parallelism)...");
+
+        Tree.Parallelism parallelism = new Tree.Parallelism(new ForkJoinPool(4), 1, 1);
+
+        for (Tree.Algorithm algorithm : Tree.Algorithm.values()) {
+
+            Node<String, String> parallelTree = Tree.fromTable(
+                    playSportTable,
+                    "play",
+                    Collections.singleton("yes"),
+                    algorithm,
+                    o -> o + "?",
+                    toAnswerFuncs,
+                    "no",
+                    parallelism);
+
+            System.out.printf("The tree built by %s in parallel matches %s: %b\n", algorithm, Tree.Algorithm.ID3,
+                    parallelTree.toMap(questionToMap, Objects::toString).equals(
+                            playSportTree.toMap(questionToMap, Objects::toString)));
+        }
+        parallelism.getPool().shutdown();
+
+        // testing predicting the rows of the table with the tree...
+
+        System.out.println("\nTesting Node.toPredictor()...");
+
+        IntFunction<String> predictor = playSportTree.toPredictor(playSportTable, o -> o + "?", toAnswerFuncs);
+        DataTable.Column<?> playCol = playSportTable.getColumn("play");
+
+        int correct = 0;
+        for (int row = 0; row < playSportTable.getNumRows(); row++) {
+            if (predictor.apply(row).equals(playCol.getRow(row))) {
+                correct++;
+            }
+        }
+        System.out.printf("Predicted %d of %d rows correctly\n", correct, playSportTable.getNumRows());
+
+        System.out.println("\nTesting Node.toCompiledTree()...");
+
+        CompiledTree<String, String> compiledTree = playSportTree.toCompiledTree();
+        IntFunction<String> compiledPredictor = compiledTree.toPredictor(playSportTable, o -> o + "?", toAnswerFuncs);
+        System.out.println(compiledTree);
+
+        int matching = 0;
+        for (int row = 0; row < playSportTable.getNumRows(); row++) {
+            if (compiledPredictor.apply(row).equals(predictor.apply(row))) {
+                matching++;
+            }
+        }
+        System.out.printf("The compiled tree matches the tree on %d of %d rows\n",
+                matching, playSportTable.getNumRows());
+
+        System.out.println("\nTesting CompiledTree.toClassifier()...");
+
+        Classifier classifier = compiledTree.toClassifier();
+        List<String> questions = compiledTree.getQuestions();
+        int[] codes = new int[questions.size()];
+
+        matching = 0;
+        for (int row = 0; row < playSportTable.getNumRows(); row++) {
+            for (int feature = 0; feature < codes.length; feature++) {
+                String label = questions.get(feature).replace("?", "");
+                codes[feature] = compiledTree.codeOf(feature, playSportTable.getColumn(label).getRow(row));
+            }
+            if (classifier.classify(codes) == compiledTree.classify(codes)) {
+                matching++;
+            }
+        }
+        System.out.printf("The %s classifier matches the compiled tree on %d of %d rows\n",
+                classifier == compiledTree ? "interpreted" : "generated",
+                matching, playSportTable.getNumRows());
+
+        System.out.println("\nTesting Node.predict()...");
+
+        Map<String, String> sunnyDay = new HashMap<>();
+        sunnyDay.put("outlook?", "sunny");
+        sunnyDay.put("temperature?", "cool");
+        sunnyDay.put("humidity?", "normal");
+        sunnyDay.put("wind?", "strong");
+
+        System.out.printf("Play sport on a %s? %s\n", sunnyDay, playSportTree.predict(sunnyDay));
+        System.out.printf("Play sport when overcast? %s\n",
+                playSportTree.predict(q -> q.equals("outlook?") ? "overcast" : "unknown"));
+
         // testing branching the loan approval table...
 
         System.out.println("\nTesting Tree.fromTable()...");
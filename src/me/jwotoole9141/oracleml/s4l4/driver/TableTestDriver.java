@@ -13,11 +13,21 @@
 package me.jwotoole9141.oracleml.s4l4.driver;
 
 import com.opencsv.exceptions.CsvValidationException;
+import me.jwotoole9141.oracleml.s4l4.CsvLoader;
 import me.jwotoole9141.oracleml.s4l4.DataTable;
+import me.jwotoole9141.oracleml.s4l4.DoubleColumn;
+import me.jwotoole9141.oracleml.s4l4.IntColumn;
+import me.jwotoole9141.oracleml.s4l4.RowSelection;
+import me.jwotoole9141.oracleml.s4l4.TableCache;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Tests the {@link DataTable} and {@link DataTable.Column} classes.
@@ -48,6 +58,98 @@ public class TableTestDriver {
         System.out.println("\nTesting toDiagram()...");
         System.out.println(table.toDiagram());
 
+        // test loading a dictionary-encoded table from a CSV file...
+
+        DataTable encodedTable = DataTable.fromCsvFile(csv, DataTable.Storage.DICTIONARY);
+
+        System.out.println("\nTesting fromCsvFile(file, Storage.DICTIONARY)...");
+        System.out.println(encodedTable);
+        System.out.println(encodedTable.getColumn("outlook").getCounts());
+
+        // test loading a table through a memory-mapped file...
+
+        DataTable mappedTable = new CsvLoader(csv)
+                .withStorage(DataTable.Storage.DICTIONARY)
+                .load();
+
+        System.out.println("\nTesting CsvLoader.load()...");
+        System.out.println(mappedTable);
+        System.out.println("same as fromCsvFile(): "
+                + mappedTable.toDiagram().equals(encodedTable.toDiagram()));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        DataTable splitTable = new CsvLoader(csv)
+                .withPool(pool)
+                .load();
+        pool.shutdown();
+
+        System.out.println("\nTesting CsvLoader.withPool(pool).load()...");
+        System.out.println("same as fromCsvFile(): "
+                + splitTable.toDiagram().equals(table.toDiagram()));
+
+        // test loading a table with an inferred schema...
+
+        CsvLoader inferringLoader = new CsvLoader(csv).withInferredSchema();
+        DataTable inferredTable = inferringLoader.load();
+
+        System.out.println("\nTesting CsvLoader.inferSchema()...");
+        System.out.println(Arrays.toString(inferringLoader.inferSchema()));
+        System.out.println("same as fromCsvFile(): "
+                + inferredTable.toDiagram().equals(table.toDiagram()));
+
+        // test loading only some of the columns and rows of a table...
+
+        DataTable windyTable = new CsvLoader(csv)
+                .withColumns("outlook", "play")
+                .withRowFilter("wind", (String wind) -> wind.equals("strong"))
+                .load();
+
+        System.out.println("\nTesting CsvLoader.withColumns().withRowFilter()...");
+        System.out.println(windyTable.toDiagram());
+        try {
+            new CsvLoader(csv).withColumns("outlook", "play", "outlook");
+        }
+        catch (IllegalArgumentException e) {
+            System.out.println("rejected: " + e.getMessage());
+        }
+
+        // test loading a table from a stream, through a pipeline of threads...
+
+        DataTable pipedTable;
+        try (InputStream in = new FileInputStream(csv)) {
+            pipedTable = new CsvLoader(in, csv.getName()).load();
+        }
+
+        System.out.println("\nTesting new CsvLoader(inputStream, title).load()...");
+        System.out.println("same as fromCsvFile(): "
+                + pipedTable.toDiagram().equals(table.toDiagram()));
+
+        // test streaming a table in chunks of rows...
+
+        System.out.println("\nTesting CsvLoader.stream(chunkSize)...");
+        new CsvLoader(csv)
+                .withStorage(DataTable.Storage.DICTIONARY)
+                .stream(5)
+                .forEach(chunk -> System.out.println(chunk.getNumRows() + " rows: "
+                        + chunk.getColumn("play").getCounts()));
+
+        // test loading a table through a cache of parsed tables...
+
+        File cacheDir = Files.createTempDirectory("tables").toFile();
+        TableCache cache = new TableCache(cacheDir, 1 << 20);
+        cache.fromCsvFile(csv);
+        DataTable cachedTable = cache.fromCsvFile(csv);
+
+        System.out.println("\nTesting TableCache.fromCsvFile()...");
+        System.out.println(cache);
+        System.out.println("same as fromCsvFile(): "
+                + cachedTable.toDiagram().equals(table.toDiagram()));
+
+        cacheDir.deleteOnExit();
+        for (File entry : cacheDir.listFiles()) {
+            entry.deleteOnExit();
+        }
+
         // test creating a table programmatically...
 
         DataTable myTable = new DataTable("res/planets.csv", Arrays.asList(
@@ -98,6 +200,23 @@ public class TableTestDriver {
         System.out.println("\nTesting saving to file and reloading... ");
         System.out.println(reloadedTable.toDiagram());
 
+        // test saving a table to a binary file...
+
+        File myBinary = File.createTempFile("planets", ".dtbl");
+        myBinary.deleteOnExit();
+        myTable.toBinary(myBinary);
+
+        DataTable mappedPlanets = DataTable.fromBinary(myBinary,
+                Planet::valueOf,
+                SkillLevel::valueOf,
+                SkillLevel::valueOf,
+                SkillLevel::valueOf);
+
+        System.out.println("\nTesting toBinary() and fromBinary()...");
+        System.out.println(mappedPlanets);
+        System.out.println("same as saved table: "
+                + mappedPlanets.toDiagram().equals(myTable.toDiagram()));
+
         // test various ways of getting sub-views...
 
         DataTable excellence = myTable.toSubTable(c -> c.equals(planetsCol)
@@ -119,6 +238,106 @@ public class TableTestDriver {
 
         System.out.println("\nTesting toSubTable(colIndices, rowIndices)...");
         System.out.println(subView.toDiagram());
+
+        DataTable subCopy = subView.toCopy();
+
+        System.out.println("\nTesting toCopy()...");
+        System.out.println(subCopy.toDiagram());
+
+        // test numeric columns...
+
+        IntColumn moonsCol = new IntColumn("moons", new int[]{ 0, 0, 1, 2, 95, 146, 28, 16 });
+        DoubleColumn radiusCol = new DoubleColumn("radius", new double[]{
+                0.383, 0.949, 1.0, 0.532, 11.21, 9.45, 4.01, 3.88 });
+
+        DataTable moonsTable = new DataTable("moons", Arrays.asList(
+                myTable.getColumns().get(0), moonsCol, radiusCol));
+
+        System.out.println("\nTesting numeric columns...");
+        System.out.println(moonsTable.toDiagram());
+        System.out.printf("moons: min=%s, max=%s, values=%s%n",
+                moonsCol.getMin(), moonsCol.getMax(), moonsCol.getValues());
+        System.out.println("radius histogram: " + Arrays.toString(radiusCol.getHistogram(0, 12, 4)));
+
+        DataTable manyMoons = moonsTable.toSubTable(moonsCol.indicesWhere(m -> m > 10)).toCopy();
+
+        System.out.println("\nTesting toSubTable(moonsCol.indicesWhere(m -> m > 10))...");
+        System.out.println(manyMoons.toDiagram());
+
+        RowSelection moonsSelection = moonsCol.selectWhere(m -> m > 10);
+        RowSelection radiusSelection = radiusCol.selectWhere(r -> r < 10);
+        RowSelection smallManyMoons = moonsSelection.and(radiusSelection);
+
+        System.out.println("\nTesting selectWhere().and() and toSubTable(selection)...");
+        System.out.println(smallManyMoons);
+        System.out.println(moonsTable.toSubTable(smallManyMoons).toDiagram());
+        System.out.println("or: " + Arrays.toString(moonsSelection.or(radiusSelection).toIndices()));
+        System.out.println("andNot: " + Arrays.toString(moonsSelection.andNot(radiusSelection).toIndices()));
+        System.out.println("counts: " + triviaCol.getCounts(smallManyMoons));
+
+        // test column statistics, and counts kept by columns...
+
+        DataTable.Column<Integer> someMoonsCol = moonsCol.toSubColumn(m -> m > 0);
+
+        System.out.println("\nTesting getStatistics()...");
+        System.out.println("moons: " + moonsCol.getStatistics());
+        System.out.println("some moons: " + someMoonsCol.getStatistics());
+        System.out.println("outlook: " + table.getColumn("outlook").getStatistics());
+        System.out.println("counts kept: " + (moonsCol.getCounts() == moonsCol.getCounts()));
+        System.out.println("sub-column counts same as copy's: "
+                + someMoonsCol.getCounts().equals(someMoonsCol.toCopy().getCounts()));
+
+        // test adding rows to the end of a table...
+
+        DataTable moreMoons = moonsTable.toCopy();
+        moreMoons.getColumn("moons").getCounts();
+
+        moreMoons.appendRow(Arrays.asList(moonsTable.getColumns().get(0).getRow(0), 5, 0.25));
+        moreMoons.appendRows(Arrays.asList(
+                Arrays.asList(moonsTable.getColumns().get(0).getRow(1), 0, 0.18),
+                Arrays.asList(moonsTable.getColumns().get(0).getRow(2), 2, 0.09)));
+
+        System.out.println("\nTesting appendRow() and appendRows()...");
+        System.out.println(moreMoons.toDiagram());
+        System.out.println("moons: " + moreMoons.getColumn("moons").getStatistics());
+        System.out.println("counts same as copy's: " + moreMoons.getColumn("moons").getCounts()
+                .equals(moreMoons.getColumn("moons").toCopy().getCounts()));
+        try {
+            moreMoons.appendRow(Arrays.asList(moonsTable.getColumns().get(0).getRow(3), "many", 1.0));
+        }
+        catch (IllegalArgumentException e) {
+            System.out.println("rejected: " + e.getMessage() + ", rows=" + moreMoons.getNumRows());
+        }
+
+        // test adding rows to a sub-table that shares its columns...
+
+        DataTable onlyMoons = moreMoons.toSubTable(c -> c.getLabel().equals("moons"));
+        onlyMoons.appendRow(Collections.singletonList(7));
+        moreMoons.appendRow(Arrays.asList(moonsTable.getColumns().get(0).getRow(3), 3, 0.5));
+
+        System.out.println("\nTesting appendRow() on a sub-table...");
+        System.out.println("sub-table moons: " + onlyMoons.getColumn("moons").getRows());
+        System.out.println("table moons: " + moreMoons.getColumn("moons").getRows());
+        System.out.println("columns aligned: " + (moreMoons.getColumns().stream()
+                .allMatch(c -> c.getNumRows() == moreMoons.getNumRows())
+                && onlyMoons.getColumn("moons").getNumRows() == onlyMoons.getNumRows()));
+
+        // test writing a table in parallel blocks...
+
+        File moonsCsv = File.createTempFile("moons", ".csv");
+        moonsCsv.deleteOnExit();
+
+        ForkJoinPool writePool = new ForkJoinPool(4);
+        moonsTable.toCsv(moonsCsv, writePool);
+        writePool.shutdown();
+
+        DataTable reloadedMoons = new CsvLoader(moonsCsv).withInferredSchema().load();
+
+        System.out.println("\nTesting toCsv(file, pool)...");
+        System.out.println(reloadedMoons);
+        System.out.println("same as written columns: "
+                + reloadedMoons.getColumn("moons").getRows().equals(moonsCol.getRows()) + ", "
+                + reloadedMoons.getColumn("radius").getRows().equals(radiusCol.getRows()));
     }
 
     /**
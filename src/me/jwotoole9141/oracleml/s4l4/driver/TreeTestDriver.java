@@ -107,6 +107,19 @@ public class TreeTestDriver {
         System.out.println("sunny's parent answer: "
                 + sunny.getParentAnswer());
 
+        System.out.println("\nTesting getChildren().remove()...");
+        Node<String, String> overcast = tree.getChildren().remove("Overcast");
+        System.out.println("overcast's parent after removal: "
+                + overcast.getParent());
+
+        System.out.println("\nTesting getChildren() with many answers...");
+        NodeInner<String, String> month = new NodeInner<>("Month?");
+        for (int i = 1; i <= 12; i++) {
+            month.getChildren().put(String.valueOf(i), new NodeOuter<>(i % 3 == 0 ? "Yes" : "No"));
+        }
+        System.out.println("month's children: " + month.getChildren().size()
+                + ", 12's parent answer: " + month.getChildren().get("12").getParentAnswer());
+
         // System.out.println("\nTesting getQuestion()...");
         // System.out.println("sunny's question: "
         //         + sunny.getQuestion());